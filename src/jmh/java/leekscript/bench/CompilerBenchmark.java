@@ -0,0 +1,76 @@
+package leekscript.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import leekscript.compiler.AICode;
+import leekscript.compiler.IACompiler;
+import leekscript.compiler.LeekScript;
+import leekscript.compiler.LexicalParser;
+import leekscript.compiler.LexicalParserTokenStream;
+import leekscript.compiler.IACompiler.AnalyzeResult;
+import leekscript.runner.AI;
+
+/**
+ * Étapes de compilation d'une IA : lexer, analyse, génération Java et compilation javac
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompilerBenchmark {
+
+	@Param({ "code/strings.leek", "code/bitmap.leek", "code/primes_typed.leek", "euler/pe012.leek", "euler/pe017.leek", "euler/pe019.leek" })
+	public String file;
+
+	@Param({ "4" })
+	public int version;
+
+	private String code;
+
+	@Setup
+	public void setup() throws Exception {
+		code = Corpus.read(file);
+	}
+
+	@Benchmark
+	public LexicalParserTokenStream parse() throws Exception {
+		var ai = Corpus.file(file, code, version);
+		return new LexicalParser(ai, version).parse(error -> {});
+	}
+
+	@Benchmark
+	public AnalyzeResult analyze() throws Exception {
+		var ai = Corpus.file(file, code, version);
+		return new IACompiler().analyze(ai);
+	}
+
+	@Benchmark
+	public AICode transpile() throws Exception {
+		var ai = Corpus.file(file, code, version);
+		return new IACompiler().compile(ai, ai.getJavaClass(), Corpus.options(version));
+	}
+
+	/**
+	 * Compilation complète : transpile + javac + chargement de la classe
+	 */
+	@Benchmark
+	@Warmup(iterations = 2, time = 5)
+	@Measurement(iterations = 3, time = 5)
+	public AI compile() throws Exception {
+		return LeekScript.compileSnippet(code, "AI", Corpus.options(version));
+	}
+}
@@ -0,0 +1,63 @@
+package leekscript.bench;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import leekscript.compiler.AIFile;
+import leekscript.compiler.LeekScript;
+import leekscript.compiler.Options;
+import leekscript.runner.AI;
+
+/**
+ * Accès aux IAs de test (src/test/resources/ai) pour les benchmarks
+ */
+class Corpus {
+
+	private static final Path ROOT = Path.of(System.getProperty("leekscript.corpus", "src/test/resources/ai"));
+
+	private static int id = 0;
+
+	static String read(String path) throws IOException {
+		return new String(Files.readAllBytes(ROOT.resolve(path)), StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Fichier prêt à être analysé ou compilé, avec un identifiant unique pour éviter les caches
+	 */
+	static AIFile file(String path, String code, int version) {
+		int fileId = 1_000_000 + id++;
+		var file = new AIFile(path, code, System.currentTimeMillis(), version, fileId, false);
+		file.setJavaClass("AI_" + fileId);
+		file.setRootClass("AI");
+		file.setId(fileId);
+		return file;
+	}
+
+	static Options options(int version) {
+		return new Options(version, false, false, true, null, true);
+	}
+
+	/**
+	 * IA compilée sans limite d'opérations
+	 */
+	static AI compile(String code, int version) throws Exception {
+		var ai = LeekScript.compileSnippet(code, "AI", options(version));
+		ai.init();
+		ai.staticInit();
+		ai.maxOperations = Long.MAX_VALUE;
+		return ai;
+	}
+
+	/**
+	 * Nouvelle instance d'une IA déjà compilée
+	 */
+	static AI instance(AI compiled) throws Exception {
+		var ai = compiled.getClass().getDeclaredConstructor().newInstance();
+		ai.init();
+		ai.staticInit();
+		ai.maxOperations = Long.MAX_VALUE;
+		return ai;
+	}
+}
@@ -0,0 +1,32 @@
+package leekscript.bench;
+
+import org.openjdk.jol.info.ClassLayout;
+
+import leekscript.runner.AI;
+import leekscript.runner.RamUsage;
+import leekscript.runner.values.ArrayLeekValue;
+import leekscript.runner.values.MapLeekValue;
+import leekscript.runner.values.ObjectLeekValue;
+import leekscript.runner.values.SetLeekValue;
+
+/**
+ * Taille mémoire de l'en-tête des petites collections (objet + suivi de la RAM), mesurée avec JOL
+ */
+public class Footprint {
+
+	public static void main(String[] args) throws Exception {
+		AI ai = Corpus.compile("return null", 4);
+		var values = new Object[] {
+			new ArrayLeekValue(ai),
+			new MapLeekValue(ai),
+			new SetLeekValue(ai),
+			new ObjectLeekValue(ai, ai.objectClass),
+		};
+		long ram = ClassLayout.parseClass(RamUsage.class).instanceSize();
+		for (var value : values) {
+			var layout = ClassLayout.parseInstance(value);
+			System.out.println(layout.toPrintable());
+			System.out.println(value.getClass().getSimpleName() + ": " + layout.instanceSize() + " + " + ram + " (RamUsage) bytes");
+		}
+	}
+}
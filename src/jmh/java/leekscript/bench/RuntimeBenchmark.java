@@ -0,0 +1,156 @@
+package leekscript.bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import leekscript.runner.AI;
+import leekscript.runner.classes.JSONClass;
+import leekscript.runner.values.ArrayLeekValue;
+import leekscript.runner.values.LegacyArrayLeekValue;
+import leekscript.runner.values.MapLeekValue;
+import leekscript.runner.values.ObjectLeekValue;
+
+/**
+ * Opérations du runtime appelées directement, sans passer par une IA compilée
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RuntimeBenchmark {
+
+	private static final int SIZE = 1000;
+
+	private AI ai;
+	private Object[] numbers;
+	private ArrayLeekValue array;
+	private ArrayLeekValue shuffled;
+	private MapLeekValue map;
+	private LegacyArrayLeekValue legacyArray;
+	private ObjectLeekValue object;
+	private String json;
+
+	@Setup
+	public void setup() throws Exception {
+		ai = Corpus.compile("return null", 4);
+		var random = new Random(42);
+		numbers = new Object[SIZE];
+		for (int i = 0; i < SIZE; ++i) {
+			numbers[i] = i % 3 == 0 ? (Object) (random.nextDouble() * 100) : (Object) (long) random.nextInt(1000);
+		}
+		array = new ArrayLeekValue(ai);
+		shuffled = new ArrayLeekValue(ai);
+		map = new MapLeekValue(ai);
+		legacyArray = new LegacyArrayLeekValue(ai);
+		for (int i = 0; i < SIZE; ++i) {
+			array.push(ai, (long) i);
+			shuffled.push(ai, (long) random.nextInt(SIZE));
+			map.mapPut(ai, "k" + i, (long) i);
+			legacyArray.push(ai, (long) i);
+		}
+		object = new ObjectLeekValue(ai, new String[] { "x", "y", "name" }, new Object[] { 12l, 5.5, "leek" });
+		json = JSONClass.jsonEncode(ai, array);
+	}
+
+	@Setup(Level.Iteration)
+	public void resetOperations() {
+		ai.resetCounter();
+	}
+
+	@Benchmark
+	public void add(Blackhole bh) throws Exception {
+		for (int i = 1; i < SIZE; ++i) {
+			bh.consume(ai.add(numbers[i - 1], numbers[i]));
+		}
+	}
+
+	@Benchmark
+	public void more(Blackhole bh) throws Exception {
+		for (int i = 1; i < SIZE; ++i) {
+			bh.consume(ai.more(numbers[i - 1], numbers[i]));
+		}
+	}
+
+	@Benchmark
+	public ArrayLeekValue arrayPush() throws Exception {
+		var result = new ArrayLeekValue(ai);
+		for (int i = 0; i < SIZE; ++i) {
+			result.push(ai, numbers[i]);
+		}
+		return result;
+	}
+
+	@Benchmark
+	public void arrayGet(Blackhole bh) throws Exception {
+		for (long i = 0; i < SIZE; ++i) {
+			bh.consume(array.get(ai, i));
+		}
+	}
+
+	@Benchmark
+	public ArrayLeekValue arraySort() throws Exception {
+		return shuffled.arraySort(ai);
+	}
+
+	@Benchmark
+	public void mapGet(Blackhole bh) throws Exception {
+		for (int i = 0; i < SIZE; ++i) {
+			bh.consume(map.get("k" + i));
+		}
+	}
+
+	@Benchmark
+	public MapLeekValue mapPut() throws Exception {
+		var result = new MapLeekValue(ai);
+		for (int i = 0; i < SIZE; ++i) {
+			result.mapPut(ai, numbers[i], numbers[i]);
+		}
+		return result;
+	}
+
+	@Benchmark
+	public LegacyArrayLeekValue legacyArrayPush() throws Exception {
+		var result = new LegacyArrayLeekValue(ai);
+		for (int i = 0; i < SIZE; ++i) {
+			result.push(ai, numbers[i]);
+		}
+		return result;
+	}
+
+	@Benchmark
+	public void legacyArrayGet(Blackhole bh) throws Exception {
+		for (long i = 0; i < SIZE; ++i) {
+			bh.consume(legacyArray.get(i));
+		}
+	}
+
+	@Benchmark
+	public Object objectGetField() throws Exception {
+		return object.getField("name");
+	}
+
+	@Benchmark
+	public String jsonEncode() {
+		return JSONClass.jsonEncode(ai, array);
+	}
+
+	@Benchmark
+	public Object jsonDecode() {
+		return JSONClass.jsonDecode(ai, json);
+	}
+}
@@ -0,0 +1,52 @@
+package leekscript.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import leekscript.runner.AI;
+
+/**
+ * Exécution d'IAs compilées une seule fois : programmes du corpus et accès objets
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScriptBenchmark {
+
+	// Appels de méthodes et accès aux champs (callObjectAccess, getField)
+	private static final String OBJECT_ACCESS = "class Point { x = 0 y = 0 constructor(x, y) { this.x = x this.y = y } norm() { return this.x * this.x + this.y * this.y } }\n"
+		+ "var s = 0 var p = new Point(3, 4) for (var i = 0; i < 100000; ++i) { s += p.norm() + p.x } return s";
+
+	@Param({ "euler/pe001.leek", "euler/pe007.leek", "euler/pe012.leek", "euler/pe017.leek", "code/primes_typed.leek", "code/bitmap.leek", "code/strings.leek", "object_access" })
+	public String program;
+
+	@Param({ "4" })
+	public int version;
+
+	private AI compiled;
+
+	@Setup
+	public void setup() throws Exception {
+		var code = program.equals("object_access") ? OBJECT_ACCESS : Corpus.read(program);
+		compiled = Corpus.compile(code, version);
+	}
+
+	@Benchmark
+	public Object run() throws Exception {
+		return Corpus.instance(compiled).runIA();
+	}
+}
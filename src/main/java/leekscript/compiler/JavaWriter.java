@@ -3,6 +3,7 @@ package leekscript.compiler;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.TreeMap;
 import java.util.function.Function;
 import java.util.stream.Collector;
@@ -36,6 +37,9 @@ public class JavaWriter {
 	private boolean operationsEnabled = true;
 	public boolean lastInstruction = false;
 	public Options options;
+	private final StringBuilder mProfileSites = new StringBuilder();
+	private int mProfileSiteCount = 0;
+	private final LinkedHashMap<String, Integer> mProfiledFunctions = new LinkedHashMap<>();
 
 	public JavaWriter(boolean debug, String className, boolean enableOperations) {
 		mCode = new StringBuilder();
@@ -117,6 +121,75 @@ public class JavaWriter {
 		mCode.append("};}\n\n");
 	}
 
+	/**
+	 * Nouveau site d'opération dynamique à instrumenter, -1 si Options.profileTypes n'est pas activé
+	 */
+	public int addProfileSite(String operation, Location location) {
+		if (options == null || !options.profileTypes() || location == null || location.getFile() == null) {
+			return -1;
+		}
+		mProfileSites.append(operation).append(' ').append(getFileIndex(location.getFile())).append(' ').append(location.getStartLine()).append('\n');
+		return mProfileSiteCount++;
+	}
+
+	/**
+	 * Valeur d'une expression, dont le type est enregistré par AI.profile si le site est instrumenté
+	 */
+	public void writeProfiled(MainLeekBlock mainblock, Expression expression, String operation, Location location) {
+		int site = addProfileSite(operation, location);
+		if (site >= 0) addCode("profile(" + site + ", ");
+		expression.writeJavaCode(mainblock, this);
+		if (site >= 0) addCode(")");
+	}
+
+	public String profiled(String code, String operation, Location location) {
+		int site = addProfileSite(operation, location);
+		return site >= 0 ? "profile(" + site + ", " + code + ")" : code;
+	}
+
+	public void writeProfileSites() {
+		if (mProfileSiteCount == 0) return;
+		// Une constante String est limitée à 65535 octets
+		mCode.append("protected String[] getProfileSites() { return new String[] {");
+		var sites = mProfileSites.toString();
+		int start = 0;
+		while (start < sites.length()) {
+			int end = Math.min(sites.length(), start + 30000);
+			end = sites.indexOf('\n', end - 1) + 1;
+			mCode.append(JSON.toJSONString(sites.substring(start, end))).append(", ");
+			start = end;
+		}
+		mCode.append("};}\n\n");
+	}
+
+	/**
+	 * Identifiant d'une fonction dont les opérations sont comptées, -1 si Options.profileOperations n'est pas activé
+	 */
+	public int addProfiledFunction(String name) {
+		if (options == null || !options.profileOperations()) return -1;
+		return mProfiledFunctions.computeIfAbsent(name, n -> mProfiledFunctions.size());
+	}
+
+	/**
+	 * Début du corps d'une fonction profilée, fermé par leaveFunction même en cas d'exception
+	 */
+	public void enterFunction(int function) {
+		if (function >= 0) addLine("enterFunction(" + function + "); try {");
+	}
+
+	public void leaveFunction(int function) {
+		if (function >= 0) addLine("} finally { leaveFunction(" + function + "); }");
+	}
+
+	public void writeProfiledFunctions() {
+		if (mProfiledFunctions.isEmpty()) return;
+		mCode.append("protected String[] getProfiledFunctions() { return new String[] {");
+		for (var name : mProfiledFunctions.keySet()) {
+			mCode.append(JSON.toJSONString(name)).append(", ");
+		}
+		mCode.append("};}\n\n");
+	}
+
 	public void addCounter(int count) {
 		if (operationsEnabled) {
 			addCode("ops(" + count + ");");
@@ -364,7 +437,9 @@ public class JavaWriter {
 					addCode("if (");
 					for (int a = 0; a < other_version.arguments.length; ++a) {
 						if (a > 0) addCode(" && ");
-						addCode("a" + a + " instanceof " + other_version.arguments[a].getJavaName(block.getVersion()) + " x" + a);
+						// Pas de paramètres génériques dans un instanceof (FunctionLeekValue<Object>)
+						var javaName = other_version.arguments[a].getJavaName(block.getVersion()).replaceAll("<.*>", "");
+						addCode("a" + a + " instanceof " + javaName + " x" + a);
 					}
 					addLine(") {");
 					writeFunctionCall(block, other_version, false);
@@ -1,7 +1,6 @@
 package leekscript.compiler;
 
 import java.io.IOException;
-import java.util.Random;
 
 import leekscript.compiler.exceptions.LeekCompilerException;
 import leekscript.compiler.resolver.FileSystem;
@@ -19,39 +18,13 @@ public class LeekScript {
 	private static NativeFileSystem nativeFileSystem = new NativeFileSystem();
 	private static FileSystem customFileSystem = null;
 
-	private static RandomGenerator defaultRandomGenerator = new RandomGenerator() {
-		private Random random = new Random();
-
-		@Override
-		public void seed(long seed) {
-			random.setSeed(seed);
-		}
-
-		@Override
-		public int getInt(int min, int max) {
-			if (max - min + 1 <= 0)
-				return 0;
-			return min + random.nextInt(max - min + 1);
-		}
-
-		@Override
-		public long getLong(long min, long max) {
-			if (max - min + 1 <= 0)
-				return 0;
-			// return min + Math.abs(random.nextLong()) % (max - min + 1);
-			return min + random.nextInt((int) max - (int) min + 1);
-		}
-
-		@Override
-		public double getDouble() {
-			return random.nextDouble();
-		}
-	};
+	// SplittableRandomGenerator n'est pas synchronisé : un générateur par thread
+	private static final ThreadLocal<RandomGenerator> defaultRandomGenerator = ThreadLocal.withInitial(SplittableRandomGenerator::new);
 
 	public static AI compileFile(String filepath, String AIClass, Options options) throws LeekScriptException, LeekCompilerException, IOException {
 		var file = getFileSystem().getRoot().resolve(filepath);
 		file.setVersion(options.version(), options.strict());
-		file.setJavaClass("AI_" + file.getId());
+		file.setJavaClass("AI_" + file.getId() + (options.profileTypes() ? "_profile" : "") + (options.profileOperations() ? "_operations" : ""));
 		file.setRootClass(AIClass);
 		return file.compile(options);
 	}
@@ -88,8 +61,11 @@ public class LeekScript {
 		return customFileSystem != null ? customFileSystem : defaultFileSystem;
 	}
 
+	/**
+	 * Générateur par défaut du thread courant
+	 */
 	public static RandomGenerator getRandom() {
-		return defaultRandomGenerator;
+		return defaultRandomGenerator.get();
 	}
 
 	public static NativeFileSystem getNativeFileSystem() {
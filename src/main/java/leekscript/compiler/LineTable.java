@@ -0,0 +1,94 @@
+package leekscript.compiler;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Correspondance ligne Java -> ligne LeekScript d'une IA compilée, lue depuis le fichier .lines.
+ * Stockée dans des tableaux d'entiers triés et partagée par toutes les instances de l'IA.
+ */
+public class LineTable {
+
+	/**
+	 * Une table par classe compilée : une IA recompilée est une nouvelle classe
+	 */
+	private static final ClassValue<AtomicReference<LineTable>> tables = new ClassValue<>() {
+		@Override
+		protected AtomicReference<LineTable> computeValue(Class<?> type) {
+			return new AtomicReference<>();
+		}
+	};
+
+	private final int[] javaLines;
+	private final int[] leekscriptLines;
+	private final int[] ais;
+
+	private LineTable(int[] javaLines, int[] leekscriptLines, int[] ais) {
+		this.javaLines = javaLines;
+		this.leekscriptLines = leekscriptLines;
+		this.ais = ais;
+	}
+
+	/**
+	 * Table de la classe d'IA, chargée depuis son fichier .lines au premier appel
+	 * @return null si le fichier n'existe pas
+	 */
+	public static LineTable get(Class<?> clazz, File file) {
+		var reference = tables.get(clazz);
+		var table = reference.get();
+		if (table == null) {
+			if (file == null || !file.exists()) return null;
+			reference.compareAndSet(null, load(file));
+			table = reference.get();
+		}
+		return table;
+	}
+
+	private static LineTable load(File file) {
+		byte[] bytes;
+		try {
+			bytes = Files.readAllBytes(file.toPath());
+		} catch (IOException e) {
+			return new LineTable(new int[0], new int[0], new int[0]);
+		}
+		// Format : "javaLine ai leekscriptLine\n", trié par ligne Java
+		int size = 0;
+		var values = new int[3 * 64];
+		int value = 0, column = 0;
+		boolean digits = false;
+		for (int i = 0; i <= bytes.length; ++i) {
+			byte b = i < bytes.length ? bytes[i] : (byte) '\n';
+			if (b >= '0' && b <= '9') {
+				value = value * 10 + (b - '0');
+				digits = true;
+			} else if (digits) {
+				if (3 * size + column == values.length) values = Arrays.copyOf(values, values.length * 2);
+				values[3 * size + column] = value;
+				value = 0;
+				digits = false;
+				if (++column == 3) {
+					column = 0;
+					size++;
+				}
+			}
+		}
+		var javaLines = new int[size];
+		var leekscriptLines = new int[size];
+		var ais = new int[size];
+		for (int i = 0; i < size; ++i) {
+			javaLines[i] = values[3 * i];
+			ais[i] = values[3 * i + 1];
+			leekscriptLines[i] = values[3 * i + 2];
+		}
+		return new LineTable(javaLines, leekscriptLines, ais);
+	}
+
+	public LineMapping get(int javaLine) {
+		int index = Arrays.binarySearch(javaLines, javaLine);
+		if (index < 0) return null;
+		return new LineMapping(leekscriptLines[index], ais[index]);
+	}
+}
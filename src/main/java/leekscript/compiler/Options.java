@@ -2,7 +2,11 @@ package leekscript.compiler;
 
 import leekscript.runner.Session;
 
-public record Options(int version, boolean strict, boolean useCache, boolean enableOperations, Session session, boolean useExtra) {
+/**
+ * profileTypes : chaque opération dynamique enregistre les types de ses opérandes (voir AI.getTypeProfile)
+ * profileOperations : les fonctions et méthodes comptent leurs opérations (voir AI.getFunctionOperations)
+ */
+public record Options(int version, boolean strict, boolean useCache, boolean enableOperations, Session session, boolean useExtra, boolean profileTypes, boolean profileOperations) {
 
 	public Options() {
 		this(LeekScript.LATEST_VERSION, false, false, false, null, true);
@@ -13,4 +17,10 @@ public record Options(int version, boolean strict, boolean useCache, boolean ena
 	public Options(Session session) {
 		this(LeekScript.LATEST_VERSION, false, true, true, session, true);
 	}
+	public Options(int version, boolean strict, boolean useCache, boolean enableOperations, Session session, boolean useExtra) {
+		this(version, strict, useCache, enableOperations, session, useExtra, false, false);
+	}
+	public Options(int version, boolean strict, boolean useCache, boolean enableOperations, Session session, boolean useExtra, boolean profileTypes) {
+		this(version, strict, useCache, enableOperations, session, useExtra, profileTypes, false);
+	}
 }
@@ -0,0 +1,74 @@
+package leekscript.compiler;
+
+import java.util.SplittableRandom;
+
+/**
+ * Générateur par défaut, basé sur SplittableRandom : pas de synchronisation (un générateur par IA)
+ * et des bornes sur 64 bits.
+ *
+ * Pour des simulations parallèles rejouables, chaque combat / IA peut avoir son propre flux,
+ * déterminé uniquement par la graine maître et ses identifiants :
+ *
+ *   var fight = new SplittableRandomGenerator(masterSeed).stream(fightId);
+ *   ai.setRandom(fight.stream(aiId));
+ */
+public class SplittableRandomGenerator implements RandomGenerator {
+
+	private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15l;
+
+	private long seed;
+	private SplittableRandom random;
+
+	public SplittableRandomGenerator() {
+		this(new SplittableRandom().nextLong());
+	}
+
+	public SplittableRandomGenerator(long seed) {
+		seed(seed);
+	}
+
+	@Override
+	public void seed(long seed) {
+		this.seed = seed;
+		this.random = new SplittableRandom(seed);
+	}
+
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * Sous-flux identifié par id, indépendant des tirages déjà effectués sur ce générateur
+	 */
+	public SplittableRandomGenerator stream(long id) {
+		return new SplittableRandomGenerator(mix(seed + (id + 1) * GOLDEN_GAMMA));
+	}
+
+	@Override
+	public int getInt(int min, int max) {
+		if (max < min) return 0;
+		return (int) random.nextLong(min, (long) max + 1);
+	}
+
+	@Override
+	public long getLong(long min, long max) {
+		if (max < min) return 0;
+		if (max == Long.MAX_VALUE) {
+			if (min == Long.MIN_VALUE) return random.nextLong();
+			return random.nextLong(min - 1, max) + 1;
+		}
+		return random.nextLong(min, max + 1);
+	}
+
+	@Override
+	public double getDouble() {
+		return random.nextDouble();
+	}
+
+	// Fonction de mélange de SplitMix64
+	private static long mix(long z) {
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9l;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebl;
+		return z ^ (z >>> 31);
+	}
+}
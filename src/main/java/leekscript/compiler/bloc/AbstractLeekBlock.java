@@ -12,7 +12,12 @@ import leekscript.compiler.exceptions.LeekCompilerException;
 import leekscript.compiler.expression.LeekVariable;
 import leekscript.compiler.instruction.LeekExpressionInstruction;
 import leekscript.compiler.instruction.LeekInstruction;
+import leekscript.common.ArrayType;
 import leekscript.common.Error;
+import leekscript.common.IntervalType;
+import leekscript.common.MapType;
+import leekscript.common.SetType;
+import leekscript.common.Type;
 
 public abstract class AbstractLeekBlock extends LeekInstruction {
 
@@ -227,6 +232,34 @@ public abstract class AbstractLeekBlock extends LeekInstruction {
 		compiler.setCurrentBlock(initialBlock);
 	}
 
+	/**
+	 * Ouvre la boucle d'un foreach en choisissant le parcours d'après le type statique du conteneur :
+	 * boucle indexée pour un tableau, boucle sur un long pour un intervalle d'entiers, curseur sinon.
+	 * Renvoie les expressions Java de la clé et de la valeur de l'élément courant.
+	 */
+	protected String[] writeForeachLoop(MainLeekBlock mainblock, Type type, String ar, String it, String var, StringBuilder sb) {
+		if (mainblock.getVersion() >= 4) {
+			if (type instanceof ArrayType) {
+				sb.append("final var ").append(it).append(" = (ArrayLeekValue) ").append(ar).append("; ");
+				sb.append("for (int ").append(var).append(" = 0; ").append(var).append(" < ").append(it).append(".size(); ++").append(var).append(") {");
+				return new String[] { "(Object) (long) " + var, it + ".get(" + var + ")" };
+			}
+			if (type instanceof IntervalType && type.element() == Type.INT) {
+				sb.append("final var ").append(it).append(" = (IntegerIntervalLeekValue) ").append(ar).append("; ");
+				sb.append("for (long s").append(var).append(" = ").append(it).append(".iterationStart(), ").append(var).append(" = s").append(var).append(", e").append(var).append(" = ").append(it).append(".iterationEnd(); ");
+				sb.append(var).append(" < e").append(var).append("; ++").append(var).append(") {");
+				return new String[] { "(Object) (" + var + " - s" + var + ")", "(Object) " + var };
+			}
+			if (type instanceof MapType || type instanceof SetType) {
+				sb.append("var ").append(it).append(" = ((").append(type instanceof MapType ? "MapLeekValue" : "SetLeekValue").append(") ").append(ar).append(").cursor(); ");
+				sb.append("while (").append(it).append(".next()) {");
+				return new String[] { it + ".key()", it + ".value()" };
+			}
+		}
+		sb.append("var ").append(it).append(" = cursor(").append(ar).append("); while (").append(it).append(".next()) {");
+		return new String[] { it + ".key()", it + ".value()" };
+	}
+
 	public void setFull(boolean full) {
 		this.full = full;
 	}
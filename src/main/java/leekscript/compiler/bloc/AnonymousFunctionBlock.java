@@ -126,26 +126,71 @@ public class AnonymousFunctionBlock extends AbstractLeekBlock {
 
 	public String getArgument(int i, JavaWriter writer, MainLeekBlock mainblock) {
 		var type = mParameterDeclarations.get(i).getType();
+		if (hasFixedArity()) {
+			return type != Type.ANY ? "((" + type.getJavaName(mainblock.getVersion()) + ") p" + i + ")" : "p" + i;
+		}
 		return "(values.length > " + i + " ? " + (type != Type.ANY ? "(" + type.getJavaName(mainblock.getVersion()) + ")" : "") + " values[" + i + "] : " + this.type.getArgument(i).getDefaultValue(writer, mainblock.getVersion()) + ")";
 	}
 
+	/**
+	 * Le corps est écrit dans run0...run4 (selon le nombre de paramètres), sans tableau d'arguments
+	 */
+	private boolean hasFixedArity() {
+		return mParameters.size() <= 4;
+	}
+
+	private static String fixedArityParameters(int count) {
+		var sb = new StringBuilder("AI ai, Object thiz");
+		for (int i = 0; i < count; ++i) {
+			sb.append(", Object p").append(i);
+		}
+		return sb.toString();
+	}
+
+	private static String fixedArityArguments(int count) {
+		var sb = new StringBuilder("ai, thiz");
+		for (int i = 0; i < count; ++i) {
+			sb.append(", p").append(i);
+		}
+		return sb.toString();
+	}
+
 	@Override
 	public void writeJavaCode(MainLeekBlock mainblock, JavaWriter writer) {
 		var previousFunction = mainblock.getWordCompiler().getCurrentFunction();
 		mainblock.getWordCompiler().setCurrentFunction(this);
 		StringBuilder sb = new StringBuilder();
-		sb.append("public Object run(AI ai, Object thiz, Object... values) throws LeekRunException {");
+		if (hasFixedArity()) {
+			int count = mParameters.size();
+			// Appel générique : arguments manquants remplacés par leur valeur par défaut
+			sb.append("public Object run(AI ai, Object thiz, Object... values) throws LeekRunException { return run" + count + "(ai, thiz");
+			for (int i = 0; i < count; ++i) {
+				sb.append(", values.length > " + i + " ? values[" + i + "] : " + this.type.getArgument(i).getDefaultValue(writer, mainblock.getVersion()));
+			}
+			sb.append("); }");
+			// Arguments en trop ignorés
+			for (int k = count + 1; k <= 4; ++k) {
+				sb.append("public Object run" + k + "(" + fixedArityParameters(k) + ") throws LeekRunException { return run" + count + "(" + fixedArityArguments(count) + "); }");
+			}
+			sb.append("public Object run" + count + "(" + fixedArityParameters(count) + ") throws LeekRunException {");
+		} else {
+			sb.append("public Object run(AI ai, Object thiz, Object... values) throws LeekRunException {");
+		}
 
 		for (int i = 0; i < mParameters.size(); i++) {
 			var parameter = mParameters.get(i);
 			var declaration = mParameterDeclarations.get(i);
 			if (declaration.isCaptured()) {
-				sb.append("final var u_").append(parameter).append(" = new Wrapper<" + declaration.getType().getJavaName(mainblock.getVersion()) + ">(");
-				if (mReferences.get(i)) {
-					sb.append("(" + getArgument(i, writer, mainblock) + " instanceof Box) ? (Box) " + getArgument(i, writer, mainblock) + " : ");
+				if (mainblock.getWordCompiler().getVersion() <= 1) {
+					sb.append("final var u_").append(parameter).append(" = new Wrapper<" + declaration.getType().getJavaName(mainblock.getVersion()) + ">(");
+					if (mReferences.get(i)) {
+						sb.append("(" + getArgument(i, writer, mainblock) + " instanceof Box) ? (Box) " + getArgument(i, writer, mainblock) + " : ");
+					}
+					sb.append("new Box(" + writer.getAIThis() + ", ");
+					sb.append(getArgument(i, writer, mainblock) + "));");
+				} else {
+					sb.append("final var u_").append(parameter).append(" = new Box<" + declaration.getType().getJavaName(mainblock.getVersion()) + ">(" + writer.getAIThis() + ", " + getArgument(i, writer, mainblock) + ");");
 				}
-				sb.append("new Box(" + writer.getAIThis() + ", ");
-				sb.append(getArgument(i, writer, mainblock) + "));");
 			} else {
 				sb.append("var u_").append(parameter).append(" = ");
 
@@ -145,9 +145,11 @@ public class ForeachBlock extends AbstractLeekBlock {
 		}
 		writer.addCode(", " + mArray.getOperations() + ");");
 
-		writer.addLine("if (isIterable(" + ar + ")) {", mIterator.getLocation());
+		writer.addLine("if (isIterable(" + writer.profiled(ar, "foreach", mArray.getLocation()) + ")) {", mIterator.getLocation());
 		if (mIsDeclaration) {
-			if (declaration.isCaptured()) {
+			if (declaration.isCaptured() && mainblock.getVersion() >= 2) {
+				writer.addCode("final Box<" + iteratorVariable.getType().getJavaName(mainblock.getVersion()) + "> " + iterator_name + " = new Box<" + iteratorVariable.getType().getJavaName(mainblock.getVersion()) + ">(" + writer.getAIThis() + ", null);");
+			} else if (declaration.isCaptured()) {
 				writer.addCode("final Wrapper<" + iteratorVariable.getType().getJavaName(mainblock.getVersion()) + "> " + iterator_name + " = new Wrapper<" + iteratorVariable.getType().getJavaName(mainblock.getVersion()) + ">(new Box(" + writer.getAIThis() + ", null));");
 			} else if (mainblock.getVersion() >= 2) {
 				writer.addLine(declaration.getVariable().getType().getJavaName(mainblock.getVersion()) + " " + iterator_name + " = null;");
@@ -160,30 +162,32 @@ public class ForeachBlock extends AbstractLeekBlock {
 		}
 
 		// On fait le parcours
-		writer.addLine("var " + it + " = iterator(" + ar + "); while (" + it + ".hasNext()) { var " + var + " = " + it + ".next(); ");
+		var loop = new StringBuilder();
+		String value = writeForeachLoop(mainblock, mArray.getType(), ar, it, var, loop)[1];
+		writer.addLine(loop.toString());
 
 		if (mainblock.getVersion() >= 4) {
 			if (iteratorVariable != null && iteratorVariable.getDeclaration() != null && iteratorVariable.getDeclaration().isCaptured()) {
-				writer.addLine(iterator_name + ".set(" + var + ".getValue());");
+				writer.addLine(iterator_name + ".set(" + value + ");");
 			} else if (mIsDeclaration) {
-				writer.addLine(iterator_name + " = (" + iteratorVariable.getType().getJavaName(mainblock.getVersion()) + ") " + var + ".getValue();");
+				writer.addLine(iterator_name + " = (" + iteratorVariable.getType().getJavaName(mainblock.getVersion()) + ") " + value + ";");
 			} else {
-				writer.addLine(iterator_name + " = (" + iteratorVariable.getType().getJavaName(mainblock.getVersion()) + ") " + var + ".getValue();");
+				writer.addLine(iterator_name + " = (" + iteratorVariable.getType().getJavaName(mainblock.getVersion()) + ") " + value + ";");
 			}
 		} else if (mainblock.getVersion() >= 2) {
 			if (iteratorVariable != null && iteratorVariable.getDeclaration() != null && iteratorVariable.getDeclaration().isCaptured()) {
-				writer.addLine(iterator_name + ".set(" + var + ".getValue());");
+				writer.addLine(iterator_name + ".set(" + value + ");");
 			} else {
-				writer.addLine(iterator_name + " = (" + iteratorVariable.getType().getJavaName(mainblock.getVersion()) + ") " + var + ".getValue();");
+				writer.addLine(iterator_name + " = (" + iteratorVariable.getType().getJavaName(mainblock.getVersion()) + ") " + value + ";");
 			}
 		} else {
 			if (mReference) {
-				writer.addCode(iterator_name + ".set(" + var + ".getValue());");
+				writer.addCode(iterator_name + ".set(" + value + ");");
 			} else if (iteratorVariable != null && iteratorVariable.getDeclaration() != null && iteratorVariable.getDeclaration().isCaptured()) {
-				writer.addLine(iterator_name + ".set(" + var + ".getValue());");
+				writer.addLine(iterator_name + ".set(" + value + ");");
 				writer.addCounter(1);
 			} else {
-				writer.addLine(iterator_name + ".set(" + var + ".getValue());");
+				writer.addLine(iterator_name + ".set(" + value + ");");
 				writer.addCounter(1);
 			}
 		}
@@ -188,11 +188,15 @@ public class ForeachKeyBlock extends AbstractLeekBlock {
 		writer.addCode(", " + mArray.getOperations() + ");");
 
 		StringBuilder sb = new StringBuilder();
-		sb.append("if (isIterable(").append(ar).append(")) {");
+		sb.append("if (isIterable(").append(writer.profiled(ar, "foreach", mArray.getLocation())).append(")) {");
 		// Clé
 		if (mIsKeyDeclaration) {
 			if (iteratorKeyVariable != null && iteratorKeyVariable.getDeclaration() != null && iteratorKeyVariable.getDeclaration().isCaptured()) {
-				sb.append("final Wrapper<" + iteratorKeyDeclaration.getVariable().getType().getJavaName(mainblock.getVersion()) + "> " + key_iterator + " = new Wrapper<" + iteratorKeyDeclaration.getVariable().getType().getJavaName(mainblock.getVersion()) + ">(new Box(" + writer.getAIThis() + ", null));");
+				if (mainblock.getVersion() >= 2) {
+					sb.append("final Box<" + iteratorKeyDeclaration.getVariable().getType().getJavaName(mainblock.getVersion()) + "> " + key_iterator + " = new Box<" + iteratorKeyDeclaration.getVariable().getType().getJavaName(mainblock.getVersion()) + ">(" + writer.getAIThis() + ", null);");
+				} else {
+					sb.append("final Wrapper<" + iteratorKeyDeclaration.getVariable().getType().getJavaName(mainblock.getVersion()) + "> " + key_iterator + " = new Wrapper<" + iteratorKeyDeclaration.getVariable().getType().getJavaName(mainblock.getVersion()) + ">(new Box(" + writer.getAIThis() + ", null));");
+				}
 			} else if (mainblock.getCompiler().getCurrentAI().getVersion() <= 1) {
 				sb.append("var " + key_iterator + " = new Box(" + writer.getAIThis() + ", null);");
 			} else {
@@ -202,7 +206,11 @@ public class ForeachKeyBlock extends AbstractLeekBlock {
 		// Valeur
 		if (mIsDeclaration) {
 			if (iteratorVariable != null && iteratorVariable.getDeclaration() != null && iteratorVariable.getDeclaration().isCaptured()) {
-				sb.append("final Wrapper<" + iteratorDeclaration.getVariable().getType().getJavaName(mainblock.getVersion()) + "> " + val_iterator + " = new Wrapper<" + iteratorDeclaration.getVariable().getType().getJavaName(mainblock.getVersion()) + ">(new Box(" + writer.getAIThis() + ", null));");
+				if (mainblock.getVersion() >= 2) {
+					sb.append("final Box<" + iteratorDeclaration.getVariable().getType().getJavaName(mainblock.getVersion()) + "> " + val_iterator + " = new Box<" + iteratorDeclaration.getVariable().getType().getJavaName(mainblock.getVersion()) + ">(" + writer.getAIThis() + ", null);");
+				} else {
+					sb.append("final Wrapper<" + iteratorDeclaration.getVariable().getType().getJavaName(mainblock.getVersion()) + "> " + val_iterator + " = new Wrapper<" + iteratorDeclaration.getVariable().getType().getJavaName(mainblock.getVersion()) + ">(new Box(" + writer.getAIThis() + ", null));");
+				}
 			} else if (mainblock.getCompiler().getCurrentAI().getVersion() >= 2) {
 				sb.append(iteratorDeclaration.getVariable().getType().getJavaName(mainblock.getVersion()) + " " + val_iterator + " = null; ops(1);");
 			} else if (mainblock.getCompiler().getCurrentAI().getVersion() <= 1 || (iteratorVariable != null && iteratorVariable.getDeclaration().isCaptured())) {
@@ -213,58 +221,59 @@ public class ForeachKeyBlock extends AbstractLeekBlock {
 		}
 
 		// On fait le parcours
-		sb.append("var ").append(it).append(" = iterator(").append(ar).append("); while (").append(it).append(".hasNext()) { var ").append(var).append(" = ").append(it).append(".next(); ");
+		var loop = writeForeachLoop(mainblock, mArray.getType(), ar, it, var, sb);
+		String key = loop[0], value = loop[1];
 
 		// Maj de la clé
 		if (mainblock.getVersion() >= 4) {
 			if (iteratorKeyVariable != null && iteratorKeyVariable.getDeclaration() != null && iteratorKeyVariable.getDeclaration().isCaptured()) {
-				sb.append(key_iterator).append(".set(").append(var).append(".getKey()); ");
+				sb.append(key_iterator).append(".set(").append(key).append("); ");
 			} else if (mIsKeyDeclaration) {
-				sb.append(key_iterator).append(" = (" + iteratorKeyVariable.getType().getJavaName(mainblock.getVersion()) + ") ").append(var).append(".getKey(); ");
+				sb.append(key_iterator).append(" = (" + iteratorKeyVariable.getType().getJavaName(mainblock.getVersion()) + ") ").append(key).append("; ");
 			} else {
-				sb.append(key_iterator).append(" = (" + iteratorKeyVariable.getType().getJavaName(mainblock.getVersion()) + ") ").append(var).append(".getKey(); ");
+				sb.append(key_iterator).append(" = (" + iteratorKeyVariable.getType().getJavaName(mainblock.getVersion()) + ") ").append(key).append("; ");
 			}
 		} else if (mainblock.getVersion() >= 2) {
 			if (iteratorKeyVariable != null && iteratorKeyVariable.getDeclaration() != null && iteratorKeyVariable.getDeclaration().isCaptured()) {
-				sb.append(key_iterator).append(".set(").append(var).append(".getKey()); ");
+				sb.append(key_iterator).append(".set(").append(key).append("); ");
 			} else if (mIsKeyDeclaration) {
-				sb.append(key_iterator).append(" = (" + iteratorKeyDeclaration.getVariable().getType().getJavaName(mainblock.getVersion()) + ") ").append(var).append(".getKey(); ");
+				sb.append(key_iterator).append(" = (" + iteratorKeyDeclaration.getVariable().getType().getJavaName(mainblock.getVersion()) + ") ").append(key).append("; ");
 			} else {
-				sb.append(key_iterator).append(" = ").append(var).append(".getKey(); ");
+				sb.append(key_iterator).append(" = ").append(key).append("; ");
 			}
 		} else {
 			if (iteratorKeyVariable != null && iteratorKeyVariable.getDeclaration() != null && iteratorKeyVariable.getDeclaration().isCaptured()) {
-				sb.append(key_iterator).append(".set(").append(var).append(".getKey()); ops(1); ");
+				sb.append(key_iterator).append(".set(").append(key).append("); ops(1); ");
 			} else if (mKeyReference) {
-				sb.append(key_iterator).append(".set(").append(var).append(".getKey()); ");
+				sb.append(key_iterator).append(".set(").append(key).append("); ");
 			} else {
-				sb.append(key_iterator).append(".set(").append(var).append(".getKey()); ops(1); ");
+				sb.append(key_iterator).append(".set(").append(key).append("); ops(1); ");
 			}
 		}
 		// Maj de la valeur
 		if (mainblock.getVersion() >= 4) {
 			if (iteratorVariable != null && iteratorVariable.getDeclaration() != null && iteratorVariable.getDeclaration().isCaptured()) {
-				sb.append(val_iterator).append(".set(").append(var).append(".getValue());");
+				sb.append(val_iterator).append(".set(").append(value).append(");");
 			} else if (mIsDeclaration) {
-				sb.append(val_iterator).append(" = (" + iteratorVariable.getType().getJavaName(mainblock.getVersion()) + ") ").append(var).append(".getValue();");
+				sb.append(val_iterator).append(" = (" + iteratorVariable.getType().getJavaName(mainblock.getVersion()) + ") ").append(value).append(";");
 			} else {
-				sb.append(val_iterator).append(" = (" + iteratorVariable.getType().getJavaName(mainblock.getVersion()) + ") ").append(var).append(".getValue();");
+				sb.append(val_iterator).append(" = (" + iteratorVariable.getType().getJavaName(mainblock.getVersion()) + ") ").append(value).append(";");
 			}
 		} else if (mainblock.getVersion() >= 2) {
 			if (iteratorVariable != null && iteratorVariable.getDeclaration() != null && iteratorVariable.getDeclaration().isCaptured()) {
-				sb.append(val_iterator).append(".set(").append(var).append(".getValue());");
+				sb.append(val_iterator).append(".set(").append(value).append(");");
 			} else if (mIsDeclaration) {
-				sb.append(val_iterator).append(" = (" + iteratorVariable.getType().getJavaName(mainblock.getVersion()) + ") ").append(var).append(".getValue();");
+				sb.append(val_iterator).append(" = (" + iteratorVariable.getType().getJavaName(mainblock.getVersion()) + ") ").append(value).append(";");
 			} else {
-				sb.append(val_iterator).append(" = (" + iteratorVariable.getType().getJavaName(mainblock.getVersion()) + ") ").append(var).append(".getValue();");
+				sb.append(val_iterator).append(" = (" + iteratorVariable.getType().getJavaName(mainblock.getVersion()) + ") ").append(value).append(";");
 			}
 		} else {
 			if (mValueReference) {
-				sb.append(val_iterator).append(".set(").append(var).append(".getValue());");
+				sb.append(val_iterator).append(".set(").append(value).append(");");
 			} else if (iteratorVariable != null && iteratorVariable.getDeclaration() != null && iteratorVariable.getDeclaration().isCaptured()) {
-				sb.append(val_iterator).append(".set(").append(var).append(".getValue()); ops(1);");
+				sb.append(val_iterator).append(".set(").append(value).append("); ops(1);");
 			} else {
-				sb.append(val_iterator).append(".set(").append(var).append(".getValue()); ops(1);");
+				sb.append(val_iterator).append(".set(").append(value).append("); ops(1);");
 			}
 		}
 
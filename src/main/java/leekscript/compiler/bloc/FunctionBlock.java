@@ -178,11 +178,14 @@ public class FunctionBlock extends AbstractLeekBlock {
 			}
 		}
 		writer.addLine(sb.toString(), getLocation());
+		int profiled = writer.addProfiledFunction(token.getWord());
+		writer.enterFunction(profiled);
 		writer.addCounter(1);
 		super.writeJavaCode(mainblock, writer);
 		if (mEndInstruction == 0) {
 			writer.addLine("return " + type.returnType().getDefaultValue(writer, mainblock.getVersion()) + ";");
 		}
+		writer.leaveFunction(profiled);
 		writer.addLine("}");
 	}
 
@@ -194,7 +197,21 @@ public class FunctionBlock extends AbstractLeekBlock {
 			writer.addCode("values.length > " + a + " ? " + (type != Type.ANY ? "(" + type.getArgument(a).getJavaName(mainblock.getVersion()) + ")" : "") + " values[" + a + "] : " + this.type.getArgument(a).getDefaultValue(writer, mainblock.getVersion()));
 		}
 		writer.addLine(");");
-		writer.addLine("}}");
+		writer.addCode("}");
+		// Appels sans tableau d'arguments, les arguments en trop sont ignorés
+		for (int k = this.countParameters(); k <= 4; ++k) {
+			writer.addCode("public Object run" + k + "(AI ai, Object thiz");
+			for (int a = 0; a < k; ++a) {
+				writer.addCode(", Object p" + a);
+			}
+			writer.addCode(") throws LeekRunException { return f_" + this + "(");
+			for (int a = 0; a < this.countParameters(); ++a) {
+				if (a > 0) writer.addCode(", ");
+				writer.addCode((type != Type.ANY ? "(" + type.getArgument(a).getJavaName(mainblock.getVersion()) + ")" : "") + " p" + a);
+			}
+			writer.addCode("); }");
+		}
+		writer.addLine("}");
 	}
 
 	public boolean isReference(int i) {
@@ -323,6 +323,18 @@ public class MainLeekBlock extends AbstractLeekBlock {
 			}
 			writer.addLine("private boolean g_init_" + global.getName() + " = false;");
 		}
+		if (mGlobalesDeclarations.size() > 0) {
+			writer.addLine("public void resetGlobals() throws LeekRunException {");
+			for (var global : mGlobalesDeclarations) {
+				if (getWordCompiler().getVersion() >= 2) {
+					writer.addLine("g_" + global.getName() + " = " + global.getType().getDefaultValue(writer, getVersion()) + ";");
+				} else {
+					writer.addLine("g_" + global.getName() + " = new Box<" + global.getType().getJavaName(getVersion()) + ">(" + writer.getAIThis() + ");");
+				}
+				writer.addLine("g_init_" + global.getName() + " = false;");
+			}
+			writer.addLine("}");
+		}
 		// Fonctions redéfinies
 		for (String redefined : mRedefinedFunctions) {
 			writer.addCode("private Box rfunction_");
@@ -377,6 +389,8 @@ public class MainLeekBlock extends AbstractLeekBlock {
 
 		writer.writeGenericFunctions(this);
 		writer.writeAnonymousSystemFunctions(this);
+		writer.writeProfileSites();
+		writer.writeProfiledFunctions();
 
 		writer.addLine("}");
 	}
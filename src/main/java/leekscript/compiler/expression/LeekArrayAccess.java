@@ -291,12 +291,13 @@ public class LeekArrayAccess extends Expression {
 		}
 		if (mTabular.getType() instanceof ArrayType) {
 			mTabular.writeJavaCode(mainblock, writer);
+			var suffix = isArrayIntAccess(mainblock) ? "_index(" : "(";
 			if (mainblock.isStrict()) {
-				writer.addCode(".put(");
+				writer.addCode(".put" + suffix);
 			} else {
-				writer.addCode(".putv4(");
+				writer.addCode(".putv4" + suffix);
 			}
-			mCase.writeJavaCode(mainblock, writer);
+			writeKey(mainblock, writer);
 			writer.addCode(", ");
 			expr.writeJavaCode(mainblock, writer);
 			writer.addCode(")");
@@ -331,12 +332,13 @@ public class LeekArrayAccess extends Expression {
 		}
 		if (mTabular.getType() instanceof ArrayType) {
 			mTabular.writeJavaCode(mainblock, writer);
+			var suffix = isArrayIntAccess(mainblock) ? "_index(" : "(";
 			if (mainblock.isStrict()) {
-				writer.addCode(".put(");
+				writer.addCode(".put" + suffix);
 			} else {
-				writer.addCode(".putv4(");
+				writer.addCode(".putv4" + suffix);
 			}
-			mCase.writeJavaCode(mainblock, writer);
+			writeKey(mainblock, writer);
 			writer.addCode(", ");
 			expr.writeJavaCode(mainblock, writer);
 			writer.addCode(")");
@@ -368,6 +370,10 @@ public class LeekArrayAccess extends Expression {
 	public void compileIncrement(MainLeekBlock mainblock, JavaWriter writer) {
 		// assert(mLeftValue && !mTabular.nullable());
 
+		if (isArrayIntAccess(mainblock)) {
+			compileArrayIntPut(mainblock, writer, "put_inc", null);
+			return;
+		}
 		writer.addCode("put_inc(");
 		mTabular.writeJavaCode(mainblock, writer);
 		writer.addCode(", ");
@@ -380,6 +386,10 @@ public class LeekArrayAccess extends Expression {
 	public void compilePreIncrement(MainLeekBlock mainblock, JavaWriter writer) {
 		// assert(mLeftValue && !mTabular.nullable());
 
+		if (isArrayIntAccess(mainblock)) {
+			compileArrayIntPut(mainblock, writer, "put_pre_inc", null);
+			return;
+		}
 		writer.addCode("put_pre_inc(");
 		mTabular.writeJavaCode(mainblock, writer);
 		writer.addCode(", ");
@@ -391,6 +401,10 @@ public class LeekArrayAccess extends Expression {
 	public void compileDecrement(MainLeekBlock mainblock, JavaWriter writer) {
 		// assert(mLeftValue && !mTabular.nullable());
 
+		if (isArrayIntAccess(mainblock)) {
+			compileArrayIntPut(mainblock, writer, "put_dec", null);
+			return;
+		}
 		writer.addCode("put_dec(");
 		mTabular.writeJavaCode(mainblock, writer);
 		writer.addCode(", ");
@@ -402,6 +416,10 @@ public class LeekArrayAccess extends Expression {
 	public void compilePreDecrement(MainLeekBlock mainblock, JavaWriter writer) {
 		// assert(mLeftValue && !mTabular.nullable());
 
+		if (isArrayIntAccess(mainblock)) {
+			compileArrayIntPut(mainblock, writer, "put_pre_dec", null);
+			return;
+		}
 		writer.addCode("put_pre_dec(");
 		mTabular.writeJavaCode(mainblock, writer);
 		writer.addCode(", ");
@@ -413,6 +431,10 @@ public class LeekArrayAccess extends Expression {
 	public void compileAddEq(MainLeekBlock mainblock, JavaWriter writer, Expression expr, Type t) {
 		// assert(mLeftValue && !mTabular.nullable());
 
+		if (isArrayIntAccess(mainblock)) {
+			compileArrayIntPut(mainblock, writer, "put_add_eq", expr);
+			return;
+		}
 		writer.addCode("put_add_eq(");
 		mTabular.writeJavaCode(mainblock, writer);
 		writer.addCode(", ");
@@ -426,6 +448,10 @@ public class LeekArrayAccess extends Expression {
 	public void compileSubEq(MainLeekBlock mainblock, JavaWriter writer, Expression expr) {
 		// assert(mLeftValue && !mTabular.nullable());
 
+		if (isArrayIntAccess(mainblock)) {
+			compileArrayIntPut(mainblock, writer, "put_sub_eq", expr);
+			return;
+		}
 		writer.addCode("put_sub_eq(");
 		mTabular.writeJavaCode(mainblock, writer);
 		writer.addCode(", ");
@@ -439,6 +465,10 @@ public class LeekArrayAccess extends Expression {
 	public void compileMulEq(MainLeekBlock mainblock, JavaWriter writer, Expression expr, Type type) {
 		// assert(mLeftValue && !mTabular.nullable());
 
+		if (isArrayIntAccess(mainblock)) {
+			compileArrayIntPut(mainblock, writer, "put_mul_eq", expr);
+			return;
+		}
 		writer.addCode("put_mul_eq(");
 		mTabular.writeJavaCode(mainblock, writer);
 		writer.addCode(", ");
@@ -452,6 +482,10 @@ public class LeekArrayAccess extends Expression {
 	public void compileModEq(MainLeekBlock mainblock, JavaWriter writer, Expression expr) {
 		// assert(mLeftValue && !mTabular.nullable());
 
+		if (isArrayIntAccess(mainblock)) {
+			compileArrayIntPut(mainblock, writer, "put_mod_eq", expr);
+			return;
+		}
 		writer.addCode("put_mod_eq(");
 		mTabular.writeJavaCode(mainblock, writer);
 		writer.addCode(", ");
@@ -465,6 +499,10 @@ public class LeekArrayAccess extends Expression {
 	public void compileDivEq(MainLeekBlock mainblock, JavaWriter writer, Expression expr) {
 		// assert(mLeftValue && !mTabular.nullable());
 
+		if (isArrayIntAccess(mainblock)) {
+			compileArrayIntPut(mainblock, writer, "put_div_eq", expr);
+			return;
+		}
 		writer.addCode("put_div_eq(");
 		mTabular.writeJavaCode(mainblock, writer);
 		writer.addCode(", ");
@@ -478,6 +516,10 @@ public class LeekArrayAccess extends Expression {
 	public void compileIntDivEq(MainLeekBlock mainblock, JavaWriter writer, Expression expr) {
 		// assert(mLeftValue && !mTabular.nullable());
 
+		if (isArrayIntAccess(mainblock)) {
+			compileArrayIntPut(mainblock, writer, "put_intdiv_eq", expr);
+			return;
+		}
 		writer.addCode("put_intdiv_eq(");
 		mTabular.writeJavaCode(mainblock, writer);
 		writer.addCode(", ");
@@ -491,6 +533,10 @@ public class LeekArrayAccess extends Expression {
 	public void compilePowEq(MainLeekBlock mainblock, JavaWriter writer, Expression expr, Type t) {
 		// assert(mLeftValue && !mTabular.nullable());
 
+		if (isArrayIntAccess(mainblock)) {
+			compileArrayIntPut(mainblock, writer, "put_pow_eq", expr);
+			return;
+		}
 		writer.addCode("put_pow_eq(");
 		mTabular.writeJavaCode(mainblock, writer);
 		writer.addCode(", ");
@@ -504,6 +550,10 @@ public class LeekArrayAccess extends Expression {
 	public void compileBitOrEq(MainLeekBlock mainblock, JavaWriter writer, Expression expr) {
 		// assert(mLeftValue && !mTabular.nullable());
 
+		if (isArrayIntAccess(mainblock)) {
+			compileArrayIntPut(mainblock, writer, "put_bor_eq", expr);
+			return;
+		}
 		writer.addCode("put_bor_eq(");
 		mTabular.writeJavaCode(mainblock, writer);
 		writer.addCode(", ");
@@ -517,6 +567,10 @@ public class LeekArrayAccess extends Expression {
 	public void compileBitAndEq(MainLeekBlock mainblock, JavaWriter writer, Expression expr) {
 		// assert(mLeftValue && !mTabular.nullable());
 
+		if (isArrayIntAccess(mainblock)) {
+			compileArrayIntPut(mainblock, writer, "put_band_eq", expr);
+			return;
+		}
 		writer.addCode("put_band_eq(");
 		mTabular.writeJavaCode(mainblock, writer);
 		writer.addCode(", ");
@@ -530,6 +584,10 @@ public class LeekArrayAccess extends Expression {
 	public void compileBitXorEq(MainLeekBlock mainblock, JavaWriter writer, Expression expr) {
 		// assert(mLeftValue && !mTabular.nullable());
 
+		if (isArrayIntAccess(mainblock)) {
+			compileArrayIntPut(mainblock, writer, "put_bxor_eq", expr);
+			return;
+		}
 		writer.addCode("put_bxor_eq(");
 		mTabular.writeJavaCode(mainblock, writer);
 		writer.addCode(", ");
@@ -543,6 +601,10 @@ public class LeekArrayAccess extends Expression {
 	public void compileShiftLeftEq(MainLeekBlock mainblock, JavaWriter writer, Expression expr) {
 		// assert(mLeftValue && !mTabular.nullable());
 
+		if (isArrayIntAccess(mainblock)) {
+			compileArrayIntPut(mainblock, writer, "put_shl_eq", expr);
+			return;
+		}
 		writer.addCode("put_shl_eq(");
 		mTabular.writeJavaCode(mainblock, writer);
 		writer.addCode(", ");
@@ -556,6 +618,10 @@ public class LeekArrayAccess extends Expression {
 	public void compileShiftRightEq(MainLeekBlock mainblock, JavaWriter writer, Expression expr) {
 		// assert(mLeftValue && !mTabular.nullable());
 
+		if (isArrayIntAccess(mainblock)) {
+			compileArrayIntPut(mainblock, writer, "put_shr_eq", expr);
+			return;
+		}
 		writer.addCode("put_shr_eq(");
 		mTabular.writeJavaCode(mainblock, writer);
 		writer.addCode(", ");
@@ -569,6 +635,10 @@ public class LeekArrayAccess extends Expression {
 	public void compileShiftUnsignedRightEq(MainLeekBlock mainblock, JavaWriter writer, Expression expr) {
 		// assert(mLeftValue && !mTabular.nullable());
 
+		if (isArrayIntAccess(mainblock)) {
+			compileArrayIntPut(mainblock, writer, "put_ushr_eq", expr);
+			return;
+		}
 		writer.addCode("put_ushr_eq(");
 		mTabular.writeJavaCode(mainblock, writer);
 		writer.addCode(", ");
@@ -578,6 +648,35 @@ public class LeekArrayAccess extends Expression {
 		writer.addCode(", " + mainblock.getWordCompiler().getCurrentClassVariable() + ")");
 	}
 
+	/**
+	 * Accès à un tableau (ArrayLeekValue) avec une clé entière : on appelle directement
+	 * les méthodes du tableau avec un index int, sans passer par AI.put_*
+	 */
+	private boolean isArrayIntAccess(MainLeekBlock mainblock) {
+		return mainblock.getVersion() >= 4 && mTabular.getType() instanceof ArrayType && mCase.getType() == Type.INT;
+	}
+
+	private void writeKey(MainLeekBlock mainblock, JavaWriter writer) {
+		if (isArrayIntAccess(mainblock)) {
+			writer.addCode("(int) (long) (");
+			mCase.writeJavaCode(mainblock, writer);
+			writer.addCode(")");
+		} else {
+			mCase.writeJavaCode(mainblock, writer);
+		}
+	}
+
+	private void compileArrayIntPut(MainLeekBlock mainblock, JavaWriter writer, String method, Expression expr) {
+		mTabular.writeJavaCode(mainblock, writer);
+		writer.addCode("." + method + "_index(" + writer.getAIThis() + ", ");
+		writeKey(mainblock, writer);
+		if (expr != null) {
+			writer.addCode(", ");
+			expr.writeJavaCode(mainblock, writer);
+		}
+		writer.addCode(")");
+	}
+
 	public void setLeftValue(boolean b) {
 		mLeftValue = b;
 	}
@@ -448,6 +448,20 @@ public class LeekExpression extends Expression {
 		return this;
 	}
 
+	/**
+	 * Opérandes d'un appel à une opération dynamique de l'AI, instrumentées avec Options.profileTypes
+	 */
+	private void writeOperands(MainLeekBlock mainblock, JavaWriter writer, String operation) {
+		int site = writer.addProfileSite(operation, mOperatorToken.getLocation());
+		if (site >= 0) writer.addCode("profileLeft(" + site + ", ");
+		mExpression1.writeJavaCode(mainblock, writer);
+		if (site >= 0) writer.addCode(")");
+		writer.addCode(", ");
+		if (site >= 0) writer.addCode("profileRight(" + site + ", ");
+		mExpression2.writeJavaCode(mainblock, writer);
+		if (site >= 0) writer.addCode(")");
+	}
+
 	@Override
 	public void writeJavaCode(MainLeekBlock mainblock, JavaWriter writer) {
 
@@ -462,18 +476,14 @@ public class LeekExpression extends Expression {
 				mExpression2.writeJavaCode(mainblock, writer);
 			} else if (mExpression1.getType() == Type.STRING || mExpression2.getType() == Type.STRING) {
 				writer.addCode("(String) add(");
-				mExpression1.writeJavaCode(mainblock, writer);
-				writer.addCode(", ");
-				mExpression2.writeJavaCode(mainblock, writer);
+				writeOperands(mainblock, writer, "add");
 				writer.addCode(")");
 			} else {
 				if (type.isPrimitive()) {
 					writer.addCode("(" + type.getJavaPrimitiveName(mainblock.getVersion()) + ") ");
 				}
 				writer.addCode("(" + type.getJavaPrimitiveName(mainblock.getVersion()) + ") add(");
-				mExpression1.writeJavaCode(mainblock, writer);
-				writer.addCode(", ");
-				mExpression2.writeJavaCode(mainblock, writer);
+				writeOperands(mainblock, writer, "add");
 				writer.addCode(")");
 			}
 			return;
@@ -489,9 +499,7 @@ public class LeekExpression extends Expression {
 					writer.addCode("(" + type.getJavaPrimitiveName(mainblock.getVersion()) + ") ");
 				}
 				writer.addCode("(" + type.getJavaName(mainblock.getVersion()) + ") sub(");
-				mExpression1.writeJavaCode(mainblock, writer);
-				writer.addCode(", ");
-				mExpression2.writeJavaCode(mainblock, writer);
+				writeOperands(mainblock, writer, "sub");
 				writer.addCode(")");
 			}
 			return;
@@ -505,9 +513,7 @@ public class LeekExpression extends Expression {
 					writer.addCode("(" + type.getJavaPrimitiveName(mainblock.getVersion()) + ") ");
 				}
 				writer.addCode("(" + type.getJavaName(mainblock.getVersion()) + ") mul(");
-				mExpression1.writeJavaCode(mainblock, writer);
-				writer.addCode(", ");
-				mExpression2.writeJavaCode(mainblock, writer);
+				writeOperands(mainblock, writer, "mul");
 				writer.addCode(")");
 			}
 			return;
@@ -521,9 +527,7 @@ public class LeekExpression extends Expression {
 					writer.addCode("(" + type.getJavaPrimitiveName(mainblock.getVersion()) + ") ");
 				}
 				writer.addCode("(" + type.getJavaName(mainblock.getVersion()) + ") mod(");
-				mExpression1.writeJavaCode(mainblock, writer);
-				writer.addCode(", ");
-				mExpression2.writeJavaCode(mainblock, writer);
+				writeOperands(mainblock, writer, "mod");
 				writer.addCode(")");
 			}
 			return;
@@ -542,9 +546,14 @@ public class LeekExpression extends Expression {
 					}
 					writer.addCode("(" + type.getJavaPrimitiveName(mainblock.getVersion()) + ") div(");
 				}
+				int site = writer.addProfileSite("div", mOperatorToken.getLocation());
+				if (site >= 0) writer.addCode("profileLeft(" + site + ", ");
 				mExpression1.writeJavaCode(mainblock, writer);
+				if (site >= 0) writer.addCode(")");
 				writer.addCode(", ");
+				if (site >= 0) writer.addCode("profileRight(" + site + ", ");
 				writer.compileLoad(mainblock, mExpression2);
+				if (site >= 0) writer.addCode(")");
 				// mExpression2.writeJavaCode(mainblock, writer);
 				writer.addCode(")");
 			// }
@@ -689,17 +698,13 @@ public class LeekExpression extends Expression {
 				}
 			} else {
 				writer.addCode("equals_equals(");
-				mExpression1.writeJavaCode(mainblock, writer);
-				writer.addCode(", ");
-				mExpression2.writeJavaCode(mainblock, writer);
+				writeOperands(mainblock, writer, "equals_equals");
 				writer.addCode(")");
 			}
 			return;
 		case Operators.NOT_EQUALS_EQUALS:
 			writer.addCode("notequals_equals(");
-			mExpression1.writeJavaCode(mainblock, writer);
-			writer.addCode(", ");
-			mExpression2.writeJavaCode(mainblock, writer);
+			writeOperands(mainblock, writer, "notequals_equals");
 			writer.addCode(")");
 			return;
 		case Operators.EQUALS:
@@ -710,16 +715,12 @@ public class LeekExpression extends Expression {
 					mExpression2.writeJavaCode(mainblock, writer);
 				} else {
 					writer.addCode("equals_equals(");
-					mExpression1.writeJavaCode(mainblock, writer);
-					writer.addCode(", ");
-					mExpression2.writeJavaCode(mainblock, writer);
+					writeOperands(mainblock, writer, "equals_equals");
 					writer.addCode(")");
 				}
 			} else {
 				writer.addCode("eq(");
-				mExpression1.writeJavaCode(mainblock, writer);
-				writer.addCode(", ");
-				mExpression2.writeJavaCode(mainblock, writer);
+				writeOperands(mainblock, writer, "eq");
 				writer.addCode(")");
 			}
 			return;
@@ -730,9 +731,7 @@ public class LeekExpression extends Expression {
 				mExpression2.writeJavaCode(mainblock, writer);
 			} else {
 				writer.addCode("more(");
-				mExpression1.writeJavaCode(mainblock, writer);
-				writer.addCode(", ");
-				mExpression2.writeJavaCode(mainblock, writer);
+				writeOperands(mainblock, writer, "more");
 				writer.addCode(")");
 			}
 			return;
@@ -743,9 +742,7 @@ public class LeekExpression extends Expression {
 				mExpression2.writeJavaCode(mainblock, writer);
 			} else {
 				writer.addCode("less(");
-				mExpression1.writeJavaCode(mainblock, writer);
-				writer.addCode(", ");
-				mExpression2.writeJavaCode(mainblock, writer);
+				writeOperands(mainblock, writer, "less");
 				writer.addCode(")");
 			}
 			return;
@@ -756,9 +753,7 @@ public class LeekExpression extends Expression {
 				mExpression2.writeJavaCode(mainblock, writer);
 			} else {
 				writer.addCode("moreequals(");
-				mExpression1.writeJavaCode(mainblock, writer);
-				writer.addCode(", ");
-				mExpression2.writeJavaCode(mainblock, writer);
+				writeOperands(mainblock, writer, "moreequals");
 				writer.addCode(")");
 			}
 			return;
@@ -769,24 +764,18 @@ public class LeekExpression extends Expression {
 				mExpression2.writeJavaCode(mainblock, writer);
 			} else {
 				writer.addCode("lessequals(");
-				mExpression1.writeJavaCode(mainblock, writer);
-				writer.addCode(", ");
-				mExpression2.writeJavaCode(mainblock, writer);
+				writeOperands(mainblock, writer, "lessequals");
 				writer.addCode(")");
 			}
 			return;
 		case Operators.NOTEQUALS:
 			if (mainblock.getWordCompiler().getVersion() >= 4) {
 				writer.addCode("notequals_equals(");
-				mExpression1.writeJavaCode(mainblock, writer);
-				writer.addCode(", ");
-				mExpression2.writeJavaCode(mainblock, writer);
+				writeOperands(mainblock, writer, "notequals_equals");
 				writer.addCode(")");
 			} else {
 				writer.addCode("neq(");
-				mExpression1.writeJavaCode(mainblock, writer);
-				writer.addCode(", ");
-				mExpression2.writeJavaCode(mainblock, writer);
+				writeOperands(mainblock, writer, "neq");
 				writer.addCode(")");
 			}
 			return;
@@ -109,6 +109,7 @@ public class LeekFunctionCall extends Expression {
 		boolean addFinalParenthesis = true;
 		FunctionBlock user_function = null;
 		boolean convertPrimitive = false;
+		boolean fixedArity = false;
 
 		if (mExpression instanceof LeekObjectAccess) {
 			// Object access : object.field()
@@ -147,7 +148,12 @@ public class LeekFunctionCall extends Expression {
 					addComma = false;
 				} else if (this.functionType instanceof FunctionType ft) {
 					writer.addCode("this." + field);
-					writer.addCode(".run(");
+					if (mParameters.size() <= 4) {
+						writer.addCode(".run" + mParameters.size() + "(");
+						fixedArity = true;
+					} else {
+						writer.addCode(".run(");
+					}
 					writer.addCode(writer.getAIThis());
 					writer.addCode(", null");
 					convertPrimitive = true;
@@ -167,7 +173,7 @@ public class LeekFunctionCall extends Expression {
 					writer.addCode("(" + type.getJavaPrimitiveName(mainblock.getVersion()) + ") ");
 				}
 				writer.addCode("callObjectAccess(");
-				object.writeJavaCode(mainblock, writer);
+				writer.writeProfiled(mainblock, object, "callObjectAccess", mExpression.getLocation());
 				writer.addCode(", \"" + field + "\", \"u_" + field + "\", " + mainblock.getWordCompiler().getCurrentClassVariable());
 			}
 		} else if (mExpression instanceof LeekArrayAccess) {
@@ -272,7 +278,12 @@ public class LeekFunctionCall extends Expression {
 			}
 		} else if (this.functionType instanceof FunctionType) {
 			mExpression.writeJavaCode(mainblock, writer);
-			writer.addCode(".run(");
+			if (mParameters.size() <= 4) {
+				writer.addCode(".run" + mParameters.size() + "(");
+				fixedArity = true;
+			} else {
+				writer.addCode(".run(");
+			}
 			writer.addCode(writer.getAIThis());
 			writer.addCode(", null");
 			convertPrimitive = true;
@@ -291,7 +302,7 @@ public class LeekFunctionCall extends Expression {
 			if (i < mParameters.size()) {
 				var parameter = mParameters.get(i);
 				// Java doesn't like a single null for Object... argument
-				if (argCount == 1 && parameter.getType() == Type.NULL && user_function == null && system_function == null && !unsafe && !is_method && !is_static_method) {
+				if (argCount == 1 && parameter.getType() == Type.NULL && user_function == null && system_function == null && !unsafe && !is_method && !is_static_method && !fixedArity) {
 					writer.addCode("new Object[] { null }");
 					continue;
 				}
@@ -214,7 +214,7 @@ public class LeekObjectAccess extends Expression {
 					writer.addCode("(" + type.getJavaName(mainblock.getVersion()) + ") (");
 				}
 				writer.addCode("getField(");
-				object.writeJavaCode(mainblock, writer);
+				writer.writeProfiled(mainblock, object, "getField", field.getLocation());
 				writer.addCode(", \"" + field.getWord() + "\", " + mainblock.getWordCompiler().getCurrentClassVariable() + ")");
 				if (type != Type.ANY) {
 					writer.addCode("))");
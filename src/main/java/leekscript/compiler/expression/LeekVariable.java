@@ -228,6 +228,13 @@ public class LeekVariable extends Expression {
 		return this.box || (declaration != null && declaration.isBox());
 	}
 
+	/**
+	 * Variable string accumulée (s += x) : Box, mais opérateurs d'une variable locale simple
+	 */
+	private boolean isAccumulator() {
+		return type == VariableType.LOCAL && declaration != null && declaration.isAccumulator();
+	}
+
 	public boolean isWrapper() {
 		return declaration != null && declaration.isWrapper();
 	}
@@ -487,7 +494,10 @@ public class LeekVariable extends Expression {
 				writer.addCode("sub(g_" + token.getWord() + " = (" + this.variable.getType().getJavaName(mainblock.getVersion()) + ") add(g_" + token.getWord() + ", 1l), 1l)");
 			}
 		} else {
-			if (isBox()) {
+			if (isAccumulator()) {
+				var javaType = this.variable.getType().getJavaName(mainblock.getVersion());
+				writer.addCode("sub(u_" + token.getWord() + ".set((" + javaType + ") add(u_" + token.getWord() + ".get(), 1l)), 1l)");
+			} else if (isBox()) {
 				writer.addCode("u_" + token.getWord() + ".increment()");
 			} else if (this.variableType.isPrimitiveNumber()) {
 				writer.addCode("u_" + token.getWord() + "++");
@@ -516,7 +526,10 @@ public class LeekVariable extends Expression {
 				writer.addCode("add(g_" + token.getWord() + " = (" + this.variable.getType().getJavaName(mainblock.getVersion()) + ") sub(g_" + token.getWord() + ", 1l), 1l)");
 			}
 		} else {
-			if (isBox()) {
+			if (isAccumulator()) {
+				var javaType = this.variable.getType().getJavaName(mainblock.getVersion());
+				writer.addCode("add(u_" + token.getWord() + ".set((" + javaType + ") sub(u_" + token.getWord() + ".get(), 1l)), 1l)");
+			} else if (isBox()) {
 				writer.addCode("u_" + token.getWord() + ".decrement()");
 			} else if (this.variableType.isPrimitiveNumber()) {
 				writer.addCode("u_" + token.getWord() + "--");
@@ -546,7 +559,10 @@ public class LeekVariable extends Expression {
 				writer.addCode("g_" + token.getWord() + " = (" + this.variable.getType().getJavaName(mainblock.getVersion()) + ") add(g_" + token.getWord() + ", 1l)");
 			}
 		} else {
-			if (isBox()) {
+			if (isAccumulator()) {
+				var javaType = this.variable.getType().getJavaName(mainblock.getVersion());
+				writer.addCode("u_" + token.getWord() + ".set((" + javaType + ") add(u_" + token.getWord() + ".get(), 1l))");
+			} else if (isBox()) {
 				writer.addCode("u_" + token.getWord() + ".pre_increment()");
 			} else if (this.variableType.isPrimitiveNumber()) {
 				writer.addCode("++u_" + token.getWord());
@@ -575,7 +591,10 @@ public class LeekVariable extends Expression {
 				writer.addCode("g_" + token.getWord() + " = (" + this.variable.getType().getJavaName(mainblock.getVersion()) + ") sub(g_" + token.getWord() + ", 1l)");
 			}
 		} else {
-			if (isBox()) {
+			if (isAccumulator()) {
+				var javaType = this.variable.getType().getJavaName(mainblock.getVersion());
+				writer.addCode("u_" + token.getWord() + ".set((" + javaType + ") sub(u_" + token.getWord() + ".get(), 1l))");
+			} else if (isBox()) {
 				writer.addCode("u_" + token.getWord() + ".pre_decrement()");
 			} else if (this.variableType.isPrimitiveNumber()) {
 				writer.addCode("--u_" + token.getWord());
@@ -605,7 +624,11 @@ public class LeekVariable extends Expression {
 			writer.addCode(")");
 		} else {
 			String prefix = (type == VariableType.GLOBAL ? "g_": "u_");
-			if (isBox()) {
+			if (isAccumulator()) {
+				writer.addCode("u_" + token.getWord() + ".set((" + this.variable.getType().getJavaName(mainblock.getVersion()) + ") add_eq(u_" + token.getWord() + ".get(), ");
+				expr.writeJavaCode(mainblock, writer);
+				writer.addCode("))");
+			} else if (isBox()) {
 				writer.addCode(prefix + token.getWord() + ".add_eq(");
 				expr.writeJavaCode(mainblock, writer);
 				writer.addCode(")");
@@ -743,7 +766,11 @@ public class LeekVariable extends Expression {
 			writer.addCode(")");
 		} else {
 			String prefix = (type == VariableType.GLOBAL ? "g_": "u_");
-			if (isBox()) {
+			if (isAccumulator()) {
+				writer.addCode("u_" + token.getWord() + ".set((" + this.variable.getType().getJavaName(mainblock.getVersion()) + ") " + function + "(u_" + token.getWord() + ".get(), ");
+				expr.writeJavaCode(mainblock, writer);
+				writer.addCode("))");
+			} else if (isBox()) {
 				writer.addCode(prefix + token.getWord() + "." + function + "_eq(");
 				expr.writeJavaCode(mainblock, writer);
 				writer.addCode(")");
@@ -843,7 +843,10 @@ public class ClassDeclarationInstruction extends LeekInstruction {
 					}
 					writer.addLine(");");
 				} else {
+					int profiled = writer.addProfiledFunction(token.getWord() + "." + method.getKey());
+					writer.enterFunction(profiled);
 					version.getValue().block.writeJavaCode(mainblock, writer);
+					writer.leaveFunction(profiled);
 				}
 				writer.addLine("}");
 				writer.currentBlock = null;
@@ -923,7 +926,10 @@ public class ClassDeclarationInstruction extends LeekInstruction {
 					writer.addLine(");");
 				} else {
 					// Version complète
+					int profiled = writer.addProfiledFunction(token.getWord() + "." + method.getKey());
+					writer.enterFunction(profiled);
 					version.getValue().block.writeJavaCode(mainblock, writer);
+					writer.leaveFunction(profiled);
 				}
 				writer.addLine("}");
 				writer.currentBlock = null;
@@ -19,6 +19,7 @@ import leekscript.compiler.expression.LeekString;
 import leekscript.compiler.expression.LeekArrayAccess;
 import leekscript.compiler.expression.LeekTernaire;
 import leekscript.compiler.expression.LeekVariable;
+import leekscript.compiler.expression.LeekVariable.VariableType;
 import leekscript.compiler.expression.Operators;
 
 public class LeekExpressionInstruction extends LeekInstruction {
@@ -48,6 +49,17 @@ public class LeekExpressionInstruction extends LeekInstruction {
 			}
 		}
 
+		// s += x sans valeur de retour : concaténation accumulée dans la Box
+		var append = getAppendTarget(trimmed);
+		if (append != null && !writer.lastInstruction) {
+			writer.addCode("u_" + append.getName() + ".append_eq(");
+			((LeekExpression) trimmed).getExpression2().writeJavaCode(mainblock, writer);
+			writer.addCode(");");
+			if (writer.isOperationsEnabled() && trimmed.getOperations() > 0) writer.addCode(" ops(" + trimmed.getOperations() + ");");
+			writer.addLine("", getLocation());
+			return;
+		}
+
 		// Wrap an expression with a function call to avoid 'error: not a statement' error
 		if (trimmed instanceof LeekTernaire || trimmed instanceof LeekFunctionCall || (trimmed instanceof LeekExpression && ((LeekExpression) trimmed).needsWrapper())) {
 			if (writer.isOperationsEnabled() && trimmed.getOperations() > 0) writer.addCode("ops(");
@@ -86,6 +98,19 @@ public class LeekExpressionInstruction extends LeekInstruction {
 	@Override
 	public void analyze(WordCompiler compiler) throws LeekCompilerException {
 		mExpression.analyze(compiler);
+
+		if (compiler.getVersion() >= 2 && mExpression.trim() instanceof LeekExpression e && e.getOperator() == Operators.ADDASSIGN
+				&& e.getExpression1() instanceof LeekVariable v && v.getVariableType() == VariableType.LOCAL && v.getDeclaration() != null) {
+			v.getDeclaration().setAccumulator();
+		}
+	}
+
+	private LeekVariable getAppendTarget(Expression expression) {
+		if (expression instanceof LeekExpression e && e.getOperator() == Operators.ADDASSIGN && e.getExpression1() instanceof LeekVariable v
+				&& v.getVariableType() == VariableType.LOCAL && v.getDeclaration() != null && v.getDeclaration().isAccumulator()) {
+			return v;
+		}
+		return null;
 	}
 
 	@Override
@@ -29,6 +29,7 @@ public class LeekVariableDeclarationInstruction extends LeekInstruction {
 	private boolean captured = false;
 	private AbstractLeekBlock function;
 	private boolean box = false;
+	private boolean accumulator = false;
 	private LeekVariable variable;
 	private Type type;
 	private LeekType leekType;
@@ -61,7 +62,27 @@ public class LeekVariableDeclarationInstruction extends LeekInstruction {
 	}
 
 	public boolean isBox() {
-		return this.box || this.captured;
+		return this.box || this.captured || this.accumulator;
+	}
+
+	/**
+	 * Variable locale de type string à laquelle on concatène (s += x) : stockée dans une AccumulatorBox
+	 * pour que les ajouts s'accumulent dans un StringBuilder (AccumulatorBox.append_eq).
+	 * Seulement si le type est string : une variable sans type peut changer de type et doit
+	 * garder les opérateurs d'une variable locale simple.
+	 */
+	public void setAccumulator() {
+		if (mValue != null && type == Type.STRING) {
+			this.accumulator = true;
+		}
+	}
+
+	/**
+	 * Les autres opérations d'un accumulateur sont compilées comme pour une variable locale simple,
+	 * à travers la Box (voir LeekVariable). Une variable capturée reste une Box classique.
+	 */
+	public boolean isAccumulator() {
+		return this.accumulator && !this.captured;
 	}
 
 	public boolean isWrapper() {
@@ -81,7 +102,11 @@ public class LeekVariableDeclarationInstruction extends LeekInstruction {
 	public void writeJavaCode(MainLeekBlock mainblock, JavaWriter writer) {
 		if (this.captured) {
 			if (mValue != null && mValue.trim() instanceof LeekAnonymousFunction) {
-				writer.addCode("final var u_" + token.getWord() + " = new Wrapper<" + type.getJavaName(mainblock.getVersion()) + ">(new Box(" + writer.getAIThis() + ", null)); u_" + token.getWord() + ".set(");
+				if (mainblock.getWordCompiler().getVersion() <= 1) {
+					writer.addCode("final var u_" + token.getWord() + " = new Wrapper<" + type.getJavaName(mainblock.getVersion()) + ">(new Box(" + writer.getAIThis() + ", null)); u_" + token.getWord() + ".set(");
+				} else {
+					writer.addCode("final var u_" + token.getWord() + " = new Box<" + type.getJavaName(mainblock.getVersion()) + ">(" + writer.getAIThis() + ", null); u_" + token.getWord() + ".set(");
+				}
 				mValue.writeJavaCode(mainblock, writer);
 				writer.addLine(");", getLocation());
 			} else if (mValue instanceof LeekExpression && ((LeekExpression) mValue).getOperator() == Operators.REFERENCE) {
@@ -106,10 +131,9 @@ public class LeekVariableDeclarationInstruction extends LeekInstruction {
 				}
 				writer.addLine(");", getLocation());
 			} else {
-				writer.addCode("final var u_" + token.getWord() + " = new Wrapper<" + type.getJavaName(mainblock.getVersion()) + ">(new Box(" + writer.getAIThis() + ", ");
+				writer.addCode("final var u_" + token.getWord() + " = new Box<" + type.getJavaName(mainblock.getVersion()) + ">(" + writer.getAIThis() + ", ");
 				if (mValue != null) mValue.writeJavaCode(mainblock, writer);
 				else writer.addCode("null");
-				writer.addCode(")");
 				if (mValue != null && mValue.getOperations() > 0) {
 					writer.addCode(", " + mValue.getOperations());
 				}
@@ -152,6 +176,13 @@ public class LeekVariableDeclarationInstruction extends LeekInstruction {
 					}
 					writer.addLine(");", getLocation());
 				}
+			} else if (this.accumulator) {
+				writer.addCode("final var u_" + token.getWord() + " = new AccumulatorBox<" + type.getJavaName(mainblock.getVersion()) + ">(" + writer.getAIThis() + ", ");
+				writer.compileConvert(mainblock, 0, mValue, this.type);
+				if (mValue.getOperations() > 0) {
+					writer.addCode(", " + mValue.getOperations());
+				}
+				writer.addLine(");", getLocation());
 			} else {
 				writer.addCode(this.type.getJavaPrimitiveName(mainblock.getVersion()));
 				writer.addCode(" u_" + token.getWord() + " = ");
@@ -3,13 +3,16 @@ package leekscript.runner;
 import leekscript.AILog;
 import leekscript.compiler.AIFile;
 import leekscript.compiler.LineMapping;
+import leekscript.compiler.LineTable;
 import leekscript.compiler.RandomGenerator;
+import leekscript.compiler.SplittableRandomGenerator;
 import leekscript.runner.values.LegacyArrayLeekValue;
 import leekscript.runner.values.MapLeekValue;
 import leekscript.runner.classes.StandardClass;
 import leekscript.runner.values.ArrayLeekValue;
 import leekscript.runner.values.ClassLeekValue;
 import leekscript.runner.values.FunctionLeekValue;
+import leekscript.runner.values.ForeachCursor;
 import leekscript.runner.values.GenericArrayLeekValue;
 import leekscript.runner.values.GenericMapLeekValue;
 import leekscript.runner.values.IntegerIntervalLeekValue;
@@ -25,28 +28,25 @@ import leekscript.common.Error;
 import leekscript.common.Type;
 
 import java.io.File;
-import java.io.IOException;
 import java.lang.ref.Reference;
 import java.lang.ref.ReferenceQueue;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import leekscript.runner.values.BigIntegerValue;
-import java.nio.file.Files;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
 import java.util.Set;
-import java.util.TreeMap;
 import java.util.Map.Entry;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Stream;
 
 import com.alibaba.fastjson.JSONObject;
 
@@ -78,9 +78,9 @@ public abstract class AI {
 
 	// references to objects in memory
 	private ReferenceQueue<Object> referenceQueue = new ReferenceQueue<>();
-	private List<LeekReference> references = new ArrayList<>();
+	private List<RamUsage> references = new ArrayList<>();
 
-	protected TreeMap<Integer, LineMapping> mLinesMapping = new TreeMap<>();
+	protected LineTable mLinesTable = null;
 	protected String thisObject = null;
 
 	protected int id;
@@ -94,6 +94,9 @@ public abstract class AI {
 	private File filesLines;
 	private AIFile file;
 	private int objectID = 0;
+	private DecimalFormat decimalFormat; // v1, créé à la première utilisation
+	private TypeProfile typeProfile; // Options.profileTypes, créé à la première opération
+	private FunctionOperations functionOperations; // Options.profileOperations, créé au premier appel
 
 	public final ClassLeekValue valueClass;
 	public final ClassLeekValue nullClass;
@@ -129,14 +132,14 @@ public abstract class AI {
 
 		public Object u_keys() throws LeekRunException {
 			var result = new ArrayLeekValue(AI.this);
-			for (var field : this.getClass().getFields()) {
-				result.push(AI.this, field.getName());
+			for (var key : NativeObjectMetadata.get(getClass()).getKeys()) {
+				result.push(AI.this, key);
 			}
 			return result;
 		}
 
 		public int size() {
-			return this.getClass().getFields().length;
+			return NativeObjectMetadata.get(getClass()).size();
 		}
 
 		public String string(AI ai, Set<Object> visited) throws LeekRunException {
@@ -149,95 +152,64 @@ public abstract class AI {
 
 		public String getStringBase(Set<Object> visited, boolean export) throws LeekRunException {
 			visited.add(this);
+			var sb = new StringBuilder();
+			appendString(AI.this, sb, visited, export);
+			return sb.toString();
+		}
 
-			try {
-				var string_method = getClass().getMethod("u_string");
-				var result = string_method.invoke(this);
-				if (!(result instanceof String)) {
-					AI.this.addSystemLog(AILog.ERROR, Error.STRING_METHOD_MUST_RETURN_STRING, new String[] { getClass().getSimpleName() });
-				} else {
-					return AI.this.string(result, visited);
+		@Override
+		public void appendString(AI ai, StringBuilder sb, Set<Object> visited, boolean export) throws LeekRunException {
+			var metadata = NativeObjectMetadata.get(getClass());
+			var string_method = metadata.getStringMethod();
+			if (string_method != null) {
+				Object result = null;
+				boolean called = false;
+				try {
+					result = string_method.invoke(this);
+					called = true;
+				} catch (LeekRunException e) {
+					throw e;
+				} catch (Throwable e) {
+					// Erreur dans la méthode, pas grave
 				}
-			} catch (NoSuchMethodException | SecurityException | IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
-				// addSystemLog(AILog.SERROR, e);
-				// Méthode pas trouvée, pas grave
-			}
-
-			var classes = new ArrayList<Class<?>>();
-			Class<?> current = getClass();
-			while (current != null && current != NativeObjectLeekValue.class) {
-				classes.add(0, current);
-				current = current.getSuperclass();
-			}
-
-			var fields = new ArrayList<Field>();
-			for (var clazz : classes) {
-				for (var f : clazz.getDeclaredFields()) {
-					if (f.isSynthetic()) continue;
-					fields.add(f);
+				if (called) {
+					if (!(result instanceof String)) {
+						AI.this.addSystemLog(AILog.ERROR, Error.STRING_METHOD_MUST_RETURN_STRING, new String[] { getClass().getSimpleName() });
+					} else {
+						sb.append((String) result);
+						return;
+					}
 				}
 			}
 
-			AI.this.ops(1 + fields.size() * 2);
+			int count = metadata.fieldCount();
+			AI.this.ops(1 + count * 2);
 
-			var sb = new StringBuilder();
-			if (!getClass().getSimpleName().equals("Object")) {
-				sb.append(getClass().getSimpleName().substring(2)).append(" ");
+			if (metadata.getPrefix() != null) {
+				sb.append(metadata.getPrefix()).append(" ");
 			}
 			sb.append("{");
-			boolean first = true;
-			for (var field : fields) {
-				if (first) first = false;
-				else sb.append(", ");
-				sb.append(field.getName());
+			for (int i = 0; i < count; ++i) {
+				if (i > 0) sb.append(", ");
+				sb.append(metadata.getFieldName(i));
 				sb.append(": ");
-				Object v = null;
-				try {
-					v = field.get(this);
-				} catch (IllegalArgumentException | IllegalAccessException e) {}
-				if (visited.contains(v)) {
-					sb.append("<...>");
-				} else {
-					if (!AI.this.isPrimitive(v)) {
-						visited.add(v);
-					}
-					if (export) {
-						sb.append(AI.this.export(v, visited));
-					} else {
-						sb.append(AI.this.string(v, visited));
-					}
-				}
+				visited = AI.this.appendElement(sb, this, metadata.getField(this, i), visited, export);
 			}
 			sb.append("}");
-			return sb.toString();
 		}
 
 		public Object toJSON(AI ai, HashSet<Object> visited) throws LeekRunException {
 			visited.add(this);
 
-			var fields = new ArrayList<Field>();
-			Class<?> current = getClass();
-			while (current != null) {
-				for (var f : current.getDeclaredFields()) {
-					if (f.isSynthetic()) continue;
-					fields.add(f);
-				}
-				current = current.getSuperclass();
-			}
-
+			var metadata = NativeObjectMetadata.get(getClass());
 			var o = new JSONObject();
-			for (var field : fields) {
-				Object v;
-				try {
-					v = field.get(this);
-				} catch (IllegalArgumentException | IllegalAccessException e) {
-					v = null;
-				}
+			for (int i = 0; i < metadata.fieldCount(); ++i) {
+				Object v = metadata.getField(this, i);
 				if (!visited.contains(v)) {
 					if (!ai.isPrimitive(v)) {
 						visited.add(v);
 					}
-					o.put(ai.string(field.getName()), ai.toJSON(v, visited));
+					o.put(metadata.getFieldName(i), ai.toJSON(v, visited));
 				}
 			}
 			return o;
@@ -253,34 +225,7 @@ public abstract class AI {
 		this.mInstructions = instructions;
 		this.version = version;
 
-		randomGenerator = new RandomGenerator() {
-			private Random random = new Random();
-
-			@Override
-			public void seed(long seed) {
-				random.setSeed(seed);
-			}
-
-			@Override
-			public int getInt(int min, int max) {
-				if (max - min + 1 <= 0)
-					return 0;
-				return min + random.nextInt(max - min + 1);
-			}
-
-			@Override
-			public long getLong(long min, long max) {
-				if (max - min + 1 <= 0)
-					return 0;
-				// return min + Math.abs(random.nextLong()) % (max - min + 1);
-				return min + random.nextInt((int) max - (int) min + 1);
-			}
-
-			@Override
-			public double getDouble() {
-				return random.nextDouble();
-			}
-		};
+		randomGenerator = new SplittableRandomGenerator();
 
 		valueClass = new ClassLeekValue(this, "Value");
 		nullClass = new ClassLeekValue(this, "Null", valueClass);
@@ -325,6 +270,32 @@ public abstract class AI {
 	// Method that can be overriden in each AI
 	public void staticInit() throws Exception {}
 
+	// Method that can be overriden in each AI
+	public void resetGlobals() throws Exception {}
+
+	/**
+	 * Prépare l'instance pour une nouvelle exécution sans la reconstruire : compteurs, RAM, logs,
+	 * profils des types et des opérations par fonction, aléatoire, variables globales et champs statiques
+	 * des classes sont réinitialisés.
+	 * La table des lignes et le code de l'IA (thisObject), propres à la classe, sont conservés
+	 */
+	public void reset(long seed, long maxOperations, long maxRAM, AILog logs) throws Exception {
+		this.mOperations = 0;
+		this.maxOperations = maxOperations;
+		this.mRAM = 0;
+		this.maxRAM = maxRAM;
+		this.referenceQueue = new ReferenceQueue<>();
+		this.references = new ArrayList<>();
+		this.logs = logs;
+		this.objectID = 0;
+		this.typeProfile = null;
+		this.functionOperations = null;
+		this.randomGenerator.seed(seed);
+		resetGlobals();
+		init();
+		staticInit();
+	}
+
 	public int getInstructions() {
 		return mInstructions;
 	}
@@ -344,7 +315,7 @@ public abstract class AI {
 	public long getUsedRAM() {
 		Reference<?> referenceFromQueue;
 		while ((referenceFromQueue = referenceQueue.poll()) != null) {
-		    ((LeekReference)referenceFromQueue).finalizeResources(this);
+		    ((RamUsage) referenceFromQueue).finalizeResources(this);
 		    referenceFromQueue.clear();
 		}
 		return mRAM;
@@ -413,9 +384,16 @@ public abstract class AI {
 	}
 	
 	public RamUsage allocateRAM(Object obj, int ram, boolean checkOverflow) throws LeekRunException {
-		RamUsage ramRef = new RamUsage(ram);
+		return allocateRAM(obj, 0, ram, checkOverflow);
+	}
+
+	/**
+	 * id : identifiant de la valeur, pris avec getNextObjectID() à sa création
+	 */
+	public RamUsage allocateRAM(Object obj, int id, int ram, boolean checkOverflow) throws LeekRunException {
 		// subscribe object to the referenceQueue
-		references.add(new LeekReference(ramRef, obj, referenceQueue));
+		RamUsage ramRef = new RamUsage(obj, id, ram, referenceQueue);
+		references.add(ramRef);
 
 		mRAM += ram;
 		if (checkOverflow) checkRamOverflow();
@@ -436,7 +414,7 @@ public abstract class AI {
 			// update memory usage if garbage collector has already passed (call to gc is very expensive)
 			Reference<?> referenceFromQueue;
 			while ((referenceFromQueue = referenceQueue.poll()) != null) {
-			    ((LeekReference)referenceFromQueue).finalizeResources(this);
+			    ((RamUsage) referenceFromQueue).finalizeResources(this);
 			    referenceFromQueue.clear();
 			}
 			
@@ -451,7 +429,7 @@ public abstract class AI {
 						e.printStackTrace();
 					}
 					while ((referenceFromQueue = referenceQueue.poll()) != null) {
-					    ((LeekReference)referenceFromQueue).finalizeResources(this);
+					    ((RamUsage) referenceFromQueue).finalizeResources(this);
 					    referenceFromQueue.clear();
 					}
 				}
@@ -469,7 +447,7 @@ public abstract class AI {
 		ramRef.remove(value);
 	}
 	
-	public void freeRAM(LeekReference ref, int value) {
+	public void freeRAM(RamUsage ref, int value) {
 		mRAM -= value;
 		references.remove(ref);
 	}
@@ -502,6 +480,23 @@ public abstract class AI {
 		}
 	}
 
+	/**
+	 * Pile d'appels LeekScript courante, en ne parcourant que les frames nécessaires
+	 */
+	public String getErrorMessage() {
+		return StackWalker.getInstance().walk(frames -> {
+			StringBuilder sb = new StringBuilder();
+			var it = frames.filter(frame -> frame.getClassName().startsWith("AI_")).limit(52).iterator();
+			int count = 0;
+			while (it.hasNext()) {
+				sb.append(getErrorLocalisation(it.next().getLineNumber()));
+				count++;
+			}
+			if (count == 52) sb.append("[...]");
+			return sb.toString();
+		});
+	}
+
 	public String getErrorMessage(StackTraceElement[] elements) {
 		StringBuilder sb = new StringBuilder();
 		int count = 0;
@@ -525,18 +520,17 @@ public abstract class AI {
 	public record LeekScriptPosition(int file, int line) {}
 
 	public LeekScriptPosition getCurrentLeekScriptPosition() {
-		for (StackTraceElement element : Thread.currentThread().getStackTrace()) {
-			if (element.getClassName().startsWith("AI_")) {
-				var mapping = getLineMapping(element.getLineNumber());
-				if (mapping != null) {
-					var files = getErrorFilesID();
-					var f = mapping.getAI();
-					int file = f < files.length ? files[f] : 0;
-					return new LeekScriptPosition(file, mapping.getLeekScriptLine());
-				}
-			}
-		}
-		return null;
+		var mapping = StackWalker.getInstance().walk(frames -> frames
+			.filter(frame -> frame.getClassName().startsWith("AI_"))
+			.map(frame -> getLineMapping(frame.getLineNumber()))
+			.filter(m -> m != null)
+			.findFirst()
+		);
+		if (mapping.isEmpty()) return null;
+		var files = getErrorFilesID();
+		var f = mapping.get().getAI();
+		int file = f < files.length ? files[f] : 0;
+		return new LeekScriptPosition(file, mapping.get().getLeekScriptLine());
 	}
 
 	public String getErrorMessage(Throwable e) {
@@ -544,16 +538,12 @@ public abstract class AI {
 	}
 
 	protected LineMapping getLineMapping(int javaLine) {
-		if (mLinesMapping.isEmpty() && this.filesLines != null && this.filesLines.exists()) {
-			try (Stream<String> stream = Files.lines(this.filesLines.toPath())) {
-				stream.forEach(l -> {
-					var parts = l.split(" ");
-					mLinesMapping.put(Integer.parseInt(parts[0]), new LineMapping(Integer.parseInt(parts[2]), Integer.parseInt(parts[1])));
-				});
-			} catch (IOException e) {}
+		if (mLinesTable == null) {
+			mLinesTable = LineTable.get(getClass(), this.filesLines);
+			if (mLinesTable == null) return null;
 			thisObject = getAIString();
 		}
-		return mLinesMapping.get(javaLine);
+		return mLinesTable.get(javaLine);
 	}
 
 	protected String getErrorLocalisation(int javaLine) {
@@ -567,6 +557,13 @@ public abstract class AI {
 		return "";
 	}
 
+	// Messages des exceptions Java traduites en erreurs LeekScript
+	private static final Pattern CLASS_CAST_MESSAGE = Pattern.compile("class (.*) cannot be cast to class (.*) \\(");
+	private static final Pattern FIELD_SET_MESSAGE = Pattern.compile("Can not set (.*) field .* to (.*)");
+	private static final Pattern NULL_INVOKE_MESSAGE = Pattern.compile("Cannot invoke \"(.*)\" because \".*\" is null");
+	private static final Pattern NULL_RETURN_INVOKE_MESSAGE = Pattern.compile("Cannot invoke \"(.*)\" because the return value of \".*\" is null");
+	private static final Pattern NULL_FIELD_MESSAGE = Pattern.compile("Cannot read field \"(.*)\" because \".*\" is null");
+
 	public LeekError throwableToError(Throwable throwable) {
 
 		if (throwable instanceof InvocationTargetException) {
@@ -578,8 +575,7 @@ public abstract class AI {
 		if (throwable instanceof ClassCastException) {
 			error.type = Error.IMPOSSIBLE_CAST;
 
-			Pattern r = Pattern.compile("class (.*) cannot be cast to class (.*) \\(");
-			Matcher m = r.matcher(throwable.getMessage() != null ? throwable.getMessage() : "");
+			Matcher m = CLASS_CAST_MESSAGE.matcher(throwable.getMessage() != null ? throwable.getMessage() : "");
 			if (m.find()) {
 				error.parameters = new Object[] { javaTypeToLS(m.group(1)), javaTypeToLS(m.group(2)) };
 			} else {
@@ -589,8 +585,7 @@ public abstract class AI {
 			throwable.printStackTrace(System.out);
 			error.type = Error.IMPOSSIBLE_CAST;
 
-			Pattern r = Pattern.compile("Can not set (.*) field .* to (.*)");
-			Matcher m = r.matcher(throwable.getMessage() != null ? throwable.getMessage() : "");
+			Matcher m = FIELD_SET_MESSAGE.matcher(throwable.getMessage() != null ? throwable.getMessage() : "");
 			if (m.find()) {
 				error.parameters = new Object[] { javaTypeToLS(m.group(2)), javaTypeToLS(m.group(1)) };
 			} else {
@@ -599,20 +594,17 @@ public abstract class AI {
 		} else if (throwable instanceof NullPointerException) {
 			error.type = Error.IMPOSSIBLE_CAST;
 
-			Pattern r = Pattern.compile("Cannot invoke \"(.*)\" because \".*\" is null");
-			Matcher m = r.matcher(throwable.getMessage() != null ? throwable.getMessage() : "");
+			Matcher m = NULL_INVOKE_MESSAGE.matcher(throwable.getMessage() != null ? throwable.getMessage() : "");
 			if (m.find()) {
 				var method = m.group(1);
 				var clazz = method.substring(0, method.lastIndexOf("."));
 				error.parameters = new Object[] { "null", javaTypeToLS(clazz) };
 			} else {
-				Pattern r2 = Pattern.compile("Cannot invoke \"(.*)\" because the return value of \".*\" is null");
-				Matcher m2 = r2.matcher(throwable.getMessage() != null ? throwable.getMessage() : "");
+				Matcher m2 = NULL_RETURN_INVOKE_MESSAGE.matcher(throwable.getMessage() != null ? throwable.getMessage() : "");
 				if (m2.find()) {
 					error.parameters = new Object[] { "null", javaTypeToLS(m2.group(1)) };
 				} else {
-					Pattern r3 = Pattern.compile("Cannot read field \"(.*)\" because \".*\" is null");
-					Matcher m3 = r3.matcher(throwable.getMessage() != null ? throwable.getMessage() : "");
+					Matcher m3 = NULL_FIELD_MESSAGE.matcher(throwable.getMessage() != null ? throwable.getMessage() : "");
 					if (m3.find()) {
 						error.type = Error.UNKNOWN_FIELD;
 						error.parameters = new Object[] { "null", javaTypeToLS(m3.group(1)) };
@@ -696,7 +688,7 @@ public abstract class AI {
 
 		String stacktrace;
 		if (cause == null) {
-			 stacktrace = getErrorMessage(Thread.currentThread().getStackTrace());
+			stacktrace = getErrorMessage();
 		} else {
 			if (cause.getCause() != null) {
 				stacktrace = getErrorMessage(cause.getCause().getStackTrace());
@@ -713,6 +705,59 @@ public abstract class AI {
 
 	protected String getAIString() { return ""; }
 
+	protected String[] getProfileSites() { return new String[0]; }
+
+	/**
+	 * Types observés aux opérations dynamiques, null si l'IA n'a pas été compilée avec Options.profileTypes
+	 * ou si aucune opération instrumentée n'a été exécutée.
+	 */
+	public TypeProfile getTypeProfile() {
+		return typeProfile;
+	}
+
+	private TypeProfile typeProfile() {
+		if (typeProfile == null) {
+			typeProfile = new TypeProfile(getProfileSites(), getErrorFiles());
+		}
+		return typeProfile;
+	}
+
+	public <T> T profile(int site, T value) {
+		typeProfile().record(site, value);
+		return value;
+	}
+
+	public <T> T profileLeft(int site, T value) {
+		typeProfile().left(site, value);
+		return value;
+	}
+
+	public <T> T profileRight(int site, T value) {
+		typeProfile().right(site, value);
+		return value;
+	}
+
+	protected String[] getProfiledFunctions() { return new String[0]; }
+
+	/**
+	 * Opérations par fonction, null si l'IA n'a pas été compilée avec Options.profileOperations
+	 * ou si aucune fonction n'a été appelée. Seuls les appels terminés sont comptés.
+	 */
+	public FunctionOperations getFunctionOperations() {
+		return functionOperations;
+	}
+
+	public void enterFunction(int function) {
+		if (functionOperations == null) {
+			functionOperations = new FunctionOperations(getProfiledFunctions());
+		}
+		functionOperations.enter(function, mOperations);
+	}
+
+	public void leaveFunction(int function) {
+		functionOperations.leave(function, mOperations);
+	}
+
 	public Object runIA() throws LeekRunException {
 		return runIA(null);
 	}
@@ -723,6 +768,10 @@ public abstract class AI {
 		return randomGenerator;
 	}
 
+	public void setRandom(RandomGenerator randomGenerator) {
+		this.randomGenerator = randomGenerator;
+	}
+
 	public int getVersion() { return this.version; }
 
 	public static Object load(Object value) {
@@ -732,8 +781,45 @@ public abstract class AI {
 		return value;
 	}
 
+	// Genres de valeurs pour les comparaisons, une paire (x, y) donne une case de kind(x) << 3 | kind(y)
+	private static final int KIND_OTHER = 0;
+	private static final int KIND_NULL = 1;
+	private static final int KIND_LONG = 2;
+	private static final int KIND_REAL = 3;
+	private static final int KIND_STRING = 4;
+	private static final int KIND_BOOLEAN = 5;
+
+	private static final int LONG_LONG = KIND_LONG << 3 | KIND_LONG;
+	private static final int LONG_REAL = KIND_LONG << 3 | KIND_REAL;
+	private static final int REAL_LONG = KIND_REAL << 3 | KIND_LONG;
+	private static final int REAL_REAL = KIND_REAL << 3 | KIND_REAL;
+	private static final int STRING_STRING = KIND_STRING << 3 | KIND_STRING;
+	private static final int BOOLEAN_BOOLEAN = KIND_BOOLEAN << 3 | KIND_BOOLEAN;
+
+	private static int kind(Object value) {
+		// Classes finales : chaque test est une simple comparaison de classe
+		if (value instanceof Long) return KIND_LONG;
+		if (value instanceof Double) return KIND_REAL;
+		if (value instanceof String) return KIND_STRING;
+		if (value == null) return KIND_NULL;
+		if (value instanceof Boolean) return KIND_BOOLEAN;
+		return KIND_OTHER;
+	}
+
 	public boolean eq(Object x, Object y) throws LeekRunException {
 		// ops(1);
+		switch (kind(x) << 3 | kind(y)) {
+			case LONG_LONG:
+			case LONG_REAL:
+			case REAL_LONG:
+			case REAL_REAL:
+				return ((Number) x).doubleValue() == ((Number) y).doubleValue();
+			case STRING_STRING:
+				ops(Math.min(((String) x).length(), ((String) y).length()));
+				return x.equals(y);
+			case BOOLEAN_BOOLEAN:
+				return ((Boolean) x).booleanValue() == ((Boolean) y).booleanValue();
+		}
 		if (x == null) return y == null;
 		if (x instanceof Number) {
 			if (x instanceof BigIntegerValue || y instanceof BigIntegerValue) {
@@ -760,12 +846,8 @@ public abstract class AI {
 				if (s.equals("true")) return n != 0;
 				if (s.equals("1") && n == 1) return true;
 				if (x instanceof Double) {
-					try {
-						ops(((String) y).length());
-						return n == Double.parseDouble((String) y);
-					} catch (Exception e) {
-						return false;
-					}
+					ops(((String) y).length());
+					return n == LeekValueManager.parseDouble((String) y, Double.NaN);
 				} else if (x instanceof BigIntegerValue) {
 					try {
 						ops(((String) y).length());
@@ -774,12 +856,9 @@ public abstract class AI {
 						return false;
 					}
 				} else {
-					try {
-						ops(((String) y).length());
-						return n == Integer.parseInt((String) y);
-					} catch (Exception e) {
-						return false;
-					}
+					ops(((String) y).length());
+					var i = LeekValueManager.parseInt((String) y, Long.MIN_VALUE);
+					return i != Long.MIN_VALUE && n == i;
 				}
 			}
 			if (y instanceof LegacyArrayLeekValue) {
@@ -839,11 +918,7 @@ public abstract class AI {
 						return false;
 					}
 				} else {
-					try {
-						return n == Double.parseDouble(s);
-					} catch (Exception e) {
-						return false;
-					}
+					return n == LeekValueManager.parseDouble(s, Double.NaN);
 				}
 			}
 			if (y instanceof Boolean) {
@@ -878,10 +953,15 @@ public abstract class AI {
 	}
 
 	public boolean less(Object x, Object y) throws LeekRunException {
-		if (x instanceof Number && y instanceof Number) {
-			if (x instanceof Long && y instanceof Long) {
+		switch (kind(x) << 3 | kind(y)) {
+			case LONG_LONG:
 				return (Long) x < (Long) y;
-			}
+			case LONG_REAL:
+			case REAL_LONG:
+			case REAL_REAL:
+				return ((Number) x).doubleValue() < ((Number) y).doubleValue();
+		}
+		if (x instanceof Number && y instanceof Number) {
 			if (x instanceof BigIntegerValue) {
 				if (y instanceof BigIntegerValue) {
 					return ((BigIntegerValue) x).compareTo((BigIntegerValue) y) < 0;
@@ -900,10 +980,15 @@ public abstract class AI {
 	}
 
 	public boolean more(Object x, Object y) throws LeekRunException {
-		if (x instanceof Number && y instanceof Number) {
-			if (x instanceof Long && y instanceof Long) {
+		switch (kind(x) << 3 | kind(y)) {
+			case LONG_LONG:
 				return (Long) x > (Long) y;
-			}
+			case LONG_REAL:
+			case REAL_LONG:
+			case REAL_REAL:
+				return ((Number) x).doubleValue() > ((Number) y).doubleValue();
+		}
+		if (x instanceof Number && y instanceof Number) {
 			if (x instanceof BigIntegerValue) {
 				if (y instanceof BigIntegerValue) {
 					return ((BigIntegerValue) x).compareTo((BigIntegerValue) y) > 0;
@@ -922,10 +1007,15 @@ public abstract class AI {
 	}
 
 	public boolean lessequals(Object x, Object y) throws LeekRunException {
-		if (x instanceof Number && y instanceof Number) {
-			if (x instanceof Long && y instanceof Long) {
+		switch (kind(x) << 3 | kind(y)) {
+			case LONG_LONG:
 				return (Long) x <= (Long) y;
-			}
+			case LONG_REAL:
+			case REAL_LONG:
+			case REAL_REAL:
+				return ((Number) x).doubleValue() <= ((Number) y).doubleValue();
+		}
+		if (x instanceof Number && y instanceof Number) {
 			if (x instanceof BigIntegerValue) {
 				if (y instanceof BigIntegerValue) {
 					return ((BigIntegerValue) x).compareTo((BigIntegerValue) y) <= 0;
@@ -944,10 +1034,15 @@ public abstract class AI {
 	}
 
 	public boolean moreequals(Object x, Object y) throws LeekRunException {
-		if (x instanceof Number && y instanceof Number) {
-			if (x instanceof Long && y instanceof Long) {
+		switch (kind(x) << 3 | kind(y)) {
+			case LONG_LONG:
 				return (Long) x >= (Long) y;
-			}
+			case LONG_REAL:
+			case REAL_LONG:
+			case REAL_REAL:
+				return ((Number) x).doubleValue() >= ((Number) y).doubleValue();
+		}
+		if (x instanceof Number && y instanceof Number) {
 			if (x instanceof BigIntegerValue) {
 				if (y instanceof BigIntegerValue) {
 					return ((BigIntegerValue) x).compareTo((BigIntegerValue) y) >= 0;
@@ -1037,11 +1132,7 @@ public abstract class AI {
 			if (s.equals("false")) return 0;
 			if (s.isEmpty()) return 0;
 			ops(s.length());
-			try {
-				return Integer.parseInt(s);
-			} catch (Exception e) {
-				return (int) s.length();
-			}
+			return (int) LeekValueManager.parseInt(s, s.length());
 		} else if (value instanceof Box) {
 			return integer(((Box) value).get());
 		} else if (value instanceof FunctionLeekValue) {
@@ -1077,11 +1168,10 @@ public abstract class AI {
 			if (s.equals("false")) return 0l;
 			if (s.isEmpty()) return 0l;
 			ops(s.length());
-			try {
+			if (LeekValueManager.isReal(s)) {
 				return Double.parseDouble(s);
-			} catch (Exception e) {
-				return (long) s.length();
 			}
+			return (long) s.length();
 		} else if (value instanceof Box) {
 			return number(((Box) value).get());
 		} else if (value instanceof FunctionLeekValue) {
@@ -1121,11 +1211,7 @@ public abstract class AI {
 			if (s.equals("false")) return 0;
 			if (s.isEmpty()) return 0;
 			ops(s.length());
-			try {
-				return Long.parseLong(s);
-			} catch (Exception e) {
-				return (long) s.length();
-			}
+			return LeekValueManager.parseLong(s, s.length());
 		} else if (value instanceof FunctionLeekValue) {
 			return 0;
 		} else if (value instanceof Box box) {
@@ -1209,11 +1295,7 @@ public abstract class AI {
 			if (s.equals("false")) return 0l;
 			if (s.isEmpty()) return 0l;
 			ops(s.length());
-			try {
-				return Double.parseDouble(s);
-			} catch (Exception e) {
-				return s.length();
-			}
+			return LeekValueManager.parseDouble(s, s.length());
 		} else if (value instanceof Box) {
 			return real(((Box) value).get());
 		} else if (value instanceof FunctionLeekValue) {
@@ -1642,7 +1724,9 @@ public abstract class AI {
 		} else if (value instanceof String) {
 			return (String) value;
 		} else if (value instanceof LeekValue leekValue) {
-			return leekValue.string(this, new HashSet<Object>());
+			var sb = new StringBuilder();
+			leekValue.appendString(this, sb, null, false);
+			return sb.toString();
 		} else if (value instanceof Box box) {
 			return string(box.get());
 		} else if (value == null) {
@@ -1680,9 +1764,11 @@ public abstract class AI {
 			if (value == Double.NEGATIVE_INFINITY) return "-∞";
 			return String.valueOf((Double) value);
 		} else {
-			DecimalFormat df = new DecimalFormat();
-			df.setMinimumFractionDigits(0);
-			return df.format((Double) value);
+			if (ai.decimalFormat == null) {
+				ai.decimalFormat = new DecimalFormat();
+				ai.decimalFormat.setMinimumFractionDigits(0);
+			}
+			return ai.decimalFormat.format(value);
 		}
 	}
 
@@ -1696,20 +1782,10 @@ public abstract class AI {
 			return ((BigIntegerValue) value).toString();
 		} else if (value instanceof Boolean) {
 			return String.valueOf((Boolean) value);
-		} else if (value instanceof ObjectLeekValue) {
-			return ((ObjectLeekValue) value).export(this, new HashSet<Object>());
-		} else if (value instanceof NativeObjectLeekValue o) {
-			return o.export(new HashSet<Object>());
-		} else if (value instanceof LegacyArrayLeekValue) {
-			return ((LegacyArrayLeekValue) value).export(this, new HashSet<Object>());
-		} else if (value instanceof ArrayLeekValue) {
-			return ((ArrayLeekValue) value).string(this, new HashSet<Object>());
-		} else if (value instanceof MapLeekValue) {
-			return ((MapLeekValue) value).string(this, new HashSet<Object>());
-		} else if (value instanceof SetLeekValue set) {
-			return set.string(this, new HashSet<Object>());
-		} else if (value instanceof IntervalLeekValue interval) {
-			return interval.string(this, new HashSet<Object>());
+		} else if (value instanceof ObjectLeekValue || value instanceof NativeObjectLeekValue || value instanceof LegacyArrayLeekValue || value instanceof ArrayLeekValue || value instanceof MapLeekValue || value instanceof SetLeekValue || value instanceof IntervalLeekValue) {
+			var sb = new StringBuilder();
+			((LeekValue) value).appendString(this, sb, null, true);
+			return sb.toString();
 		} else if (value instanceof String) {
 			return "\"" + value + "\"";
 		} else if (value instanceof ClassLeekValue) {
@@ -1762,6 +1838,68 @@ public abstract class AI {
 		throw new RuntimeException("Valeur invalide : " + value + " class=" + value.getClass());
 	}
 
+	/**
+	 * Ajoute string(value) à sb. visited est null tant qu'aucune valeur imbriquée n'a été rencontrée.
+	 */
+	public void appendString(StringBuilder sb, Object value, Set<Object> visited) throws LeekRunException {
+		if (value instanceof String) {
+			sb.append((String) value);
+		} else if (value instanceof Long) {
+			this.ops(3);
+			sb.append((long) value);
+		} else if (value instanceof LeekValue leekValue) {
+			leekValue.appendString(this, sb, visited, false);
+		} else {
+			sb.append(string(value, visited));
+		}
+	}
+
+	/**
+	 * Ajoute export(value) à sb, même principe que appendString
+	 */
+	public void appendExport(StringBuilder sb, Object value, Set<Object> visited) throws LeekRunException {
+		if (value instanceof String) {
+			sb.append('"').append((String) value).append('"');
+		} else if (value instanceof Long) {
+			this.ops(3);
+			sb.append((long) value);
+		} else if (value instanceof ObjectLeekValue || value instanceof NativeObjectLeekValue || value instanceof LegacyArrayLeekValue || value instanceof ArrayLeekValue || value instanceof MapLeekValue || value instanceof SetLeekValue || value instanceof IntervalLeekValue) {
+			((LeekValue) value).appendString(this, sb, visited, true);
+		} else {
+			sb.append(export(value, visited));
+		}
+	}
+
+	/**
+	 * Élément d'un conteneur : "<...>" s'il a déjà été rendu, sinon sa valeur.
+	 * L'ensemble des valeurs visitées (par identité) n'est créé qu'à la première valeur imbriquée,
+	 * il est renvoyé pour être passé aux éléments suivants.
+	 */
+	public Set<Object> appendElement(StringBuilder sb, Object container, Object value, Set<Object> visited, boolean export) throws LeekRunException {
+		boolean primitive = isPrimitive(value);
+		if (!primitive || value instanceof IntervalLeekValue) {
+			if (visited == null) {
+				visited = Collections.newSetFromMap(new IdentityHashMap<>());
+				if (container != null) {
+					visited.add(container);
+				}
+			}
+			if (visited.contains(value)) {
+				sb.append("<...>");
+				return visited;
+			}
+			if (!primitive) {
+				visited.add(value);
+			}
+		}
+		if (export) {
+			appendExport(sb, value, visited);
+		} else {
+			appendString(sb, value, visited);
+		}
+		return visited;
+	}
+
 	public Object toJSON(Object v) throws LeekRunException {
 		return toJSON(v, new HashSet<>());
 	}
@@ -1819,6 +1957,21 @@ public abstract class AI {
 		return null;
 	}
 
+	public ForeachCursor cursor(Object value) {
+		if (value instanceof ArrayLeekValue array) {
+			return array.cursor();
+		} else if (value instanceof MapLeekValue map) {
+			return map.cursor();
+		} else if (value instanceof SetLeekValue set) {
+			return set.cursor();
+		} else if (value instanceof IntervalLeekValue interval) {
+			return interval.cursor();
+		} else if (value instanceof LegacyArrayLeekValue array) {
+			return array.cursor();
+		}
+		return null;
+	}
+
 	public Object getField(Object value, String field, ClassLeekValue fromClass) throws LeekRunException {
 		if (field.equals("class")) {
 			return classOf(value);
@@ -3386,6 +3539,10 @@ public abstract class AI {
 		this.filesLines = lines;
 	}
 
+	public File getLinesFile() {
+		return filesLines;
+	}
+
 	public void setFile(AIFile file) {
 		this.file = file;
 	}
@@ -0,0 +1,62 @@
+package leekscript.runner;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import leekscript.AILog;
+
+/**
+ * Instances réutilisables d'une IA compilée : une instance rendue au pool est réinitialisée
+ * par AI.reset() au prochain acquire(), sans repasser par le constructeur.
+ */
+public class AIPool {
+
+	private final AI template;
+	private final int maxSize;
+	private final ConcurrentLinkedDeque<AI> instances = new ConcurrentLinkedDeque<>();
+	private final AtomicInteger size = new AtomicInteger();
+
+	public AIPool(AI template) {
+		this(template, 16);
+	}
+
+	public AIPool(AI template, int maxSize) {
+		this.template = template;
+		this.maxSize = maxSize;
+	}
+
+	public AI acquire(long seed, long maxOperations, long maxRAM, AILog logs) throws Exception {
+		// La dernière instance rendue est la plus "chaude"
+		var ai = instances.pollFirst();
+		if (ai != null) {
+			size.decrementAndGet();
+		} else {
+			ai = create();
+		}
+		ai.reset(seed, maxOperations, maxRAM, logs);
+		return ai;
+	}
+
+	public void release(AI ai) {
+		if (ai.getClass() != template.getClass()) {
+			throw new IllegalArgumentException("AI " + ai.getClass().getName() + " does not belong to pool of " + template.getClass().getName());
+		}
+		if (size.incrementAndGet() > maxSize) {
+			size.decrementAndGet();
+			return;
+		}
+		instances.offerFirst(ai);
+	}
+
+	public int size() {
+		return size.get();
+	}
+
+	private AI create() throws Exception {
+		var ai = template.getClass().getDeclaredConstructor().newInstance();
+		ai.setId(template.getId());
+		ai.setFile(template.getFile());
+		ai.setLinesFile(template.getLinesFile());
+		return ai;
+	}
+}
@@ -39,19 +39,11 @@ public class BasicAILog extends AILog {
 			}
 		}
 
-		JSONArray obj = new JSONArray();
-		obj.add(0);
-		obj.add(type);
-		obj.add(trace);
-		obj.add(key);
-		if (parametersString != null)
-			obj.add(parametersString);
-
-		stream.write(obj);
+		writeSystemLog(type, trace, key, parametersString);
 	}
 
 	public void addLog(int type, String message) {
-		message = message.replaceAll("\t", "    ");
+		message = message.replace("\t", "    ");
 		addLog(type, message, 0, 0, 0);
 	}
 
@@ -64,14 +56,7 @@ public class BasicAILog extends AILog {
 		if (message == null || !addSize(20 + message.length())) {
 			return;
 		}
-		JSONArray obj = new JSONArray();
-		obj.add(0);
-		obj.add(type);
-		obj.add(message);
-		if (color != 0) {
-			obj.add(color);
-		}
-		stream.write(obj);
+		writeLog(type, message, color);
 	}
 
 
@@ -91,7 +76,24 @@ public class BasicAILog extends AILog {
 		if (!addSize(20 + paramSize)) {
 			return;
 		}
+		writeSystemLog(type, trace, key, parameters);
+	}
+
+	/**
+	 * Écriture d'un log système, une fois sa taille comptée
+	 */
+	protected void writeSystemLog(int type, String trace, int key, String[] parameters) {
+		stream.write(systemLogToJSON(type, trace, key, parameters));
+	}
 
+	/**
+	 * Écriture d'un log de l'IA, une fois sa taille comptée
+	 */
+	protected void writeLog(int type, String message, int color) {
+		stream.write(logToJSON(type, message, color));
+	}
+
+	protected static JSONArray systemLogToJSON(int type, String trace, int key, String[] parameters) {
 		JSONArray obj = new JSONArray();
 		obj.add(0);
 		obj.add(type);
@@ -99,8 +101,18 @@ public class BasicAILog extends AILog {
 		obj.add(key);
 		if (parameters != null)
 			obj.add(parameters);
+		return obj;
+	}
 
-		stream.write(obj);
+	protected static JSONArray logToJSON(int type, String message, int color) {
+		JSONArray obj = new JSONArray();
+		obj.add(0);
+		obj.add(type);
+		obj.add(message);
+		if (color != 0) {
+			obj.add(color);
+		}
+		return obj;
 	}
 
 
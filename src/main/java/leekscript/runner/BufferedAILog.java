@@ -0,0 +1,144 @@
+package leekscript.runner;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.alibaba.fastjson.JSONArray;
+
+/**
+ * Logs stockés dans un buffer circulaire de taille fixe, sans JSON côté IA.
+ * La taille des logs est comptée comme dans BasicAILog ; la conversion en JSON et l'écriture dans
+ * le Stream sont faites par un thread d'écriture partagé, dans l'ordre d'arrivée.
+ * Si le buffer est plein, l'IA attend que l'écriture libère de la place.
+ */
+public class BufferedAILog extends BasicAILog {
+
+	private static final int DEFAULT_CAPACITY = 1024;
+
+	private static final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+		var thread = new Thread(runnable, "leekscript-log-writer");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private final int capacity;
+	private final boolean[] system;
+	private final int[] types;
+	private final int[] colors;
+	private final int[] keys;
+	private final String[] messages;
+	private final String[][] parameters;
+
+	// Protégés par this
+	private int head = 0;
+	private int count = 0;
+	private boolean draining = false;
+
+	public BufferedAILog() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	public BufferedAILog(int capacity) {
+		this.capacity = capacity;
+		this.system = new boolean[capacity];
+		this.types = new int[capacity];
+		this.colors = new int[capacity];
+		this.keys = new int[capacity];
+		this.messages = new String[capacity];
+		this.parameters = new String[capacity][];
+	}
+
+	@Override
+	protected void writeSystemLog(int type, String trace, int key, String[] parameters) {
+		append(true, type, 0, key, trace, parameters);
+	}
+
+	@Override
+	protected void writeLog(int type, String message, int color) {
+		append(false, type, color, 0, message, null);
+	}
+
+	/**
+	 * Attend une place libre si le buffer est plein. Une interruption pendant l'attente ne perd pas le log :
+	 * l'attente continue et le flag d'interruption est rétabli ensuite.
+	 */
+	private synchronized void append(boolean system, int type, int color, int key, String message, String[] parameters) {
+		boolean interrupted = false;
+		while (count == capacity) {
+			try {
+				wait();
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		int i = (head + count) % capacity;
+		this.system[i] = system;
+		this.types[i] = type;
+		this.colors[i] = color;
+		this.keys[i] = key;
+		this.messages[i] = message;
+		this.parameters[i] = parameters;
+		count++;
+		if (!draining) {
+			draining = true;
+			writer.execute(this::drain);
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void drain() {
+		while (true) {
+			JSONArray obj;
+			Stream output;
+			synchronized (this) {
+				if (count == 0) {
+					draining = false;
+					notifyAll();
+					return;
+				}
+				obj = toJSON(head);
+				messages[head] = null;
+				parameters[head] = null;
+				head = (head + 1) % capacity;
+				count--;
+				output = stream;
+				notifyAll();
+			}
+			try {
+				output.write(obj);
+			} catch (RuntimeException e) {
+				// Un Stream défaillant ne doit pas bloquer les logs suivants
+				e.printStackTrace();
+			}
+		}
+	}
+
+	private JSONArray toJSON(int i) {
+		if (system[i]) {
+			return systemLogToJSON(types[i], messages[i], keys[i], parameters[i]);
+		}
+		return logToJSON(types[i], messages[i], colors[i]);
+	}
+
+	/**
+	 * Attend que tous les logs en attente aient été écrits dans le Stream.
+	 * Si le thread est interrompu, rend la main avant (le flag d'interruption est conservé).
+	 */
+	public synchronized void flush() {
+		while (count > 0 || draining) {
+			try {
+				wait();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+	}
+
+	@Override
+	public synchronized void setStream(Stream stream) {
+		this.stream = stream;
+	}
+}
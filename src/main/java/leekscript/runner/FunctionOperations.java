@@ -0,0 +1,99 @@
+package leekscript.runner;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+
+import com.alibaba.fastjson.JSONObject;
+
+/**
+ * Opérations consommées par chaque fonction et méthode d'une IA compilée avec Options.profileOperations.
+ * Inclusives : toutes les opérations entre l'entrée et la sortie de la fonction, appels compris
+ * (une seule fois pour les appels récursifs). Exclusives : sans les opérations des fonctions appelées.
+ */
+public class FunctionOperations {
+
+	private final String[] names;
+	private final long[] inclusive;
+	private final long[] exclusive;
+	private final long[] calls;
+	private final int[] depth; // Appels en cours, pour la récursivité
+
+	// Pile des appels en cours : fonction, opérations à l'entrée, opérations des fonctions appelées
+	private int[] stackFunction = new int[16];
+	private long[] stackStart = new long[16];
+	private long[] stackChildren = new long[16];
+	private int size = 0;
+
+	public FunctionOperations(String[] names) {
+		this.names = names;
+		this.inclusive = new long[names.length];
+		this.exclusive = new long[names.length];
+		this.calls = new long[names.length];
+		this.depth = new int[names.length];
+	}
+
+	public void enter(int function, long operations) {
+		if (size == stackFunction.length) {
+			stackFunction = Arrays.copyOf(stackFunction, size * 2);
+			stackStart = Arrays.copyOf(stackStart, size * 2);
+			stackChildren = Arrays.copyOf(stackChildren, size * 2);
+		}
+		stackFunction[size] = function;
+		stackStart[size] = operations;
+		stackChildren[size] = 0;
+		size++;
+		depth[function]++;
+		calls[function]++;
+	}
+
+	public void leave(int function, long operations) {
+		// Appelé dans un finally : la fonction est toujours en haut de la pile
+		if (size == 0 || stackFunction[size - 1] != function) return;
+		size--;
+		long total = operations - stackStart[size];
+		exclusive[function] += total - stackChildren[size];
+		if (--depth[function] == 0) {
+			inclusive[function] += total;
+		}
+		if (size > 0) {
+			stackChildren[size - 1] += total;
+		}
+	}
+
+	/**
+	 * Fonctions appelées au moins une fois, dans l'ordre de déclaration
+	 */
+	public LinkedHashMap<String, long[]> getOperations() {
+		var result = new LinkedHashMap<String, long[]>();
+		for (int i = 0; i < names.length; ++i) {
+			if (calls[i] == 0) continue;
+			result.put(names[i], new long[] { inclusive[i], exclusive[i], calls[i] });
+		}
+		return result;
+	}
+
+	public long getInclusive(String name) {
+		int i = Arrays.asList(names).indexOf(name);
+		return i < 0 ? 0 : inclusive[i];
+	}
+
+	public long getExclusive(String name) {
+		int i = Arrays.asList(names).indexOf(name);
+		return i < 0 ? 0 : exclusive[i];
+	}
+
+	/**
+	 * { "fonction": { "inclusive": n, "exclusive": n, "calls": n }, ... }
+	 */
+	public JSONObject toJSON() {
+		var result = new JSONObject(new LinkedHashMap<>());
+		for (var entry : getOperations().entrySet()) {
+			var o = new JSONObject(new LinkedHashMap<>());
+			o.put("inclusive", entry.getValue()[0]);
+			o.put("exclusive", entry.getValue()[1]);
+			o.put("calls", entry.getValue()[2]);
+			result.put(entry.getKey(), o);
+		}
+		return result;
+	}
+}
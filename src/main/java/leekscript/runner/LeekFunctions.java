@@ -170,7 +170,10 @@ public class LeekFunctions {
 		 */
 		method("remove", "Array", Type.ANY, new Type[] { Type.ARRAY, Type.INT });
 		method("arrayRemoveAll", "Array", Type.VOID, new Type[] { Type.ARRAY, Type.ANY }).setMinVersion(4);
-		method("count", "Array", 1, Type.INT, new Type[] { Type.ARRAY });
+		method("count", "Array", 1, new CallableVersion[] {
+			new CallableVersion(Type.INT, new Type[] { Type.ARRAY }),
+			new CallableVersion(Type.INT, new Type[] { Type.INTERVAL }),
+		});
 		method("join", "Array", Type.STRING, new Type[] { Type.ARRAY, Type.STRING });
 		method("insert", "Array", Type.VOID, new Type[] { Type.ARRAY, Type.ANY, Type.INT });
 		method("push", "Array", 2, Type.VOID, new Type[] { Type.ARRAY, Type.ANY });
@@ -187,11 +190,17 @@ public class LeekFunctions {
 			new CallableVersion(Type.ANY, new Type[] { Type.ARRAY, Type.ANY, Type.INT }), // Return int | null because of V3
 			new CallableVersion(Type.ANY, new Type[] { Type.ARRAY, Type.ANY}),
 		});
-		method("inArray", "Array", Type.BOOL, new Type[] { Type.ARRAY, Type.ANY });
+		method("inArray", "Array", new CallableVersion[] {
+			new CallableVersion(Type.BOOL, new Type[] { Type.ARRAY, Type.ANY }),
+			new CallableVersion(Type.BOOL, new Type[] { Type.INTERVAL, Type.ANY }),
+		});
 		method("reverse", "Array", Type.VOID, new Type[] { Type.ARRAY });
 		method("arrayMin", "Array", Type.ANY, new Type[] { Type.ARRAY });
 		method("arrayMax", "Array", Type.ANY, new Type[] { Type.ARRAY });
-		method("sum", "Array", Type.REAL, new Type[] { Type.ARRAY });
+		method("sum", "Array", new CallableVersion[] {
+			new CallableVersion(Type.REAL, new Type[] { Type.ARRAY }),
+			new CallableVersion(Type.REAL, new Type[] { Type.INTERVAL }),
+		});
 		method("average", "Array", Type.REAL, new Type[] { Type.ARRAY });
 		method("fill", "Array", new CallableVersion[] {
 			new CallableVersion(Type.VOID, 	new Type[] { Type.ARRAY, Type.ANY, Type.INT }),
@@ -206,13 +215,22 @@ public class LeekFunctions {
 		}).setMinVersion(4);
 		method("pushAll", "Array", Type.VOID, new Type[] { Type.ARRAY, Type.ARRAY });
 		method("assocReverse", "Array", Type.VOID, new Type[] { Type.ARRAY }).setMaxVersion(3);
-		method("arrayMap", "Array", Type.ARRAY, new Type[] { Type.ARRAY, new FunctionType(Type.ANY, 0, Type.ANY, Type.INT, Type.ARRAY) });
-		method("arrayFilter", "Array", Type.ARRAY, new Type[] { Type.ARRAY, new FunctionType(Type.BOOL, 0, Type.ANY, Type.INT, Type.ARRAY ) });
+		method("arrayMap", "Array", new CallableVersion[] {
+			new CallableVersion(Type.ARRAY, new Type[] { Type.ARRAY, new FunctionType(Type.ANY, 0, Type.ANY, Type.INT, Type.ARRAY) }),
+			new CallableVersion(Type.ARRAY, new Type[] { Type.INTERVAL, new FunctionType(Type.ANY, 0, Type.ANY, Type.INT, Type.ARRAY) }),
+		});
+		method("arrayFilter", "Array", new CallableVersion[] {
+			new CallableVersion(Type.ARRAY, new Type[] { Type.ARRAY, new FunctionType(Type.BOOL, 0, Type.ANY, Type.INT, Type.ARRAY ) }),
+			new CallableVersion(Type.ARRAY, new Type[] { Type.INTERVAL, new FunctionType(Type.BOOL, 0, Type.ANY, Type.INT, Type.ARRAY ) }),
+		});
 		method("arrayFlatten", "Array", new CallableVersion[] {
 			new CallableVersion(Type.ARRAY, new Type[] { Type.ARRAY, Type.INT }),
 			new CallableVersion(Type.ARRAY, new Type[] { Type.ARRAY }),
 		});
-		method("arrayFoldLeft", "Array", Type.ANY, new Type[] { Type.ARRAY, new FunctionType(Type.ANY, 0, Type.ANY, Type.ANY, Type.INT, Type.ARRAY), Type.ANY });
+		method("arrayFoldLeft", "Array", new CallableVersion[] {
+			new CallableVersion(Type.ANY, new Type[] { Type.ARRAY, new FunctionType(Type.ANY, 0, Type.ANY, Type.ANY, Type.INT, Type.ARRAY), Type.ANY }),
+			new CallableVersion(Type.ANY, new Type[] { Type.INTERVAL, new FunctionType(Type.ANY, 0, Type.ANY, Type.ANY, Type.INT, Type.ARRAY), Type.ANY }),
+		});
 		method("arrayFoldRight", "Array", Type.ANY, new Type[] { Type.ARRAY, new FunctionType(Type.ANY, 0, Type.ANY, Type.ANY, Type.INT, Type.ARRAY), Type.ANY });
 		method("arrayPartition", "Array", Type.ARRAY, new Type[] { Type.ARRAY, new FunctionType(Type.BOOL, 0, Type.ANY, Type.INT, Type.ARRAY) });
 		method("arrayIter", "Array", Type.VOID, new Type[] { Type.ARRAY, new FunctionType(Type.ANY, 0, Type.ANY, Type.INT, Type.ARRAY) });
@@ -283,10 +301,18 @@ public class LeekFunctions {
 		/**
 		 * Set functions
 		 */
-		method("setPut", "Set", 3, Type.BOOL, new Type[] { Type.SET, Type.ANY });
+		method("setPut", "Set", 3, new CallableVersion[] {
+			new CallableVersion(Type.BOOL, new Type[] { Type.SET, Type.ANY }),
+			new CallableVersion(Type.BOOL, new Type[] { Type.SET_INT, Type.INT }),
+			new CallableVersion(Type.BOOL, new Type[] { Type.SET_REAL, Type.REAL }),
+		});
 		method("setRemove", "Set", 2, Type.BOOL, new Type[] { Type.SET, Type.ANY });
 		method("setClear", "Set", 1, Type.SET, new Type[] { Type.SET });
-		method("setContains", "Set", 2, Type.BOOL, new Type[] { Type.SET, Type.ANY });
+		method("setContains", "Set", 2, new CallableVersion[] {
+			new CallableVersion(Type.BOOL, new Type[] { Type.SET, Type.ANY }),
+			new CallableVersion(Type.BOOL, new Type[] { Type.SET_INT, Type.INT }),
+			new CallableVersion(Type.BOOL, new Type[] { Type.SET_REAL, Type.REAL }),
+		});
 		method("setSize", "Set", 1, Type.INT, new Type[] { Type.SET });
 		method("setIsEmpty", "Set", 2, Type.BOOL, new Type[] { Type.SET });
 		method("setIsSubsetOf", "Set", Type.BOOL, new Type[] { Type.SET, Type.SET });
@@ -367,6 +393,7 @@ public class LeekFunctions {
 		 */
 		method("getOperations", "System", 1, true, Type.INT, new Type[0]);
 		method("getMaxOperations", "System", 1, true, Type.INT, new Type[0]);
+		method("getFunctionOperations", "System", 1, true, Type.ANY, new Type[0]);
 		method("getInstructionsCount", "System", 1, true, Type.INT, new Type[0]);
 		method("debug", "System", 100, true, Type.VOID, new Type[] { Type.ANY });
 		method("debugW", "System", 100, true, Type.VOID, new Type[] { Type.ANY });
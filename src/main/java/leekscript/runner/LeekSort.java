@@ -0,0 +1,124 @@
+package leekscript.runner;
+
+import java.util.Arrays;
+
+import leekscript.runner.values.FunctionLeekValue;
+
+/**
+ * Moteur de tri des tableaux.
+ *
+ * Les tableaux homogènes d'entiers, de réels ou de chaînes sont triés sans comparateur (types primitifs).
+ * Les autres passent par un tri fusion stable dont le comparateur peut lever une LeekRunException :
+ * le tri s'arrête immédiatement (limite d'opérations dans une fonction de comparaison par exemple).
+ */
+public class LeekSort {
+
+	/**
+	 * Comparateur qui peut échouer, contrairement à java.util.Comparator
+	 */
+	public interface Comparator {
+		public int compare(Object a, Object b) throws LeekRunException;
+	}
+
+	private static final int INSERTION_SORT_THRESHOLD = 16;
+
+	// Au-delà, un long n'est plus représenté exactement par un double : l'ordre des doubles peut différer
+	private static final long MAX_EXACT_LONG = 1L << 53;
+
+	/**
+	 * Tri des valeurs d'un tableau dans l'ordre naturel (croissant ou décroissant) sans comparateur,
+	 * si elles sont toutes du même type primitif.
+	 * @return false si le tableau n'est pas homogène, rien n'est alors modifié
+	 */
+	public static boolean sortPrimitive(Object[] values, boolean descending) {
+		if (values.length < 2) return true;
+		var first = values[0];
+		if (first instanceof Long) {
+			var longs = new long[values.length];
+			for (int i = 0; i < values.length; ++i) {
+				if (!(values[i] instanceof Long l) || l > MAX_EXACT_LONG || l < -MAX_EXACT_LONG) return false;
+				longs[i] = l;
+			}
+			Arrays.sort(longs);
+			for (int i = 0; i < values.length; ++i) {
+				values[descending ? values.length - 1 - i : i] = longs[i];
+			}
+			return true;
+		}
+		if (first instanceof Double) {
+			var doubles = new double[values.length];
+			for (int i = 0; i < values.length; ++i) {
+				if (!(values[i] instanceof Double d)) return false;
+				doubles[i] = d;
+			}
+			Arrays.sort(doubles);
+			for (int i = 0; i < values.length; ++i) {
+				values[descending ? values.length - 1 - i : i] = doubles[i];
+			}
+			return true;
+		}
+		if (first instanceof String) {
+			var strings = new String[values.length];
+			for (int i = 0; i < values.length; ++i) {
+				if (!(values[i] instanceof String s)) return false;
+				strings[i] = s;
+			}
+			Arrays.sort(strings);
+			for (int i = 0; i < values.length; ++i) {
+				values[descending ? values.length - 1 - i : i] = strings[i];
+			}
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Tri fusion stable. Si le comparateur lève une exception, elle est propagée
+	 * sans finir le tri et le tableau est dans un état intermédiaire.
+	 */
+	public static void mergeSort(Object[] values, Comparator comparator) throws LeekRunException {
+		if (values.length < 2) return;
+		var buffer = values.clone();
+		mergeSort(buffer, values, 0, values.length, comparator);
+	}
+
+	// Trie src[from, to[ dans dst, src et dst ayant le même contenu au départ
+	private static void mergeSort(Object[] src, Object[] dst, int from, int to, Comparator comparator) throws LeekRunException {
+		int length = to - from;
+		if (length <= INSERTION_SORT_THRESHOLD) {
+			for (int i = from + 1; i < to; ++i) {
+				var value = dst[i];
+				int j = i - 1;
+				while (j >= from && comparator.compare(dst[j], value) > 0) {
+					dst[j + 1] = dst[j];
+					j--;
+				}
+				dst[j + 1] = value;
+			}
+			return;
+		}
+		int middle = (from + to) >>> 1;
+		mergeSort(dst, src, from, middle, comparator);
+		mergeSort(dst, src, middle, to, comparator);
+
+		// Déjà dans l'ordre
+		if (comparator.compare(src[middle - 1], src[middle]) <= 0) {
+			System.arraycopy(src, from, dst, from, length);
+			return;
+		}
+		for (int i = from, p = from, q = middle; i < to; ++i) {
+			if (q >= to || (p < middle && comparator.compare(src[p], src[q]) <= 0)) {
+				dst[i] = src[p++];
+			} else {
+				dst[i] = src[q++];
+			}
+		}
+	}
+
+	/**
+	 * Comparateur appelant une fonction LeekScript (a, b) -> signe
+	 */
+	public static Comparator function(AI ai, FunctionLeekValue<?> function) {
+		return (a, b) -> ai.signum(function.run2(ai, null, a, b));
+	}
+}
@@ -21,18 +21,14 @@ public class LeekValueComparator {
 
 		@Override
 		public int compare(Object v1, Object v2) {
-			try {
-				if (mOrder == SORT_ASC)
-					return compareAsc(v1, v2);
-				else if (mOrder == SORT_DESC)
-					return compareAsc(v2, v1);
-			} catch (LeekRunException e) {
-				// The operation limit may be exceeded here, but it's not too long
-			}
+			if (mOrder == SORT_ASC)
+				return compareAsc(v1, v2);
+			else if (mOrder == SORT_DESC)
+				return compareAsc(v2, v1);
 			return 0;
 		}
 
-		public int compareAsc(Object v1, Object v2) throws LeekRunException {
+		public int compareAsc(Object v1, Object v2) {
 			if (v1 == null) {
 				if (v2 == null) return 0;
 				return -1;
@@ -115,6 +115,97 @@ public class LeekValueManager {
 		return null;
 	}
 
+	/**
+	 * Long.parseLong sans exception : renvoie fallback si s n'est pas un entier valide
+	 */
+	public static long parseLong(String s, long fallback) {
+		int length = s.length();
+		if (length == 0) return fallback;
+		int i = 0;
+		boolean negative = false;
+		char first = s.charAt(0);
+		if (first == '-' || first == '+') {
+			if (length == 1) return fallback;
+			negative = first == '-';
+			i = 1;
+		}
+		// Accumulation en négatif comme Long.parseLong, pour atteindre Long.MIN_VALUE
+		long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+		long multmin = limit / 10;
+		long result = 0;
+		for (; i < length; ++i) {
+			int digit = Character.digit(s.charAt(i), 10);
+			if (digit < 0 || result < multmin) return fallback;
+			result *= 10;
+			if (result < limit + digit) return fallback;
+			result -= digit;
+		}
+		return negative ? result : -result;
+	}
+
+	/**
+	 * Integer.parseInt sans exception : renvoie fallback si s n'est pas un entier 32 bits valide
+	 */
+	public static long parseInt(String s, long fallback) {
+		long result = parseLong(s, Long.MIN_VALUE);
+		if (result < Integer.MIN_VALUE || result > Integer.MAX_VALUE) return fallback;
+		return result;
+	}
+
+	/**
+	 * Double.parseDouble sans exception : renvoie fallback si s n'est pas un nombre valide
+	 */
+	public static double parseDouble(String s, double fallback) {
+		return isReal(s) ? Double.parseDouble(s) : fallback;
+	}
+
+	/**
+	 * Vrai si Double.parseDouble(s) réussit. Seule la forme décimale est vérifiée ici,
+	 * les formes rares (NaN, Infinity, hexadécimal) sont confiées à Double.parseDouble.
+	 */
+	public static boolean isReal(String s) {
+		// Double.parseDouble ignore les espaces au début et à la fin comme String.trim()
+		int start = 0, end = s.length();
+		while (start < end && s.charAt(start) <= ' ') start++;
+		while (end > start && s.charAt(end - 1) <= ' ') end--;
+		int i = start;
+		if (i < end && (s.charAt(i) == '-' || s.charAt(i) == '+')) i++;
+		if (i < end) {
+			char c = s.charAt(i);
+			if (c == 'N' || c == 'I' || (c == '0' && i + 1 < end && (s.charAt(i + 1) == 'x' || s.charAt(i + 1) == 'X'))) {
+				try {
+					Double.parseDouble(s);
+					return true;
+				} catch (NumberFormatException e) {
+					return false;
+				}
+			}
+		}
+		int digits = 0;
+		while (i < end && isDigit(s.charAt(i))) { i++; digits++; }
+		if (i < end && s.charAt(i) == '.') {
+			i++;
+			while (i < end && isDigit(s.charAt(i))) { i++; digits++; }
+		}
+		if (digits == 0) return false;
+		if (i < end && (s.charAt(i) == 'e' || s.charAt(i) == 'E')) {
+			i++;
+			if (i < end && (s.charAt(i) == '-' || s.charAt(i) == '+')) i++;
+			int exponent = 0;
+			while (i < end && isDigit(s.charAt(i))) { i++; exponent++; }
+			if (exponent == 0) return false;
+		}
+		if (i < end) {
+			char c = s.charAt(i);
+			if (c == 'f' || c == 'F' || c == 'd' || c == 'D') i++;
+		}
+		return i == end;
+	}
+
+	private static boolean isDigit(char c) {
+		return c >= '0' && c <= '9';
+	}
+
 	public static int getType(Object v) {
 		if (v == null) return LeekValueType.NULL;
 		if (v instanceof Boolean) return LeekValueType.BOOLEAN;
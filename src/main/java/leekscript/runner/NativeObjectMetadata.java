@@ -0,0 +1,114 @@
+package leekscript.runner;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+
+/**
+ * Métadonnées d'une classe utilisateur compilée (u_*), calculées une seule fois par classe :
+ * noms et accesseurs des champs dans l'ordre d'affichage, clés publiques et méthode string().
+ */
+public class NativeObjectMetadata {
+
+	private static final ClassValue<NativeObjectMetadata> CACHE = new ClassValue<>() {
+		@Override
+		protected NativeObjectMetadata computeValue(Class<?> type) {
+			return new NativeObjectMetadata(type);
+		}
+	};
+
+	public static NativeObjectMetadata get(Class<?> clazz) {
+		return CACHE.get(clazz);
+	}
+
+	private final String prefix;
+	private final String[] keys;
+	private final String[] fieldNames;
+	private final VarHandle[] fields;
+	private final MethodHandle stringMethod;
+
+	private NativeObjectMetadata(Class<?> clazz) {
+
+		var lookup = MethodHandles.lookup();
+
+		var name = clazz.getSimpleName();
+		this.prefix = name.equals("Object") ? null : name.substring(2);
+
+		var publicFields = clazz.getFields();
+		this.keys = new String[publicFields.length];
+		for (int i = 0; i < publicFields.length; ++i) {
+			this.keys[i] = publicFields[i].getName();
+		}
+
+		// Champs déclarés, de la classe parente vers la classe fille
+		var classes = new ArrayList<Class<?>>();
+		Class<?> current = clazz;
+		while (current != null && current != AI.NativeObjectLeekValue.class) {
+			classes.add(0, current);
+			current = current.getSuperclass();
+		}
+		var declared = new ArrayList<Field>();
+		for (var c : classes) {
+			for (var f : c.getDeclaredFields()) {
+				if (f.isSynthetic()) continue;
+				declared.add(f);
+			}
+		}
+		this.fieldNames = new String[declared.size()];
+		this.fields = new VarHandle[declared.size()];
+		for (int i = 0; i < declared.size(); ++i) {
+			var f = declared.get(i);
+			this.fieldNames[i] = f.getName();
+			try {
+				f.setAccessible(true);
+				this.fields[i] = lookup.unreflectVarHandle(f);
+			} catch (IllegalAccessException | RuntimeException e) {
+				this.fields[i] = null;
+			}
+		}
+
+		MethodHandle method = null;
+		try {
+			var m = clazz.getMethod("u_string");
+			m.setAccessible(true);
+			method = lookup.unreflect(m);
+		} catch (NoSuchMethodException | IllegalAccessException | RuntimeException e) {
+			// Pas de méthode string(), pas grave
+		}
+		this.stringMethod = method;
+	}
+
+	/**
+	 * Nom de la classe affiché devant l'objet, null pour la classe Object
+	 */
+	public String getPrefix() {
+		return prefix;
+	}
+
+	public String[] getKeys() {
+		return keys;
+	}
+
+	public int size() {
+		return keys.length;
+	}
+
+	public int fieldCount() {
+		return fields.length;
+	}
+
+	public String getFieldName(int i) {
+		return fieldNames[i];
+	}
+
+	public Object getField(Object object, int i) {
+		var handle = fields[i];
+		return handle == null ? null : handle.get(object);
+	}
+
+	public MethodHandle getStringMethod() {
+		return stringMethod;
+	}
+}
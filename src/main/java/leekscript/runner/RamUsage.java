@@ -1,12 +1,23 @@
 package leekscript.runner;
 
-public class RamUsage {
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+
+/**
+ * Mémoire utilisée par une valeur et identifiant de cette valeur (pris à sa création, dans l'ordre des allocations).
+ * C'est aussi la référence faible vers la valeur : quand elle est collectée, sa RAM est libérée.
+ */
+public class RamUsage extends WeakReference<Object> {
+
 	private int value;
+	private final int id;
 
-	public RamUsage(int value) {
+	public RamUsage(Object referent, int id, int value, ReferenceQueue<? super Object> queue) {
+		super(referent, queue);
+		this.id = id;
 		this.value = value;
 	}
-	
+
 	public void add(int ram) {
 		value += ram;
 	}
@@ -14,8 +25,16 @@ public class RamUsage {
 	public void remove(int ram) {
 		value -= ram;
 	}
-	
+
 	public int getValue() {
 		return value;
 	}
+
+	public int getId() {
+		return id;
+	}
+
+	public void finalizeResources(AI ai) {
+		ai.freeRAM(this, value);
+	}
 }
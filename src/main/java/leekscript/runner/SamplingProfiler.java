@@ -0,0 +1,177 @@
+package leekscript.runner;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.TreeMap;
+
+import leekscript.compiler.LineMapping;
+
+/**
+ * Profileur par échantillonnage d'une IA : relève périodiquement la pile du thread qui l'exécute,
+ * garde les frames des classes AI_* et les traduit en fonction + fichier:ligne LeekScript.
+ *
+ *   var profiler = new SamplingProfiler(ai, Thread.currentThread(), 1000);
+ *   profiler.start();
+ *   ai.runIA();
+ *   profiler.stop();
+ *   profiler.writeCollapsed(writer); // Format "collapsed stacks" de flamegraph.pl
+ */
+public class SamplingProfiler {
+
+	private final AI ai;
+	private final Thread target;
+	private final long intervalMicros;
+
+	// Résultats, protégés par this
+	private final HashMap<String, Long> stacks = new HashMap<>();
+	private final HashMap<String, Long> selfSamples = new HashMap<>();
+	private final HashMap<String, Long> totalSamples = new HashMap<>();
+	private long samples = 0;
+
+	private volatile boolean running = false;
+	private Thread sampler;
+
+	public SamplingProfiler(AI ai, Thread target, long intervalMicros) {
+		this.ai = ai;
+		this.target = target;
+		this.intervalMicros = Math.max(1, intervalMicros);
+	}
+
+	public synchronized void start() {
+		if (running) return;
+		running = true;
+		sampler = new Thread(this::loop, "leekscript-profiler");
+		sampler.setDaemon(true);
+		sampler.start();
+	}
+
+	public void stop() {
+		Thread thread;
+		synchronized (this) {
+			running = false;
+			thread = sampler;
+			sampler = null;
+		}
+		if (thread != null) {
+			thread.interrupt();
+			try {
+				thread.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	private void loop() {
+		while (running) {
+			try {
+				Thread.sleep(intervalMicros / 1000, (int) (intervalMicros % 1000) * 1000);
+			} catch (InterruptedException e) {
+				return;
+			}
+			if (!running) return;
+			sample(target.getStackTrace());
+		}
+	}
+
+	/**
+	 * Ajoute un échantillon à partir d'une pile Java (frame la plus profonde en premier)
+	 */
+	public void sample(StackTraceElement[] trace) {
+		var frames = new ArrayList<String>();
+		for (var element : trace) {
+			if (!element.getClassName().startsWith("AI_")) continue;
+			var frame = frameName(element);
+			if (frame != null) frames.add(frame);
+		}
+		if (frames.isEmpty()) return;
+		Collections.reverse(frames); // Racine en premier
+
+		synchronized (this) {
+			samples++;
+			stacks.merge(String.join(";", frames), 1l, Long::sum);
+			selfSamples.merge(frames.get(frames.size() - 1), 1l, Long::sum);
+			// Une fonction récursive ne compte qu'une fois dans le total
+			for (var frame : new HashSet<>(frames)) {
+				totalSamples.merge(frame, 1l, Long::sum);
+			}
+		}
+	}
+
+	/**
+	 * "fonction (fichier:ligne)", ou null si la ligne Java ne correspond à aucune ligne LeekScript
+	 */
+	private String frameName(StackTraceElement element) {
+		var mapping = lineMapping(element.getLineNumber());
+		if (mapping == null) return null;
+		var files = ai.getErrorFiles();
+		var f = mapping.getAI();
+		String file = files != null && f < files.length ? files[f] : "?";
+		return functionName(element) + " (" + file + ":" + mapping.getLeekScriptLine() + ")";
+	}
+
+	private LineMapping lineMapping(int javaLine) {
+		var mapping = ai.getLineMapping(javaLine);
+		if (mapping != null) return mapping;
+		// Sans cache, pas de fichier .lines : table de l'IA compilée dans ce processus
+		var file = ai.getFile();
+		if (file != null && file.getCompiledCode() != null) {
+			return file.getCompiledCode().getLinesMap().get(javaLine);
+		}
+		return null;
+	}
+
+	private static String functionName(StackTraceElement element) {
+		var method = element.getMethodName();
+		if (method.equals("runIA")) return "main";
+		if (method.startsWith("f_")) return method.substring(2);
+		if (method.startsWith("u_")) {
+			// Méthode u_<nom> d'une classe u_<Classe>
+			var name = method.substring(2);
+			var className = element.getClassName();
+			int inner = className.lastIndexOf("$u_");
+			return inner >= 0 ? className.substring(inner + 3) + "." + name : name;
+		}
+		if (method.startsWith("run")) return "<anonymous>";
+		return method;
+	}
+
+	public synchronized long getSamples() {
+		return samples;
+	}
+
+	/**
+	 * Échantillons où la frame est la plus profonde de la pile LeekScript
+	 */
+	public synchronized Map<String, Long> getSelfSamples() {
+		return new HashMap<>(selfSamples);
+	}
+
+	/**
+	 * Échantillons où la frame apparaît dans la pile LeekScript
+	 */
+	public synchronized Map<String, Long> getTotalSamples() {
+		return new HashMap<>(totalSamples);
+	}
+
+	/**
+	 * Une ligne par pile distincte, "racine;...;frame nombre", triées
+	 */
+	public synchronized String toCollapsed() {
+		var sb = new StringBuilder();
+		for (var entry : new TreeMap<>(stacks).entrySet()) {
+			sb.append(entry.getKey()).append(' ').append(entry.getValue()).append('\n');
+		}
+		return sb.toString();
+	}
+
+	public void writeCollapsed(Writer writer) throws IOException {
+		writer.write(toCollapsed());
+		writer.flush();
+	}
+}
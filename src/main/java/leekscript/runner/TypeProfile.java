@@ -0,0 +1,155 @@
+package leekscript.runner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
+
+import leekscript.runner.AI.NativeObjectLeekValue;
+import leekscript.runner.values.ArrayLeekValue;
+import leekscript.runner.values.BigIntegerValue;
+import leekscript.runner.values.Box;
+import leekscript.runner.values.ClassLeekValue;
+import leekscript.runner.values.FunctionLeekValue;
+import leekscript.runner.values.IntervalLeekValue;
+import leekscript.runner.values.LegacyArrayLeekValue;
+import leekscript.runner.values.MapLeekValue;
+import leekscript.runner.values.ObjectLeekValue;
+import leekscript.runner.values.SetLeekValue;
+
+/**
+ * Types observés à chaque opération dynamique d'une IA compilée avec Options.profileTypes.
+ * Chaque site (opération + ligne) a un histogramme des paires de types de ses opérandes,
+ * alloué au premier passage.
+ */
+public class TypeProfile {
+
+	private static final String[] KINDS = { "none", "null", "bool", "int", "real", "bigint", "string", "array", "legacy_array", "map", "set", "interval", "object", "class", "function", "other" };
+	private static final int KIND_COUNT = 16; // KINDS.length, puissance de 2
+
+	private final String[] operations;
+	private final int[] locations; // fichier, ligne pour chaque site
+	private final String[] files;
+	private final long[][] counts;
+
+	// Types des opérandes gauches en attente de leur opérande droite (site << 4 | type)
+	private int[] pending = new int[16];
+	private int pendingSize = 0;
+
+	/**
+	 * sites : généré par JavaWriter.writeProfileSites, "operation fichier ligne" séparés par des \n,
+	 * découpé en plusieurs chaînes pour respecter la taille maximale d'une constante Java.
+	 */
+	public TypeProfile(String[] sites, String[] files) {
+		var operations = new ArrayList<String>();
+		var locations = new ArrayList<Integer>();
+		for (var chunk : sites) {
+			for (var site : chunk.split("\n")) {
+				if (site.isEmpty()) continue;
+				var parts = site.split(" ");
+				operations.add(parts[0]);
+				locations.add(Integer.parseInt(parts[1]));
+				locations.add(Integer.parseInt(parts[2]));
+			}
+		}
+		this.operations = operations.toArray(new String[0]);
+		this.locations = locations.stream().mapToInt(Integer::intValue).toArray();
+		this.files = files == null ? new String[0] : files;
+		this.counts = new long[this.operations.length][];
+	}
+
+	public static int kind(Object value) {
+		if (value == null) return 1;
+		if (value instanceof Boolean) return 2;
+		if (value instanceof Long) return 3;
+		if (value instanceof Double) return 4;
+		if (value instanceof BigIntegerValue) return 5;
+		if (value instanceof String) return 6;
+		if (value instanceof ArrayLeekValue) return 7;
+		if (value instanceof LegacyArrayLeekValue) return 8;
+		if (value instanceof MapLeekValue) return 9;
+		if (value instanceof SetLeekValue) return 10;
+		if (value instanceof IntervalLeekValue) return 11;
+		if (value instanceof ObjectLeekValue || value instanceof NativeObjectLeekValue) return 12;
+		if (value instanceof ClassLeekValue) return 13;
+		if (value instanceof FunctionLeekValue) return 14;
+		if (value instanceof Box box) return kind(box.get());
+		return 15;
+	}
+
+	public void record(int site, Object value) {
+		record(site, kind(value), 0);
+	}
+
+	/**
+	 * Opérande gauche : son type est gardé jusqu'à l'évaluation de l'opérande droite.
+	 * Les opérations imbriquées dans l'opérande droite sont empilées au-dessus.
+	 */
+	public void left(int site, Object value) {
+		if (pendingSize == pending.length) {
+			pending = Arrays.copyOf(pending, pendingSize * 2);
+		}
+		pending[pendingSize++] = site << 4 | kind(value);
+	}
+
+	public void right(int site, Object value) {
+		// Une exception dans une opérande droite peut laisser des opérandes gauches orphelines
+		while (pendingSize > 0) {
+			int entry = pending[--pendingSize];
+			if (entry >>> 4 == site) {
+				record(site, entry & (KIND_COUNT - 1), kind(value));
+				return;
+			}
+		}
+		record(site, 0, kind(value));
+	}
+
+	private void record(int site, int x, int y) {
+		var histogram = counts[site];
+		if (histogram == null) {
+			histogram = counts[site] = new long[KIND_COUNT * KIND_COUNT];
+		}
+		histogram[x * KIND_COUNT + y]++;
+	}
+
+	public long count(int site) {
+		long total = 0;
+		if (counts[site] != null) {
+			for (long c : counts[site]) total += c;
+		}
+		return total;
+	}
+
+	/**
+	 * { "fichier:ligne": [{ "operation": "add", "types": { "int, real": 12, ... } }, ...] }
+	 * Seuls les sites exécutés au moins une fois apparaissent.
+	 */
+	public JSONObject toJSON() {
+		var result = new JSONObject(new LinkedHashMap<>());
+		for (int site = 0; site < operations.length; ++site) {
+			var histogram = counts[site];
+			if (histogram == null) continue;
+			var types = new JSONObject(new LinkedHashMap<>());
+			for (int i = 0; i < histogram.length; ++i) {
+				if (histogram[i] == 0) continue;
+				int x = i / KIND_COUNT, y = i % KIND_COUNT;
+				types.put(y == 0 ? KINDS[x] : KINDS[x] + ", " + KINDS[y], histogram[i]);
+			}
+			var entry = new JSONObject(new LinkedHashMap<>());
+			entry.put("operation", operations[site]);
+			entry.put("types", types);
+
+			int file = locations[site * 2];
+			var key = (file < files.length ? files[file] : "?") + ":" + locations[site * 2 + 1];
+			var sites = result.getJSONArray(key);
+			if (sites == null) {
+				sites = new JSONArray();
+				result.put(key, sites);
+			}
+			sites.add(entry);
+		}
+		return result;
+	}
+}
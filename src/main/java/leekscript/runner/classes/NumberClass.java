@@ -181,9 +181,9 @@ public class NumberClass {
 
 	public static long randInt(AI ai, long a, long b) {
 		if (a > b)
-			return (long) ai.getRandom().getInt((int) b, (int) a - 1);
+			return ai.getRandom().getLong(b, a - 1);
 		else
-			return (long) ai.getRandom().getInt((int) a, (int) b - 1);
+			return ai.getRandom().getLong(a, b - 1);
 	}
 
 	public static double randFloat(AI ai, double a, double b) {
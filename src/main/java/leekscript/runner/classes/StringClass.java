@@ -1,6 +1,8 @@
 package leekscript.runner.classes;
 
-import java.util.regex.Matcher;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.regex.Pattern;
 
 import leekscript.runner.AI;
@@ -10,6 +12,8 @@ import leekscript.runner.values.LegacyArrayLeekValue;
 
 public class StringClass {
 
+	private static final Pattern EMPTY_DELIMITER = Pattern.compile(Pattern.quote(""));
+
 	public static String charAt(AI ai, String string, long index) {
 		if (index < 0 || index >= string.length())
 			return null;
@@ -51,7 +55,7 @@ public class StringClass {
 
 	public static String replace(AI ai, String string, String search, String replace) throws LeekRunException {
 		ai.ops(Math.max(1, string.length() * 2));
-		return string.replaceAll(Pattern.quote(search), Matcher.quoteReplacement(replace));
+		return string.replace(search, replace);
 	}
 
 	public static long indexOf(AI ai, String string, String needle) throws LeekRunException {
@@ -76,7 +80,7 @@ public class StringClass {
 	public static LegacyArrayLeekValue split_v1_3(AI ai, String string, String delimiter, long limit) throws LeekRunException {
 		ai.ops(1 + string.length());
 		var result = new LegacyArrayLeekValue(ai);
-		for (var element : string.split(Pattern.quote(delimiter), (int) limit)) {
+		for (var element : split(string, delimiter, (int) limit)) {
 			result.pushNoClone(ai, element);
 		}
 		return result;
@@ -89,12 +93,36 @@ public class StringClass {
 	public static ArrayLeekValue split(AI ai, String string, String delimiter, long limit) throws LeekRunException {
 		ai.ops(1 + string.length());
 		var result = new ArrayLeekValue(ai);
-		for (var element : string.split(Pattern.quote(delimiter), (int) limit)) {
+		for (var element : split(string, delimiter, (int) limit)) {
 			result.pushNoClone(ai, element);
 		}
 		return result;
 	}
 
+	/**
+	 * string.split(Pattern.quote(delimiter), limit) sans expression régulière
+	 */
+	private static List<String> split(String string, String delimiter, int limit) {
+		if (delimiter.isEmpty()) {
+			// Correspondances vides à chaque position : cas rare, laissé à l'expression régulière
+			return Arrays.asList(EMPTY_DELIMITER.split(string, limit));
+		}
+		var result = new ArrayList<String>();
+		int start = 0, index;
+		while ((limit <= 0 || result.size() < limit - 1) && (index = string.indexOf(delimiter, start)) >= 0) {
+			result.add(string.substring(start, index));
+			start = index + delimiter.length();
+		}
+		result.add(string.substring(start));
+		if (limit == 0) {
+			int size = result.size();
+			while (size > 0 && result.get(size - 1).isEmpty()) size--;
+			// Comme String.split, une chaîne sans délimiteur est renvoyée telle quelle
+			if (start > 0) return result.subList(0, size);
+		}
+		return result;
+	}
+
 	public static String toLower(AI ai, String string) throws LeekRunException {
 		ai.ops(1 + string.length());
 		return string.toLowerCase();
@@ -1,7 +1,7 @@
 package leekscript.runner.classes;
 
-import java.text.DateFormat;
-import java.text.SimpleDateFormat;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 
 import leekscript.AILog;
 import leekscript.runner.AI;
@@ -9,6 +9,10 @@ import leekscript.runner.LeekRunException;
 
 public class SystemClass {
 
+	// DateTimeFormatter est immuable et partageable entre les threads, contrairement à SimpleDateFormat
+	private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy").withZone(ZoneId.systemDefault());
+	private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss").withZone(ZoneId.systemDefault());
+
 	public static long getOperations(AI ai) {
 		return (long) ai.getOperations();
 	}
@@ -17,6 +21,25 @@ public class SystemClass {
 		return (long) ai.getMaxOperations();
 	}
 
+	/**
+	 * [fonction : [opérations inclusives, exclusives, appels]], vide sans Options.profileOperations
+	 */
+	public static Object getFunctionOperations(AI ai) throws LeekRunException {
+		var result = ai.newMap(ai);
+		var operations = ai.getFunctionOperations();
+		if (operations != null) {
+			for (var entry : operations.getOperations().entrySet()) {
+				var values = ai.newArray();
+				for (var value : entry.getValue()) {
+					values.pushNoClone(ai, value);
+				}
+				result.set(ai, entry.getKey(), values);
+			}
+		}
+		ai.ops(result.size());
+		return result;
+	}
+
 	public static long getUsedRAM(AI ai) {
 		return (long) ai.getUsedRAM() * 8;
 	}
@@ -58,13 +81,11 @@ public class SystemClass {
 	}
 
 	public static String getDate(AI ai) {
-		DateFormat df = new SimpleDateFormat("dd/MM/yyyy");
-		return df.format(ai.getDate()).toString();
+		return DATE_FORMAT.format(ai.getDate().toInstant());
 	}
 
 	public static String getTime(AI ai) {
-		DateFormat df = new SimpleDateFormat("HH:mm:ss");
-		return df.format(ai.getDate()).toString();
+		return TIME_FORMAT.format(ai.getDate().toInstant());
 	}
 
 	public static long getTimestamp(AI ai) {
@@ -0,0 +1,243 @@
+package leekscript.runner.values;
+
+import leekscript.runner.AI;
+import leekscript.runner.LeekRunException;
+
+/**
+ * Box d'une variable locale string à laquelle on concatène (s += x en instruction), créée seulement
+ * pour ces déclarations (LeekVariableDeclarationInstruction.setAccumulator). Les concaténations sont
+ * ajoutées à un StringBuilder ; les autres opérations reconstruisent d'abord la chaîne.
+ */
+public class AccumulatorBox<T> extends Box<T> {
+
+	// Tant que mBuffer existe il contient la chaîne, mValue n'est reconstruite à partir de lui qu'à la lecture (mStale)
+	private StringBuilder mBuffer = null;
+	private boolean mStale = false;
+
+	public AccumulatorBox(AI ai, Object value) throws LeekRunException {
+		super(ai, value);
+	}
+
+	public AccumulatorBox(AI ai, Object value, int ops) throws LeekRunException {
+		super(ai, value, ops);
+	}
+
+	@Override
+	public T get() {
+		if (mStale) {
+			mValue = mBuffer.toString();
+			mStale = false;
+		}
+		return super.get();
+	}
+
+	private void unbuffer() {
+		if (mBuffer != null) {
+			get();
+			mBuffer = null;
+		}
+	}
+
+	/**
+	 * x += val : la chaîne est ajoutée au StringBuilder, avec le même coût que add() : O(1) amorti au lieu d'une copie.
+	 * Sinon (valeur null), même calcul que pour une variable locale simple.
+	 */
+	public void append_eq(Object val) throws LeekRunException {
+		if (mBuffer == null && !(mValue instanceof String)) {
+			mValue = mUAI.add_eq(mValue, val);
+			return;
+		}
+		var buffer = mBuffer;
+		if (buffer == null) {
+			buffer = new StringBuilder((String) mValue);
+		}
+		int length = buffer.length();
+		var string = mUAI.string(val);
+		mUAI.ops(length + string.length());
+		mBuffer = buffer.append(string);
+		mStale = true;
+	}
+
+	@Override
+	public Object set(Object value) throws LeekRunException {
+		mBuffer = null;
+		mStale = false;
+		return super.set(value);
+	}
+
+	@Override
+	public Object setRef(Object value) throws LeekRunException {
+		mBuffer = null;
+		mStale = false;
+		return super.setRef(value);
+	}
+
+	@Override
+	public void initGlobal(Object value) throws LeekRunException {
+		mBuffer = null;
+		mStale = false;
+		super.initGlobal(value);
+	}
+
+	@Override
+	public T increment() throws LeekRunException {
+		unbuffer();
+		return super.increment();
+	}
+
+	@Override
+	public T decrement() throws LeekRunException {
+		unbuffer();
+		return super.decrement();
+	}
+
+	@Override
+	public T pre_increment() throws LeekRunException {
+		unbuffer();
+		return super.pre_increment();
+	}
+
+	@Override
+	public T pre_decrement() throws LeekRunException {
+		unbuffer();
+		return super.pre_decrement();
+	}
+
+	@Override
+	public Object not() throws LeekRunException {
+		unbuffer();
+		return super.not();
+	}
+
+	@Override
+	public Object opposite() throws LeekRunException {
+		unbuffer();
+		return super.opposite();
+	}
+
+	@Override
+	public Object add_eq(Object val) throws LeekRunException {
+		unbuffer();
+		return super.add_eq(val);
+	}
+
+	@Override
+	public Object sub_eq(Object val) throws LeekRunException {
+		unbuffer();
+		return super.sub_eq(val);
+	}
+
+	@Override
+	public Object mul_eq(Object val) throws LeekRunException {
+		unbuffer();
+		return super.mul_eq(val);
+	}
+
+	@Override
+	public Object pow_eq(Object val) throws LeekRunException {
+		unbuffer();
+		return super.pow_eq(val);
+	}
+
+	@Override
+	public Number band_eq(Object val) throws LeekRunException {
+		unbuffer();
+		return super.band_eq(val);
+	}
+
+	@Override
+	public Number bor_eq(Object val) throws LeekRunException {
+		unbuffer();
+		return super.bor_eq(val);
+	}
+
+	@Override
+	public Number bxor_eq(Object val) throws LeekRunException {
+		unbuffer();
+		return super.bxor_eq(val);
+	}
+
+	@Override
+	public Number shl_eq(Object val) throws LeekRunException {
+		unbuffer();
+		return super.shl_eq(val);
+	}
+
+	@Override
+	public Number shr_eq(Object val) throws LeekRunException {
+		unbuffer();
+		return super.shr_eq(val);
+	}
+
+	@Override
+	public Number ushr_eq(Object val) throws LeekRunException {
+		unbuffer();
+		return super.ushr_eq(val);
+	}
+
+	@Override
+	public Number div_eq(Object val) throws LeekRunException {
+		unbuffer();
+		return super.div_eq(val);
+	}
+
+	@Override
+	public Object div_v1_eq(Object val) throws LeekRunException {
+		unbuffer();
+		return super.div_v1_eq(val);
+	}
+
+	@Override
+	public Number intdiv_eq(Object val) throws LeekRunException {
+		unbuffer();
+		return super.intdiv_eq(val);
+	}
+
+	@Override
+	public Object mod_eq(Object val) throws LeekRunException {
+		unbuffer();
+		return super.mod_eq(val);
+	}
+
+	@Override
+	public Object get(Object index, ClassLeekValue fromClass) throws LeekRunException {
+		unbuffer();
+		return super.get(index, fromClass);
+	}
+
+	@Override
+	public Box getOrCreate(Object index) throws LeekRunException {
+		unbuffer();
+		return super.getOrCreate(index);
+	}
+
+	@Override
+	public Object getField(String field, ClassLeekValue fromClass) throws LeekRunException {
+		unbuffer();
+		return super.getField(field, fromClass);
+	}
+
+	@Override
+	public Box getFieldL(String field) throws LeekRunException {
+		unbuffer();
+		return super.getFieldL(field);
+	}
+
+	@Override
+	public Object put(AI ai, Object key, Object value) throws LeekRunException {
+		unbuffer();
+		return super.put(ai, key, value);
+	}
+
+	@Override
+	public Object execute(Object... arguments) throws LeekRunException {
+		unbuffer();
+		return super.execute(arguments);
+	}
+
+	@Override
+	public String toString() {
+		unbuffer();
+		return super.toString();
+	}
+}
@@ -3,11 +3,10 @@ package leekscript.runner.values;
 import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
 import java.util.Set;
 import java.util.Map.Entry;
 
@@ -17,6 +16,7 @@ import leekscript.AILog;
 import leekscript.runner.AI;
 import leekscript.runner.LeekOperations;
 import leekscript.runner.LeekRunException;
+import leekscript.runner.LeekSort;
 import leekscript.runner.LeekValueComparator;
 import leekscript.runner.LeekValueManager;
 import leekscript.runner.RamUsage;
@@ -32,7 +32,7 @@ public class ArrayLeekValue extends ArrayList<Object> implements GenericArrayLee
 	public final static int DESC = 1;
 	public final static int RANDOM = 2;
 
-	private static class ElementComparator implements Comparator<Object> {
+	private static class ElementComparator implements LeekSort.Comparator {
 
 		private final int mOrder;
 
@@ -45,18 +45,14 @@ public class ArrayLeekValue extends ArrayList<Object> implements GenericArrayLee
 
 		@Override
 		public int compare(Object v1, Object v2) {
-			try {
-				if (mOrder == SORT_ASC)
-					return compareAsc(v1, v2);
-				else if (mOrder == SORT_DESC)
-					return compareAsc(v2, v1);
-			} catch (Exception e) {
-				e.printStackTrace();
-			}
+			if (mOrder == SORT_ASC)
+				return compareAsc(v1, v2);
+			else if (mOrder == SORT_DESC)
+				return compareAsc(v2, v1);
 			return 0;
 		}
 
-		public int compareAsc(Object v1, Object v2) throws LeekRunException {
+		public int compareAsc(Object v1, Object v2) {
 			var type1 = LeekValueManager.getType(v1);
 			var type2 = LeekValueManager.getType(v2);
 			if (type1 != type2)
@@ -104,41 +100,61 @@ public class ArrayLeekValue extends ArrayList<Object> implements GenericArrayLee
 		}
 	}
 
+	public static class ArrayCursor implements ForeachCursor {
+
+		private final ArrayLeekValue array;
+		private int i = -1;
+
+		public ArrayCursor(ArrayLeekValue array) {
+			this.array = array;
+		}
+
+		@Override
+		public boolean next() {
+			return ++i < array.size();
+		}
+
+		@Override
+		public Object key() {
+			return (long) i;
+		}
+
+		@Override
+		public Object value() {
+			return array.get(i);
+		}
+	}
+
 	private final AI ai;
-	public final int id;
 	private RamUsage ram;
 
 	public ArrayLeekValue(AI ai) {
 		this.ai = ai;
-		this.id = ai.getNextObjectID();
 		try {
-			this.ram = ai.allocateRAM(this, 0, false);
+			this.ram = ai.allocateRAM(this, ai.getNextObjectID(), 0, false);
 		} catch (LeekRunException e) {}
 	}
 
 	public ArrayLeekValue(AI ai, int capacity) {
 		super(Math.min(MAX_SIZE, capacity));
 		this.ai = ai;
-		this.id = ai.getNextObjectID();
 		try {
-			this.ram = ai.allocateRAM(this, 0, false);
+			this.ram = ai.allocateRAM(this, ai.getNextObjectID(), 0, false);
 		} catch (LeekRunException e) {}
 	}
 
 	public ArrayLeekValue(AI ai, Object values[]) throws LeekRunException {
 		this.ai = ai;
-		this.id = ai.getNextObjectID();
 		for (var value : values) {
 			add(value);
 		}
-		this.ram = ai.allocateRAM(this, values.length);
+		this.ram = ai.allocateRAM(this, ai.getNextObjectID(), values.length, true);
 	}
 
 	public ArrayLeekValue(AI ai, List<Object> values) throws LeekRunException {
 		super(values);
 		this.ai = ai;
-		this.id = ai.getNextObjectID();
-		this.ram = ai.allocateRAM(this, values.size());
+		this.ram = ai.allocateRAM(this, ai.getNextObjectID(), values.size(), true);
 	}
 
 	public ArrayLeekValue(AI ai, ArrayLeekValue array) throws LeekRunException {
@@ -147,8 +163,7 @@ public class ArrayLeekValue extends ArrayList<Object> implements GenericArrayLee
 
 	public ArrayLeekValue(AI ai, ArrayLeekValue array, int level) throws LeekRunException {
 		this.ai = ai;
-		this.id = ai.getNextObjectID();
-		this.ram = ai.allocateRAM(this, array.size());
+		this.ram = ai.allocateRAM(this, ai.getNextObjectID(), array.size(), true);
 		for (var value : array) {
 			if (level == 1) {
 				add(value);
@@ -163,269 +178,307 @@ public class ArrayLeekValue extends ArrayList<Object> implements GenericArrayLee
 	}
 
 	public Object putv4(Object keyValue, Object value) throws LeekRunException {
+		return putv4_index(ai.integer(keyValue), value);
+	}
+
+	public Object putv4_index(int i, Object value) throws LeekRunException {
 		ai.opsNoCheck(ArrayLeekValue.WRITE_OPERATIONS);
-		int i = ai.integer(keyValue);
 		if (i < 0) i += size();
-		try {
-			set(i, value);
-			return value;
-		} catch (IndexOutOfBoundsException e) {
+		if (i < 0 || i >= size()) {
 			wrongIndexError(ai, i);
 			return null;
 		}
+		set(i, value);
+		return value;
 	}
 
 	public Object put(Object keyValue, Object value) throws LeekRunException {
+		return put_index(ai.integer(keyValue), value);
+	}
+
+	public Object put_index(int i, Object value) throws LeekRunException {
 		ai.opsNoCheck(ArrayLeekValue.WRITE_OPERATIONS);
-		int i = ai.integer(keyValue);
 		if (i < 0) i += size();
-		try {
-			set(i, value);
-			return value;
-		} catch (IndexOutOfBoundsException e) {
+		if (i < 0 || i >= size()) {
 			throw new LeekRunException(Error.ARRAY_OUT_OF_BOUND, new String[] {
 				String.valueOf(i),
 				String.valueOf(size())
 			});
 		}
+		set(i, value);
+		return value;
 	}
 
 	public Object put_inc(AI ai, Object key) throws LeekRunException {
+		return put_inc_index(ai, ai.integer(key));
+	}
+
+	public Object put_inc_index(AI ai, int i) throws LeekRunException {
 		ai.opsNoCheck(ArrayLeekValue.WRITE_OPERATIONS);
-		int i = (int) ai.integer(key);
 		if (i < 0) i += size();
-		try {
-			var previous_value = get(i);
-			set(i, ai.add(previous_value, 1l));
-			return previous_value;
-		} catch (IndexOutOfBoundsException e) {
+		if (i < 0 || i >= size()) {
 			wrongIndexError(ai, i);
 			return null;
 		}
+		var previous_value = get(i);
+		set(i, ai.add(previous_value, 1l));
+		return previous_value;
 	}
 
 	public Object put_pre_inc(AI ai, Object key) throws LeekRunException {
+		return put_pre_inc_index(ai, ai.integer(key));
+	}
+
+	public Object put_pre_inc_index(AI ai, int i) throws LeekRunException {
 		ai.opsNoCheck(ArrayLeekValue.WRITE_OPERATIONS);
-		int i = (int) ai.integer(key);
 		if (i < 0) i += size();
-		try {
-			var new_value = ai.add(get(i), 1l);
-			set(i, new_value);
-			return new_value;
-		} catch (IndexOutOfBoundsException e) {
+		if (i < 0 || i >= size()) {
 			wrongIndexError(ai, i);
 			return null;
 		}
+		var new_value = ai.add(get(i), 1l);
+		set(i, new_value);
+		return new_value;
 	}
 
 	public Object put_dec(AI ai, Object key) throws LeekRunException {
+		return put_dec_index(ai, ai.integer(key));
+	}
+
+	public Object put_dec_index(AI ai, int i) throws LeekRunException {
 		ai.opsNoCheck(ArrayLeekValue.WRITE_OPERATIONS);
-		int i = (int) ai.integer(key);
 		if (i < 0) i += size();
-		try {
-			var previous_value = get(i);
-			set(i, ai.sub(previous_value, 1l));
-			return previous_value;
-		} catch (IndexOutOfBoundsException e) {
+		if (i < 0 || i >= size()) {
 			wrongIndexError(ai, i);
 			return null;
 		}
+		var previous_value = get(i);
+		set(i, ai.sub(previous_value, 1l));
+		return previous_value;
 	}
 
 	public Object put_pre_dec(AI ai, Object key) throws LeekRunException {
+		return put_pre_dec_index(ai, ai.integer(key));
+	}
+
+	public Object put_pre_dec_index(AI ai, int i) throws LeekRunException {
 		ai.opsNoCheck(ArrayLeekValue.WRITE_OPERATIONS);
-		int i = (int) ai.integer(key);
 		if (i < 0) i += size();
-		try {
-			var new_value = ai.sub(get(i), 1l);
-			set(i, new_value);
-			return new_value;
-		} catch (IndexOutOfBoundsException e) {
+		if (i < 0 || i >= size()) {
 			wrongIndexError(ai, i);
 			return null;
 		}
+		var new_value = ai.sub(get(i), 1l);
+		set(i, new_value);
+		return new_value;
 	}
 
 	public Object put_add_eq(AI ai, Object key, Object value) throws LeekRunException {
+		return put_add_eq_index(ai, ai.integer(key), value);
+	}
+
+	public Object put_add_eq_index(AI ai, int i, Object value) throws LeekRunException {
 		ai.opsNoCheck(ArrayLeekValue.WRITE_OPERATIONS);
-		int i = (int) ai.integer(key);
 		if (i < 0) i += size();
-		try {
-			var new_value = ai.add(get(i), value);
-			set(i, new_value);
-			return new_value;
-		} catch (IndexOutOfBoundsException e) {
+		if (i < 0 || i >= size()) {
 			wrongIndexError(ai, i);
 			return null;
 		}
+		var new_value = ai.add(get(i), value);
+		set(i, new_value);
+		return new_value;
 	}
 
 	public Object put_sub_eq(AI ai, Object key, Object value) throws LeekRunException {
+		return put_sub_eq_index(ai, ai.integer(key), value);
+	}
+
+	public Object put_sub_eq_index(AI ai, int i, Object value) throws LeekRunException {
 		ai.opsNoCheck(ArrayLeekValue.WRITE_OPERATIONS);
-		int i = (int) ai.integer(key);
 		if (i < 0) i += size();
-		try {
-			var new_value = ai.sub(get(i), value);
-			set(i, new_value);
-			return new_value;
-		} catch (IndexOutOfBoundsException e) {
+		if (i < 0 || i >= size()) {
 			wrongIndexError(ai, i);
 			return null;
 		}
+		var new_value = ai.sub(get(i), value);
+		set(i, new_value);
+		return new_value;
 	}
 
 	public Object put_mul_eq(AI ai, Object key, Object value) throws LeekRunException {
+		return put_mul_eq_index(ai, ai.integer(key), value);
+	}
+
+	public Object put_mul_eq_index(AI ai, int i, Object value) throws LeekRunException {
 		ai.opsNoCheck(ArrayLeekValue.WRITE_OPERATIONS);
-		int i = (int) ai.integer(key);
 		if (i < 0) i += size();
-		try {
-			var new_value = ai.mul(get(i), value);
-			set(i, new_value);
-			return new_value;
-		} catch (IndexOutOfBoundsException e) {
+		if (i < 0 || i >= size()) {
 			wrongIndexError(ai, i);
 			return null;
 		}
+		var new_value = ai.mul(get(i), value);
+		set(i, new_value);
+		return new_value;
 	}
 
 	public Object put_pow_eq(AI ai, Object key, Object value) throws LeekRunException {
+		return put_pow_eq_index(ai, ai.integer(key), value);
+	}
+
+	public Object put_pow_eq_index(AI ai, int i, Object value) throws LeekRunException {
 		ai.opsNoCheck(ArrayLeekValue.WRITE_OPERATIONS);
-		int i = (int) ai.integer(key);
 		if (i < 0) i += size();
-		try {
-			var new_value = ai.pow(get(i), value);
-			set(i, new_value);
-			return new_value;
-		} catch (IndexOutOfBoundsException e) {
+		if (i < 0 || i >= size()) {
 			wrongIndexError(ai, i);
 			return null;
 		}
+		var new_value = ai.pow(get(i), value);
+		set(i, new_value);
+		return new_value;
 	}
 
 	public Object put_div_eq(AI ai, Object key, Object value) throws LeekRunException {
+		return put_div_eq_index(ai, ai.integer(key), value);
+	}
+
+	public Object put_div_eq_index(AI ai, int i, Object value) throws LeekRunException {
 		ai.opsNoCheck(ArrayLeekValue.WRITE_OPERATIONS);
-		int i = (int) ai.integer(key);
 		if (i < 0) i += size();
-		try {
-			var new_value = ai.div(get(i), value);
-			set(i, new_value);
-			return new_value;
-		} catch (IndexOutOfBoundsException e) {
+		if (i < 0 || i >= size()) {
 			wrongIndexError(ai, i);
 			return null;
 		}
+		var new_value = ai.div(get(i), value);
+		set(i, new_value);
+		return new_value;
 	}
 
 	public Number put_intdiv_eq(AI ai, Object key, Object value) throws LeekRunException {
+		return put_intdiv_eq_index(ai, ai.integer(key), value);
+	}
+
+	public Number put_intdiv_eq_index(AI ai, int i, Object value) throws LeekRunException {
 		ai.opsNoCheck(ArrayLeekValue.WRITE_OPERATIONS);
-		int i = (int) ai.integer(key);
 		if (i < 0) i += size();
-		try {
-			var new_value = ai.intdiv(get(i), value);
-			set(i, new_value);
-			return new_value;
-		} catch (IndexOutOfBoundsException e) {
+		if (i < 0 || i >= size()) {
 			wrongIndexError(ai, i);
 			return 0;
 		}
+		var new_value = ai.intdiv(get(i), value);
+		set(i, new_value);
+		return new_value;
 	}
 
 	public Object put_mod_eq(AI ai, Object key, Object value) throws LeekRunException {
+		return put_mod_eq_index(ai, ai.integer(key), value);
+	}
+
+	public Object put_mod_eq_index(AI ai, int i, Object value) throws LeekRunException {
 		ai.opsNoCheck(ArrayLeekValue.WRITE_OPERATIONS);
-		int i = (int) ai.integer(key);
 		if (i < 0) i += size();
-		try {
-			var new_value = ai.mod(get(i), value);
-			set(i, new_value);
-			return new_value;
-		} catch (IndexOutOfBoundsException e) {
+		if (i < 0 || i >= size()) {
 			wrongIndexError(ai, i);
 			return null;
 		}
+		var new_value = ai.mod(get(i), value);
+		set(i, new_value);
+		return new_value;
 	}
 
 	public Number put_bor_eq(AI ai, Object key, Object value) throws LeekRunException {
+		return put_bor_eq_index(ai, ai.integer(key), value);
+	}
+
+	public Number put_bor_eq_index(AI ai, int i, Object value) throws LeekRunException {
 		ai.opsNoCheck(ArrayLeekValue.WRITE_OPERATIONS);
-		int i = (int) ai.integer(key);
 		if (i < 0) i += size();
-		try {
-			var new_value = ai.bor(get(i), value);
-			set(i, new_value);
-			return new_value;
-		} catch (IndexOutOfBoundsException e) {
+		if (i < 0 || i >= size()) {
 			wrongIndexError(ai, i);
 			return 0;
 		}
+		var new_value = ai.bor(get(i), value);
+		set(i, new_value);
+		return new_value;
 	}
 
 	public Number put_band_eq(AI ai, Object key, Object value) throws LeekRunException {
+		return put_band_eq_index(ai, ai.integer(key), value);
+	}
+
+	public Number put_band_eq_index(AI ai, int i, Object value) throws LeekRunException {
 		ai.opsNoCheck(ArrayLeekValue.WRITE_OPERATIONS);
-		int i = (int) ai.integer(key);
 		if (i < 0) i += size();
-		try {
-			var new_value = ai.band(get(i), value);
-			set(i, new_value);
-			return new_value;
-		} catch (IndexOutOfBoundsException e) {
+		if (i < 0 || i >= size()) {
 			wrongIndexError(ai, i);
 			return 0;
 		}
+		var new_value = ai.band(get(i), value);
+		set(i, new_value);
+		return new_value;
 	}
 
 	public Number put_bxor_eq(AI ai, Object key, Object value) throws LeekRunException {
+		return put_bxor_eq_index(ai, ai.integer(key), value);
+	}
+
+	public Number put_bxor_eq_index(AI ai, int i, Object value) throws LeekRunException {
 		ai.opsNoCheck(ArrayLeekValue.WRITE_OPERATIONS);
-		int i = (int) ai.integer(key);
 		if (i < 0) i += size();
-		try {
-			var new_value = ai.bxor(get(i), value);
-			set(i, new_value);
-			return new_value;
-		} catch (IndexOutOfBoundsException e) {
+		if (i < 0 || i >= size()) {
 			wrongIndexError(ai, i);
 			return 0;
 		}
+		var new_value = ai.bxor(get(i), value);
+		set(i, new_value);
+		return new_value;
 	}
 
 	public Number put_shl_eq(AI ai, Object key, Object value) throws LeekRunException {
+		return put_shl_eq_index(ai, ai.integer(key), value);
+	}
+
+	public Number put_shl_eq_index(AI ai, int i, Object value) throws LeekRunException {
 		ai.opsNoCheck(ArrayLeekValue.WRITE_OPERATIONS);
-		int i = (int) ai.integer(key);
 		if (i < 0) i += size();
-		try {
-			var new_value = ai.shl(get(i), value);
-			set(i, new_value);
-			return new_value;
-		} catch (IndexOutOfBoundsException e) {
+		if (i < 0 || i >= size()) {
 			wrongIndexError(ai, i);
 			return 0;
 		}
+		var new_value = ai.shl(get(i), value);
+		set(i, new_value);
+		return new_value;
 	}
 
 	public Number put_shr_eq(AI ai, Object key, Object value) throws LeekRunException {
+		return put_shr_eq_index(ai, ai.integer(key), value);
+	}
+
+	public Number put_shr_eq_index(AI ai, int i, Object value) throws LeekRunException {
 		ai.opsNoCheck(ArrayLeekValue.WRITE_OPERATIONS);
-		int i = (int) ai.integer(key);
 		if (i < 0) i += size();
-		try {
-			var new_value = ai.shr(get(i), value);
-			set(i, new_value);
-			return new_value;
-		} catch (IndexOutOfBoundsException e) {
+		if (i < 0 || i >= size()) {
 			wrongIndexError(ai, i);
 			return 0;
 		}
+		var new_value = ai.shr(get(i), value);
+		set(i, new_value);
+		return new_value;
 	}
 
 	public Number put_ushr_eq(AI ai, Object key, Object value) throws LeekRunException {
+		return put_ushr_eq_index(ai, ai.integer(key), value);
+	}
+
+	public Number put_ushr_eq_index(AI ai, int i, Object value) throws LeekRunException {
 		ai.opsNoCheck(ArrayLeekValue.WRITE_OPERATIONS);
-		int i = (int) ai.integer(key);
 		if (i < 0) i += size();
-		try {
-			var new_value = ai.ushr(get(i), value);
-			set(i, new_value);
-			return new_value;
-		} catch (IndexOutOfBoundsException e) {
+		if (i < 0 || i >= size()) {
 			wrongIndexError(ai, i);
 			return 0;
 		}
+		var new_value = ai.ushr(get(i), value);
+		set(i, new_value);
+		return new_value;
 	}
 
 	public Object shuffle(AI ai) throws LeekRunException {
@@ -492,12 +545,8 @@ public class ArrayLeekValue extends ArrayList<Object> implements GenericArrayLee
 		ai.opsNoCheck(ArrayLeekValue.READ_OPERATIONS);
 		var i = ai.longint(key);
 		if (i < 0) i += size();
-		try {
-			return get(i);
-		} catch (IndexOutOfBoundsException e) {
-			wrongIndexError(ai, i);
-			return null;
-		}
+		// get(long) vérifie les bornes et compte aussi ses READ_OPERATIONS
+		return get(i);
 	}
 
 	public Object arrayGet(AI ai, long index) throws LeekRunException {
@@ -506,11 +555,10 @@ public class ArrayLeekValue extends ArrayList<Object> implements GenericArrayLee
 
 	public Object arrayGet(AI ai, long index, Object defaultValue) throws LeekRunException {
 		if (index < 0) index += size();
-		try {
-			return get((int) index);
-		} catch (IndexOutOfBoundsException e) {
+		if (index < 0 || index >= size()) {
 			return defaultValue;
 		}
+		return get((int) index);
 	}
 
 	private void wrongIndexError(AI ai, long i) throws LeekRunException {
@@ -521,39 +569,47 @@ public class ArrayLeekValue extends ArrayList<Object> implements GenericArrayLee
 	}
 
 	public Object get(Object key) throws LeekRunException {
-		ai.opsNoCheck(ArrayLeekValue.READ_OPERATIONS);
-		var i = ai.longint(key);
-		if (i < 0) i += size();
-		try {
-			return super.get((int) i);
-		} catch (IndexOutOfBoundsException e) {
-			wrongIndexError(ai, i);
-			return null;
-		}
+		return get(ai.longint(key));
 	}
 
 	public Object get(long index) throws LeekRunException {
 		ai.opsNoCheck(ArrayLeekValue.READ_OPERATIONS);
 		if (index < 0) index += size();
-		try {
-			return super.get((int) index);
-		} catch (IndexOutOfBoundsException e) {
-			wrongIndexError(ai, (int) index);
+		if (index < 0 || index >= size()) {
+			wrongIndexError(ai, index);
 			return null;
 		}
+		return super.get((int) index);
 	}
 
 	public long search(AI ai, Object value) throws LeekRunException {
 		ai.opsNoCheck(1);
-		for (var i = 0; i < size(); ++i) {
-			var e = get(i);
-			if (ai.equals_equals(value, e)) {
-				ai.ops(i);
-				return (long) i;
+		int i = indexOfEquals(ai, value);
+		ai.ops(i == -1 ? size() : i);
+		return (long) i;
+	}
+
+	/**
+	 * Indice du premier élément == value, ou -1.
+	 * Les nombres sont comparés directement, sans passer par ai.equals_equals pour chaque élément.
+	 */
+	private int indexOfEquals(AI ai, Object value) throws LeekRunException {
+		if (value instanceof Long || value instanceof Double) {
+			double n = ((Number) value).doubleValue();
+			for (int i = 0, size = size(); i < size; ++i) {
+				var e = get(i);
+				if (e instanceof Long || e instanceof Double) {
+					if (((Number) e).doubleValue() == n) return i;
+				} else if (e instanceof BigIntegerValue && ai.equals_equals(value, e)) {
+					return i;
+				}
 			}
+			return -1;
 		}
-		ai.ops(size());
-		return -1l;
+		for (int i = 0; i < size(); ++i) {
+			if (ai.equals_equals(value, get(i))) return i;
+		}
+		return -1;
 	}
 
 	/**
@@ -592,14 +648,13 @@ public class ArrayLeekValue extends ArrayList<Object> implements GenericArrayLee
 	public Object remove(AI ai, long key) throws LeekRunException {
 		int numMoved = size() - (int) key - 1;
 		ai.ops(1 + Math.max(0, numMoved));
-		try {
-			var result = remove((int) key);
-			ai.decreaseRAM(ram, 1);
-			return result;
-		} catch (IndexOutOfBoundsException e) {
+		if (key < 0 || key >= size()) {
 			wrongIndexError(ai, (int) key);
 			return null;
 		}
+		var result = remove((int) key);
+		ai.decreaseRAM(ram, 1);
+		return result;
 	}
 
 	/**
@@ -610,7 +665,7 @@ public class ArrayLeekValue extends ArrayList<Object> implements GenericArrayLee
 	 */
 	public Object sort(AI ai) throws LeekRunException {
 		ai.ops(1 + (int) (5 * size() * Math.log(size())));
-		Collections.sort(this, new ElementComparator(ASC));
+		sortValues(ASC);
 		return null;
 	}
 
@@ -623,9 +678,9 @@ public class ArrayLeekValue extends ArrayList<Object> implements GenericArrayLee
 	public Object sort(AI ai, long comparator) throws LeekRunException {
 		ai.ops(1 + (int) (5 * size() * Math.log(size())));
 		if (comparator == RANDOM) {
-			Collections.shuffle(this, new Random(ai.getRandom().getInt(0, Integer.MAX_VALUE - 1)));
+			Collections.shuffle(this, new SplittableRandom(ai.getRandom().getLong(Long.MIN_VALUE, Long.MAX_VALUE)));
 		} else {
-			Collections.sort(this, new ElementComparator((int) comparator));
+			sortValues((int) comparator);
 		}
 		return null;
 	}
@@ -636,34 +691,50 @@ public class ArrayLeekValue extends ArrayList<Object> implements GenericArrayLee
 	 * @param comparator
 	 * @throws LeekRunException
 	 */
-	public void sort(AI ai, Comparator<Object> comparator) throws LeekRunException {
+	public void sort(AI ai, LeekSort.Comparator comparator) throws LeekRunException {
 		ai.ops(1 + (int) (5 * size() * Math.log(size())));
-		Collections.sort(this, comparator);
+		sortValues(comparator);
 	}
 
 	public ArrayLeekValue arraySort(AI ai) throws LeekRunException {
 		ai.ops(1 + (int) (5 * size() * Math.log(size())));
 		var result = new ArrayLeekValue(ai, this, 1);
-		Collections.sort(result, new ElementComparator(ASC));
+		result.sortValues(ASC);
 		return result;
 	}
 
 	public ArrayLeekValue arraySort(AI ai, FunctionLeekValue function) throws LeekRunException {
 		ai.ops(1 + (int) (5 * size() * Math.log(size())));
 		var result = new ArrayLeekValue(ai, this, 1);
-		Collections.sort(result, new Comparator<Object>() {
-			@Override
-			public int compare(Object o1, Object o2) {
-				try {
-					return ai.signum(function.run(ai, null, o1, o2));
-				} catch (Exception e) {
-					throw new RuntimeException(e);
-				}
-			}
-		});
+		result.sortValues(LeekSort.function(ai, function));
 		return result;
 	}
 
+	private void sortValues(int order) {
+		var values = toArray();
+		if (!LeekSort.sortPrimitive(values, order == DESC)) {
+			try {
+				LeekSort.mergeSort(values, new ElementComparator(order));
+			} catch (LeekRunException e) {
+				// ElementComparator ne lève pas d'exception
+			}
+		}
+		setValues(values);
+	}
+
+	private void sortValues(LeekSort.Comparator comparator) throws LeekRunException {
+		var values = toArray();
+		// En cas d'erreur (limite d'opérations), le tableau n'est pas modifié
+		LeekSort.mergeSort(values, comparator);
+		setValues(values);
+	}
+
+	private void setValues(Object[] values) {
+		for (int i = 0; i < values.length; ++i) {
+			super.set(i, values[i]);
+		}
+	}
+
 	/**
 	 * Inverse l'ordre
 	 *
@@ -726,14 +797,14 @@ public class ArrayLeekValue extends ArrayList<Object> implements GenericArrayLee
 
 	public Object insert(AI ai, Object value, long position) throws LeekRunException {
 		if (position < 0) position += size();
-		try {
-			int shifted = size() - (int) position;
-			ai.ops(1 + Math.max(0, shifted));
-			add((int) position, value);
-			ai.increaseRAM(ram, 1);
-		} catch (IndexOutOfBoundsException e) {
+		int shifted = size() - (int) position;
+		ai.ops(1 + Math.max(0, shifted));
+		if (position < 0 || position > size()) {
 			wrongIndexError(ai, (int) position);
+			return null;
 		}
+		add((int) position, value);
+		ai.increaseRAM(ram, 1);
 		return null;
 	}
 
@@ -762,8 +833,11 @@ public class ArrayLeekValue extends ArrayList<Object> implements GenericArrayLee
 	public double average(AI ai) throws LeekRunException {
 		ai.ops(1 + 2 * size());
 		double average = 0;
-		for (var val : this) {
-			average += ai.real(val);
+		for (int i = 0, size = size(); i < size; ++i) {
+			var val = get(i);
+			if (val instanceof Long l) average += l;
+			else if (val instanceof Double d) average += d;
+			else average += ai.real(val);
 		}
 		if (average == 0)
 			return 0.0;
@@ -773,8 +847,11 @@ public class ArrayLeekValue extends ArrayList<Object> implements GenericArrayLee
 	public double sum(AI ai) throws LeekRunException {
 		ai.ops(1 + 2 * size());
 		double somme = 0;
-		for (var val : this) {
-			somme += ai.real(val);
+		for (int i = 0, size = size(); i < size; ++i) {
+			var val = get(i);
+			if (val instanceof Long l) somme += l;
+			else if (val instanceof Double d) somme += d;
+			else somme += ai.real(val);
 		}
 		return somme;
 	}
@@ -786,7 +863,11 @@ public class ArrayLeekValue extends ArrayList<Object> implements GenericArrayLee
 		var mincomp = new LeekValueComparator.SortComparator(ai, LeekValueComparator.SortComparator.SORT_ASC);
 		for (int i = 1; i < size(); ++i) {
 			var val = get(i);
-			if (mincomp.compare(val, min_value) == -1)
+			if (isNumber(val) && isNumber(min_value)) {
+				// Même résultat que le comparateur, sans son dispatch
+				if (((Number) val).doubleValue() < ((Number) min_value).doubleValue())
+					min_value = val;
+			} else if (mincomp.compare(val, min_value) == -1)
 				min_value = val;
 		}
 		return min_value;
@@ -799,17 +880,25 @@ public class ArrayLeekValue extends ArrayList<Object> implements GenericArrayLee
 		for (var val : this) {
 			if (max_value == null)
 				max_value = val;
-			else if (mincomp.compare(val, max_value) == 1)
+			else if (isNumber(val) && isNumber(max_value)) {
+				// Même résultat que le comparateur (NaN compris), sans son dispatch
+				if (!(((Number) val).doubleValue() <= ((Number) max_value).doubleValue()))
+					max_value = val;
+			} else if (mincomp.compare(val, max_value) == 1)
 				max_value = val;
 		}
 		return max_value;
 	}
 
+	private static boolean isNumber(Object value) {
+		return value instanceof Long || value instanceof Double;
+	}
+
 	public ArrayLeekValue arrayMap(AI ai, FunctionLeekValue function) throws LeekRunException {
 		ai.ops(1 + 2 * size());
 		var result = new ArrayLeekValue(ai, size());
 		for (int i = 0; i < size(); ++i) {
-			result.add(function.run(ai, null, get(i), (long) i, this));
+			result.add(function.run3(ai, null, get(i), (long) i, this));
 		}
 		ai.increaseRAM(ram, size());
 		return result;
@@ -873,7 +962,7 @@ public class ArrayLeekValue extends ArrayList<Object> implements GenericArrayLee
 	public Object arrayIter(AI ai, FunctionLeekValue function) throws LeekRunException {
 		ai.ops(1 + size());
 		for (int i = 0; i < size(); ++i) {
-			function.run(ai, null, get(i), (long) i, this);
+			function.run3(ai, null, get(i), (long) i, this);
 		}
 		return null;
 	}
@@ -882,7 +971,7 @@ public class ArrayLeekValue extends ArrayList<Object> implements GenericArrayLee
 		ai.ops(1 + 2 * size());
 		Object r = object;
 		for (int i = 0; i < size(); ++i) {
-			r = function.run(ai, null, r, get(i), (long) i, this);
+			r = function.run4(ai, null, r, get(i), (long) i, this);
 		}
 		return r;
 	}
@@ -891,7 +980,7 @@ public class ArrayLeekValue extends ArrayList<Object> implements GenericArrayLee
 		ai.ops(1 + 2 * size());
 		Object r = object;
 		for (int i = size() - 1; i >= 0; --i) {
-			r = function.run(ai, null, get(i), r, (long) i, this);
+			r = function.run4(ai, null, get(i), r, (long) i, this);
 		}
 		return r;
 	}
@@ -902,7 +991,7 @@ public class ArrayLeekValue extends ArrayList<Object> implements GenericArrayLee
 		var r2 = new ArrayLeekValue(ai);
 		for (int i = 0; i < size(); ++i) {
 			var v = get(i);
-			boolean b = ai.bool(function.run(ai, null, v, (long) i, this));
+			boolean b = ai.bool(function.run3(ai, null, v, (long) i, this));
 			if (b) {
 				r1.add(v);
 			} else {
@@ -939,7 +1028,7 @@ public class ArrayLeekValue extends ArrayList<Object> implements GenericArrayLee
 		var result = new ArrayLeekValue(ai);
 		for (int i = 0; i < size(); ++i) {
 			var v = get(i);
-			if (ai.bool(function.run(ai, null, v, (long) i, this))) {
+			if (ai.bool(function.run3(ai, null, v, (long) i, this))) {
 				result.add(v);
 			}
 		}
@@ -951,7 +1040,7 @@ public class ArrayLeekValue extends ArrayList<Object> implements GenericArrayLee
 		ai.opsNoCheck(1);
 		for (int i = 0; i < size(); ++i) {
 			var v = get(i);
-			if (ai.bool(function.run(ai, null, v, (long) i, this))) {
+			if (ai.bool(function.run3(ai, null, v, (long) i, this))) {
 				ai.ops(i);
 				return true;
 			}
@@ -964,7 +1053,7 @@ public class ArrayLeekValue extends ArrayList<Object> implements GenericArrayLee
 		ai.opsNoCheck(1);
 		for (int i = 0; i < size(); ++i) {
 			var v = get(i);
-			if (!ai.bool(function.run(ai, null, v, (long) i, this))) {
+			if (!ai.bool(function.run3(ai, null, v, (long) i, this))) {
 				ai.ops(i);
 				return false;
 			}
@@ -1029,14 +1118,9 @@ public class ArrayLeekValue extends ArrayList<Object> implements GenericArrayLee
 
 	public boolean inArray(AI ai, Object value) throws LeekRunException {
 		ai.opsNoCheck(1);
-		for (int i = 0; i < size(); ++i) {
-			if (ai.equals_equals(get(i), value)) {
-				ai.ops(i);
-				return true;
-			}
-		}
-		ai.ops(size());
-		return false;
+		int i = indexOfEquals(ai, value);
+		ai.ops(i == -1 ? size() : i);
+		return i != -1;
 	}
 
 	public Object pop(AI ai) throws LeekRunException {
@@ -1077,27 +1161,23 @@ public class ArrayLeekValue extends ArrayList<Object> implements GenericArrayLee
 	}
 
 	public String toString(AI ai, Set<Object> visited) throws LeekRunException {
+		var sb = new StringBuilder();
+		appendString(ai, sb, visited, true);
+		return sb.toString();
+	}
+
+	@Override
+	public void appendString(AI ai, StringBuilder sb, Set<Object> visited, boolean export) throws LeekRunException {
 
 		ai.ops(1 + size() * 2);
 
-		StringBuilder sb = new StringBuilder();
 		sb.append("[");
 		for (int i = 0; i < size(); ++i) {
-			var value = get(i);
 			if (i > 0)
 				sb.append(", ");
-			if (visited.contains(value)) {
-				sb.append("<...>");
-			} else {
-				if (!ai.isPrimitive(value)) {
-					// ai.ops(10);
-					visited.add(value);
-				}
-				sb.append(ai.export(value, visited));
-			}
+			visited = ai.appendElement(sb, this, get(i), visited, true);
 		}
 		sb.append("]");
-		return sb.toString();
 	}
 
 	public boolean eq(ArrayLeekValue array) throws LeekRunException {
@@ -1127,7 +1207,7 @@ public class ArrayLeekValue extends ArrayList<Object> implements GenericArrayLee
 
 	@Override
 	public int hashCode() {
-		return this.id;
+		return ram.getId();
 	}
 
 	public int hashCodeRec(ArrayLeekValue array) {
@@ -1145,4 +1225,8 @@ public class ArrayLeekValue extends ArrayList<Object> implements GenericArrayLee
 	public Iterator<Entry<Object, Object>> genericIterator() {
 		return new ArrayIterator(this);
 	}
+
+	public ForeachCursor cursor() {
+		return new ArrayCursor(this);
+	}
 }
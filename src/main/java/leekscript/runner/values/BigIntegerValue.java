@@ -17,6 +17,8 @@ import leekscript.runner.LeekRunException;
  */
 public class BigIntegerValue extends Number implements LeekValue {
 
+	// Valeur tant qu'elle tient sur 64 bits (value == null) : ni BigInteger ni référence RAM
+	private final long small;
 	private final BigInteger value;
 	private final AI ai;
 	
@@ -26,43 +28,38 @@ public class BigIntegerValue extends Number implements LeekValue {
 	private final static double BIT_LIMIT = STRING_CROP_LIMIT * 2 / BASE_FACTOR; // number of bits (base 2) corresponding to crop limit (base 10)
 
 	public BigIntegerValue(AI ai, String val, int radix) throws LeekRunException {
-		this.ai = ai;
-		this.value = new BigInteger(val, radix);
-		ops(4);
-		int ram = value.bitLength() / 64;
-		ai.allocateRAM(this, ram);
+		this(ai, new BigInteger(val, radix));
 	}
 
 	public BigIntegerValue(AI ai, String val) throws LeekRunException {
-		this.ai = ai;
-		this.value = new BigInteger(val);
-		ops(4);
-		int ram = value.bitLength() / 64;
-		ai.allocateRAM(this, ram);
+		this(ai, new BigInteger(val));
 	}
 
 	public BigIntegerValue(AI ai, double val) throws LeekRunException {
-		this.ai = ai;
-		this.value = BigInteger.valueOf((long) val);
-		ops(4);
-		int ram = value.bitLength() / 64;
-		ai.allocateRAM(this, ram);
+		this(ai, (long) val);
 	}
 
 	public BigIntegerValue(AI ai, long val) throws LeekRunException {
 		this.ai = ai;
-		this.value = BigInteger.valueOf(val);
+		this.small = val;
+		this.value = null;
 		ops(4);
-		int ram = value.bitLength() / 64;
-		ai.allocateRAM(this, ram);
 	}
 
 	public BigIntegerValue(AI ai, BigInteger val) throws LeekRunException {
 		this.ai = ai;
-		this.value = val;
+		if (val.bitLength() < 64) {
+			this.small = val.longValue();
+			this.value = null;
+		} else {
+			this.small = 0;
+			this.value = val;
+		}
 		ops(4);
-		int ram = value.bitLength() / 64;
-		ai.allocateRAM(this, ram);
+		if (value != null) {
+			// Pas de RAM (ni de référence à suivre) sous 64 bits
+			ai.allocateRAM(this, value.bitLength() / 64);
+		}
 	}
 
 	// benchmarks :
@@ -73,109 +70,158 @@ public class BigIntegerValue extends Number implements LeekValue {
 	// cleaner + autocloseable : 45s
 	// weak reference : 25s
 
+	private BigInteger big() {
+		return value != null ? value : BigInteger.valueOf(small);
+	}
+
+	private int bits() {
+		return value != null ? value.bitLength() : 64 - Long.numberOfLeadingZeros(small < 0 ? ~small : small);
+	}
+
 	public BigIntegerValue add(BigIntegerValue val) throws LeekRunException {
 		ops();
 		val.ops();
-		return new BigIntegerValue(ai, value.add(val.value));
+		if (value == null && val.value == null) {
+			long r = small + val.small;
+			if (((small ^ r) & (val.small ^ r)) >= 0) return new BigIntegerValue(ai, r);
+		}
+		return new BigIntegerValue(ai, big().add(val.big()));
 	}
 
 	public BigIntegerValue subtract(BigIntegerValue val) throws LeekRunException {
 		ops();
 		val.ops();
-		return new BigIntegerValue(ai, value.subtract(val.value));
+		if (value == null && val.value == null) {
+			long r = small - val.small;
+			if (((small ^ val.small) & (small ^ r)) >= 0) return new BigIntegerValue(ai, r);
+		}
+		return new BigIntegerValue(ai, big().subtract(val.big()));
 	}
 
 	public BigIntegerValue multiply(BigIntegerValue val) throws LeekRunException {
-		if (value.bitLength() < 5000) {
-			ops(value.bitLength() / 100);
+		if (bits() < 5000) {
+			ops(bits() / 100);
 		} else {
-			ops(value.bitLength() / 50);
+			ops(bits() / 50);
 		}
 
-		if (val.value.bitLength() < 5000) {
-			val.ops(val.value.bitLength() / 100);
+		if (val.bits() < 5000) {
+			val.ops(val.bits() / 100);
 		} else {
-			val.ops(val.value.bitLength() / 50);
+			val.ops(val.bits() / 50);
 		}
-		return new BigIntegerValue(ai, value.multiply(val.value));
+		if (value == null && val.value == null) {
+			long low = small * val.small;
+			if (Math.multiplyHigh(small, val.small) == (low >> 63)) return new BigIntegerValue(ai, low);
+		}
+		return new BigIntegerValue(ai, big().multiply(val.big()));
 	}
 
 	public BigIntegerValue divide(BigIntegerValue val) throws LeekRunException {
 		ops(15);
 		val.ops();
-		return new BigIntegerValue(ai, value.divide(val.value));
+		if (value == null && val.value == null && val.small != 0 && !(small == Long.MIN_VALUE && val.small == -1)) {
+			return new BigIntegerValue(ai, small / val.small);
+		}
+		return new BigIntegerValue(ai, big().divide(val.big()));
 	}
 
 	public BigIntegerValue pow(int exponent) throws LeekRunException {
-		ops(value.bitLength() / 2000 * exponent);
-		return new BigIntegerValue(ai, value.pow(exponent));
+		ops(bits() / 2000 * exponent);
+		return new BigIntegerValue(ai, big().pow(exponent));
 	}
 
 	public BigIntegerValue abs() throws LeekRunException {
-		return new BigIntegerValue(ai, value.abs());
+		if (value == null && small != Long.MIN_VALUE) return new BigIntegerValue(ai, Math.abs(small));
+		return new BigIntegerValue(ai, big().abs());
 	}
 
 	public BigIntegerValue negate() throws LeekRunException {
-		return new BigIntegerValue(ai, value.negate());
+		if (value == null && small != Long.MIN_VALUE) return new BigIntegerValue(ai, -small);
+		return new BigIntegerValue(ai, big().negate());
 	}
 
 	public BigIntegerValue mod(BigIntegerValue m) throws LeekRunException {
-		ops(value.bitLength() / 50);
+		ops(bits() / 50);
 		m.ops();
-		return new BigIntegerValue(ai, value.mod(m.value));
+		if (value == null && m.value == null && m.small > 0) {
+			return new BigIntegerValue(ai, Math.floorMod(small, m.small));
+		}
+		return new BigIntegerValue(ai, big().mod(m.big()));
 	}
 
 	public BigIntegerValue shiftLeft(int n) throws LeekRunException {
 		binaryShiftOps(n);
-		return new BigIntegerValue(ai, value.shiftLeft(n));
+		if (value == null && n >= 0 && n < 64) {
+			long r = small << n;
+			if (r >> n == small) return new BigIntegerValue(ai, r);
+		}
+		return new BigIntegerValue(ai, big().shiftLeft(n));
 	}
 
 	public BigIntegerValue shiftRight(int n) throws LeekRunException {
 		binaryShiftOps(n);
-		return new BigIntegerValue(ai, value.shiftRight(n));
+		if (value == null && n >= 0) {
+			return new BigIntegerValue(ai, small >> Math.min(n, 63));
+		}
+		return new BigIntegerValue(ai, big().shiftRight(n));
 	}
 
 	public BigIntegerValue and(BigIntegerValue val) throws LeekRunException {
-		ops(value.bitLength() / 128);
-		val.ops(val.value.bitLength() / 128);
-		return new BigIntegerValue(ai, value.and(val.value));
+		ops(bits() / 128);
+		val.ops(val.bits() / 128);
+		if (value == null && val.value == null) return new BigIntegerValue(ai, small & val.small);
+		return new BigIntegerValue(ai, big().and(val.big()));
 	}
 
 	public BigIntegerValue or(BigIntegerValue val) throws LeekRunException {
-		ops(value.bitLength() / 512);
-		val.ops(val.value.bitLength() / 512);
-		return new BigIntegerValue(ai, value.or(val.value));
+		ops(bits() / 512);
+		val.ops(val.bits() / 512);
+		if (value == null && val.value == null) return new BigIntegerValue(ai, small | val.small);
+		return new BigIntegerValue(ai, big().or(val.big()));
 	}
 
 	public BigIntegerValue xor(BigIntegerValue val) throws LeekRunException {
-		ops(value.bitLength() / 256);
-		val.ops(val.value.bitLength() / 256);
-		return new BigIntegerValue(ai, value.xor(val.value));
+		ops(bits() / 256);
+		val.ops(val.bits() / 256);
+		if (value == null && val.value == null) return new BigIntegerValue(ai, small ^ val.small);
+		return new BigIntegerValue(ai, big().xor(val.big()));
 	}
 
 	public BigIntegerValue not() throws LeekRunException {
-		ops(value.bitLength() / 256);
+		ops(bits() / 256);
+		if (value == null) return new BigIntegerValue(ai, ~small);
 		return new BigIntegerValue(ai, value.not());
 	}
 
 	public BigIntegerValue setBit(int n, boolean val) throws LeekRunException {
+		if (value == null && n >= 0 && n < 63) {
+			return new BigIntegerValue(ai, val ? small | (1L << n) : small & ~(1L << n));
+		}
 		if (val) {
-			return new BigIntegerValue(ai, value.setBit(n));
+			return new BigIntegerValue(ai, big().setBit(n));
 		} else {
-			return new BigIntegerValue(ai, value.clearBit(n));
+			return new BigIntegerValue(ai, big().clearBit(n));
 		}
 	}
 
 	public boolean testBit(int n) {
-		return value.testBit(n);
+		if (value == null && n >= 0) {
+			return n < 63 ? ((small >> n) & 1) != 0 : small < 0;
+		}
+		return big().testBit(n);
 	}
 
 	public BigIntegerValue min(BigIntegerValue val) throws LeekRunException {
-		return new BigIntegerValue(ai, value.min(val.value));
+		return compareTo(val) <= 0 ? copy() : val.copy();
 	}
 
 	public BigIntegerValue max(BigIntegerValue val) throws LeekRunException {
-		return new BigIntegerValue(ai, value.max(val.value));
+		return compareTo(val) >= 0 ? copy() : val.copy();
+	}
+
+	private BigIntegerValue copy() throws LeekRunException {
+		return value == null ? new BigIntegerValue(ai, small) : new BigIntegerValue(ai, value);
 	}
 
 	public static BigIntegerValue valueOf(AI ai, String val) throws LeekRunException {
@@ -212,56 +258,60 @@ public class BigIntegerValue extends Number implements LeekValue {
 	}
 
 	public BigInteger getValue() {
-		return value;
+		return big();
 	}
 
 	public int signum() {
-		return value.signum();
+		return value != null ? value.signum() : Long.signum(small);
 	}
 
 	public long bitLength() {
-		return value.bitLength();
+		return bits();
 	}
 
 	public long bitCount() {
-		return value.bitCount();
+		return value != null ? value.bitCount() : Long.bitCount(small < 0 ? ~small : small);
 	}
 
 	public long getLowestSetBit() {
-		return value.getLowestSetBit();
+		if (value != null) return value.getLowestSetBit();
+		return small == 0 ? -1 : Long.numberOfTrailingZeros(small);
 	}
 
 	public int compareTo(BigIntegerValue y) {
-		return value.compareTo(y.value);
+		if (value == null && y.value == null) return Long.compare(small, y.small);
+		return big().compareTo(y.big());
 	}
 
 	@Override
 	public int intValue() {
-		return value.intValue();
+		return value != null ? value.intValue() : (int) small;
 	}
 
 	@Override
 	public long longValue() {
-		return value.longValue();
+		return value != null ? value.longValue() : small;
 	}
 
 	@Override
 	public float floatValue() {
-		return value.floatValue();
+		return value != null ? value.floatValue() : (float) small;
 	}
 
 	@Override
 	public double doubleValue() {
-		return value.doubleValue();
+		return value != null ? value.doubleValue() : (double) small;
 	}
 
 	public boolean isZero() {
-		return value.equals(BigInteger.ZERO);
+		return value == null && small == 0;
 	}
 
 	public String toString() {
 		ai.opsNoCheck(10);
-		if (value.bitLength() <= BIT_LIMIT) {
+		if (value == null) {
+			return Long.toString(small);
+		} else if (value.bitLength() <= BIT_LIMIT) {
 			return value.toString();
 		} else {
 			ai.opsNoCheck(100);
@@ -275,8 +325,8 @@ public class BigIntegerValue extends Number implements LeekValue {
 	}
 
 	public String toString(int i) throws LeekRunException {
-		ops(2 + (int) Math.pow(value.bitLength(), 2) / 400 / i);
-		return value.toString(i);
+		ops(2 + (int) Math.pow(bits(), 2) / 400 / i);
+		return value != null ? value.toString(i) : Long.toString(small, i);
 	}
 
 	@Override
@@ -286,7 +336,9 @@ public class BigIntegerValue extends Number implements LeekValue {
 
 	@Override
 	public boolean equals(Object obj) {
-		return obj instanceof BigIntegerValue && value.equals(((BigIntegerValue) obj).value);
+		if (!(obj instanceof BigIntegerValue other)) return false;
+		if (value == null) return other.value == null && small == other.small;
+		return value.equals(other.value);
 	}
 
 	private void binaryShiftOps(int n) throws LeekRunException {
@@ -298,7 +350,7 @@ public class BigIntegerValue extends Number implements LeekValue {
 	}
 
 	private void ops(int nb) throws LeekRunException {
-		int size = (int) (value.bitLength() / 1000);
+		int size = bits() / 1000;
 		ai.ops(nb + size);
 	}
 
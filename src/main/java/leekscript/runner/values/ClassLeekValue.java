@@ -50,6 +50,15 @@ public class ClassLeekValue extends FunctionLeekValue<Object> {
 		}
 	};
 
+	// Types des classes standard, ne dépendent que du nom : partagés par toutes les IAs.
+	// Les classes de l'utilisateur ont leur propre Type, qui n'est pas partagé entre les IAs.
+	private static final HashMap<String, Type> builtinTypes = new HashMap<>();
+	static {
+		for (var name : new String[] { "Value", "Null", "Boolean", "Number", "Real", "Integer", "BigInteger", "Array", "Map", "Interval", "Set", "String", "Object", "Function", "Class", "JSON", "System" }) {
+			builtinTypes.put(name, createType(name));
+		}
+	}
+
 	public AI ai;
 	public String name;
 	public ClassLeekValue parent;
@@ -88,33 +97,39 @@ public class ClassLeekValue extends FunctionLeekValue<Object> {
 		this.ai = ai;
 		this.name = name;
 		this.parent = parent;
-		this.type = new Type(name, "c", "ClassLeekValue", "ClassLeekValue", "new ClassLeekValue()");
+		var builtinType = clazz == null ? builtinTypes.get(name) : null;
+		this.type = builtinType != null ? builtinType : createType(name);
 		this.clazz = clazz;
+		// Tableaux des méthodes créés au premier besoin : les classes standard n'en ont pas
+	}
 
-		if (ai.getVersion() >= 4) {
-			this.methodsArray = new ArrayLeekValue(ai);
-			this.staticMethodsArray = new ArrayLeekValue(ai);
-		} else {
-			this.methodsArray = new LegacyArrayLeekValue(ai);
-			this.staticMethodsArray = new LegacyArrayLeekValue(ai);
-		}
+	private static Type createType(String name) {
+		return new Type(name, "c", "ClassLeekValue", "ClassLeekValue", "new ClassLeekValue()");
 	}
 
 	public void setParent(ClassLeekValue parent) throws LeekRunException {
 		this.parent = parent;
 		if (ai.getVersion() >= 4) {
-			for (var method : (ArrayLeekValue) parent.methodsArray) {
-				((ArrayLeekValue) this.methodsArray).add(method);
+			if (parent.methodsArray != null) {
+				for (var method : (ArrayLeekValue) parent.methodsArray) {
+					((ArrayLeekValue) getMethodsArray()).add(method);
+				}
 			}
-			for (var method : (ArrayLeekValue) parent.staticMethodsArray) {
-				((ArrayLeekValue) this.staticMethodsArray).add(method);
+			if (parent.staticMethodsArray != null) {
+				for (var method : (ArrayLeekValue) parent.staticMethodsArray) {
+					((ArrayLeekValue) getStaticMethodsArray()).add(method);
+				}
 			}
 		} else {
-			for (var method : (LegacyArrayLeekValue) parent.methodsArray) {
-				((LegacyArrayLeekValue) this.methodsArray).push(ai, method.getValue());
+			if (parent.methodsArray != null) {
+				for (var method : (LegacyArrayLeekValue) parent.methodsArray) {
+					((LegacyArrayLeekValue) getMethodsArray()).push(ai, method.getValue());
+				}
 			}
-			for (var method : (LegacyArrayLeekValue) parent.staticMethodsArray) {
-				((LegacyArrayLeekValue) this.staticMethodsArray).push(ai, method.getValue());
+			if (parent.staticMethodsArray != null) {
+				for (var method : (LegacyArrayLeekValue) parent.staticMethodsArray) {
+					((LegacyArrayLeekValue) getStaticMethodsArray()).push(ai, method.getValue());
+				}
 			}
 		}
 	}
@@ -138,9 +153,9 @@ public class ClassLeekValue extends FunctionLeekValue<Object> {
 	public void addMethod(String method, int argCount, FunctionLeekValue function, AccessLevel level) throws LeekRunException {
 		methods.put(method + "_" + argCount, new ClassMethod(function, level));
 		if (ai.getVersion() >= 4) {
-			((ArrayLeekValue) this.methodsArray).add(method);
+			((ArrayLeekValue) getMethodsArray()).add(method);
 		} else {
-			((LegacyArrayLeekValue) this.methodsArray).push(ai, method);
+			((LegacyArrayLeekValue) getMethodsArray()).push(ai, method);
 		}
 	}
 
@@ -168,9 +183,9 @@ public class ClassLeekValue extends FunctionLeekValue<Object> {
 	public void addStaticMethod(String method, int argCount, FunctionLeekValue function, AccessLevel level) throws LeekRunException {
 		staticMethods.put("u_" + method + "_" + argCount, new ClassStaticMethod(function, level));
 		if (ai.getVersion() >= 4) {
-			((ArrayLeekValue) this.staticMethodsArray).add(method);
+			((ArrayLeekValue) getStaticMethodsArray()).add(method);
 		} else {
-			((LegacyArrayLeekValue) this.staticMethodsArray).push(ai, method);
+			((LegacyArrayLeekValue) getStaticMethodsArray()).push(ai, method);
 		}
 	}
 
@@ -531,11 +546,17 @@ public class ClassLeekValue extends FunctionLeekValue<Object> {
 		return staticFieldsArray;
 	}
 
-	private Object getMethodsArray() throws LeekRunException {
+	private Object getMethodsArray() {
+		if (methodsArray == null) {
+			methodsArray = ai.getVersion() >= 4 ? new ArrayLeekValue(ai) : new LegacyArrayLeekValue(ai);
+		}
 		return methodsArray;
 	}
 
-	private Object getStaticMethodsArray() throws LeekRunException {
+	private Object getStaticMethodsArray() {
+		if (staticMethodsArray == null) {
+			staticMethodsArray = ai.getVersion() >= 4 ? new ArrayLeekValue(ai) : new LegacyArrayLeekValue(ai);
+		}
 		return staticMethodsArray;
 	}
 
@@ -0,0 +1,15 @@
+package leekscript.runner.values;
+
+/**
+ * Curseur de parcours d'un conteneur pour les boucles foreach.
+ * Contrairement à un Iterator<Entry>, aucun objet n'est alloué par élément :
+ * next() avance et key() / value() lisent l'élément courant.
+ */
+public interface ForeachCursor {
+
+	public boolean next();
+
+	public Object key();
+
+	public Object value();
+}
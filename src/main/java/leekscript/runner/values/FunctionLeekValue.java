@@ -25,6 +25,30 @@ public abstract class FunctionLeekValue<T> implements LeekValue {
 
 	public abstract T run(AI ai, Object thiz, Object... values) throws LeekRunException;
 
+	/**
+	 * Appels à nombre d'arguments fixe, sans tableau d'arguments si la fonction les redéfinit.
+	 * Les arguments en trop sont ignorés, comme avec run().
+	 */
+	public T run0(AI ai, Object thiz) throws LeekRunException {
+		return run(ai, thiz);
+	}
+
+	public T run1(AI ai, Object thiz, Object a) throws LeekRunException {
+		return run(ai, thiz, a);
+	}
+
+	public T run2(AI ai, Object thiz, Object a, Object b) throws LeekRunException {
+		return run(ai, thiz, a, b);
+	}
+
+	public T run3(AI ai, Object thiz, Object a, Object b, Object c) throws LeekRunException {
+		return run(ai, thiz, a, b, c);
+	}
+
+	public T run4(AI ai, Object thiz, Object a, Object b, Object c, Object d) throws LeekRunException {
+		return run(ai, thiz, a, b, c, d);
+	}
+
 	public Object toJSON(AI ai) {
 		return "<function>";
 	}
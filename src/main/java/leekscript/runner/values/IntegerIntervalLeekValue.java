@@ -38,6 +38,34 @@ public class IntegerIntervalLeekValue extends IntervalLeekValue {
 		}
 	}
 
+	public static class IntervalCursor implements ForeachCursor {
+
+		private final long start;
+		private final long end;
+		private long x;
+
+		public IntervalCursor(IntegerIntervalLeekValue interval) {
+			this.start = interval.iterationStart();
+			this.end = interval.iterationEnd();
+			this.x = start - 1;
+		}
+
+		@Override
+		public boolean next() {
+			return ++x < end;
+		}
+
+		@Override
+		public Object key() {
+			return x - start;
+		}
+
+		@Override
+		public Object value() {
+			return x;
+		}
+	}
+
 	private final long from;
 	private final long to;
 
@@ -64,35 +92,44 @@ public class IntegerIntervalLeekValue extends IntervalLeekValue {
 		return object == this;
 	}
 
-	@Override
-	public int hashCode() {
-		return this.id;
-	}
-
 	@Override
 	public String string(AI ai, Set<Object> visited) throws LeekRunException {
 		visited.add(this);
 		return toString(ai, visited);
 	}
 
+	@Override
+	public void appendString(AI ai, StringBuilder sb, Set<Object> visited, boolean export) throws LeekRunException {
+		if (visited != null) {
+			visited.add(this);
+		}
+		appendTo(ai, sb);
+	}
+
 	public String toString(AI ai, Set<Object> visited) throws LeekRunException {
+		var sb = new StringBuilder();
+		appendTo(ai, sb);
+		return sb.toString();
+	}
+
+	private void appendTo(AI ai, StringBuilder sb) throws LeekRunException {
 		ai.ops(1);
 
-		StringBuilder sb = new StringBuilder(minClosed ? "[" : "]");
+		sb.append(minClosed ? "[" : "]");
 
 		if (intervalIsLeftBounded(ai)) {
-			sb.append(ai.export(from, visited));
+			ai.appendExport(sb, from, null);
 		} else {
 			sb.append("-∞");
 		}
 		sb.append("..");
 		if (intervalIsRightBounded(ai)) {
-			sb.append(ai.export(to, visited));
+			ai.appendExport(sb, to, null);
 		} else {
 			sb.append("∞");
 		}
 
-		return sb.append(maxClosed ? "]" : "[").toString();
+		sb.append(maxClosed ? "]" : "[");
 	}
 
 	public boolean intervalMinClosed(AI ai) {
@@ -458,6 +495,132 @@ public class IntegerIntervalLeekValue extends IntervalLeekValue {
 		return new IntervalIterator(this);
 	}
 
+	@Override
+	public ForeachCursor cursor() {
+		return new IntervalCursor(this);
+	}
+
+	/**
+	 * Fonctions de tableau sans construire le tableau : mêmes coûts en opérations que
+	 * intervalToArray() suivi de la fonction sur le tableau. Si la fonction attend le
+	 * tableau en paramètre, on le construit.
+	 */
+	@Override
+	public ArrayLeekValue arrayMap(AI ai, FunctionLeekValue function) throws LeekRunException {
+		if (!intervalIsBounded(ai) || function.getArgumentsCount() >= 3) {
+			return super.arrayMap(ai, function);
+		}
+		iterationOps(ai, 1, 4);
+		var result = new ArrayLeekValue(ai);
+		for (long x = iterationStart(), end = iterationEnd(), i = 0; x < end; ++x, ++i) {
+			result.push(ai, function.run2(ai, null, x, i));
+		}
+		return result;
+	}
+
+	@Override
+	public ArrayLeekValue arrayFilter(AI ai, FunctionLeekValue function) throws LeekRunException {
+		if (!intervalIsBounded(ai) || function.getArgumentsCount() >= 3) {
+			return super.arrayFilter(ai, function);
+		}
+		iterationOps(ai, 1, 4);
+		var result = new ArrayLeekValue(ai);
+		for (long x = iterationStart(), end = iterationEnd(), i = 0; x < end; ++x, ++i) {
+			if (ai.bool(function.run2(ai, null, x, i))) {
+				result.push(ai, x);
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public Object arrayFoldLeft(AI ai, FunctionLeekValue function, Object start) throws LeekRunException {
+		if (!intervalIsBounded(ai) || function.getArgumentsCount() >= 4) {
+			return super.arrayFoldLeft(ai, function, start);
+		}
+		iterationOps(ai, 1, 4);
+		Object r = start;
+		for (long x = iterationStart(), end = iterationEnd(), i = 0; x < end; ++x, ++i) {
+			r = function.run3(ai, null, r, x, i);
+		}
+		return r;
+	}
+
+	@Override
+	public double sum(AI ai) throws LeekRunException {
+		if (!intervalIsBounded(ai)) {
+			return super.sum(ai);
+		}
+		iterationOps(ai, 1, 4);
+		double somme = 0;
+		for (long x = iterationStart(), end = iterationEnd(); x < end; ++x) {
+			somme += x;
+		}
+		return somme;
+	}
+
+	@Override
+	public long count(AI ai) throws LeekRunException {
+		if (!intervalIsBounded(ai)) {
+			return super.count(ai);
+		}
+		iterationOps(ai, 0, 2);
+		return iterationCount();
+	}
+
+	@Override
+	public boolean inArray(AI ai, Object value) throws LeekRunException {
+		if (!intervalIsBounded(ai)) {
+			return super.inArray(ai, value);
+		}
+		long start = iterationStart(), end = iterationEnd();
+		if (value instanceof Long l) {
+			// Position connue directement, on compte les comparaisons comme sur le tableau
+			boolean found = l >= start && l < end;
+			iterationOps(ai, 1, 2);
+			ai.ops((int) Math.min(Integer.MAX_VALUE, found ? l - start : iterationCount()));
+			return found;
+		}
+		iterationOps(ai, 1, 2);
+		for (long x = start; x < end; ++x) {
+			if (ai.equals_equals(x, value)) {
+				ai.ops((int) (x - start));
+				return true;
+			}
+		}
+		ai.ops((int) Math.min(Integer.MAX_VALUE, iterationCount()));
+		return false;
+	}
+
+	/**
+	 * Nombre d'éléments parcourus
+	 */
+	public long iterationCount() {
+		long start = iterationStart(), end = iterationEnd();
+		if (end <= start) return 0;
+		long n = end - start;
+		return n < 0 ? Long.MAX_VALUE : n;
+	}
+
+	private void iterationOps(AI ai, int base, int perElement) throws LeekRunException {
+		long total = base + perElement * Math.min(iterationCount(), Integer.MAX_VALUE);
+		ai.ops((int) Math.min(total, Integer.MAX_VALUE));
+	}
+
+	/**
+	 * Première valeur parcourue par un foreach
+	 */
+	public long iterationStart() {
+		return minClosed ? from : from + 1;
+	}
+
+	/**
+	 * Borne (exclue) du parcours : une borne fermée vaut au plus Long.MAX_VALUE - 1, pas de débordement
+	 */
+	public long iterationEnd() {
+		return maxClosed ? to + 1 : to;
+	}
+
 	public long getFrom() {
 		return from;
 	}
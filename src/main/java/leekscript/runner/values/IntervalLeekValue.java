@@ -20,8 +20,15 @@ public abstract class IntervalLeekValue implements LeekValue {
 		this.maxClosed = maxClosed;
 	}
 
+	@Override
+	public int hashCode() {
+		return id;
+	}
+
 	public abstract Iterator<Entry<Object, Object>> iterator();
 
+	public abstract ForeachCursor cursor();
+
 	public abstract boolean intervalIsEmpty(AI ai);
 
 	public abstract boolean intervalContains(AI ai, long x) throws LeekRunException;
@@ -44,4 +51,51 @@ public abstract class IntervalLeekValue implements LeekValue {
 
 	public abstract ArrayLeekValue range(AI ai, Object start, Object object, Object stride) throws LeekRunException;
 
+	public abstract ArrayLeekValue intervalToArray(AI ai) throws LeekRunException;
+
+	public abstract LegacyArrayLeekValue intervalToArray_v1_3(AI ai) throws LeekRunException;
+
+	/**
+	 * Fonctions de tableau appelées sur un intervalle : par défaut on passe par le tableau,
+	 * les intervalles d'entiers les redéfinissent sans le construire.
+	 */
+	public ArrayLeekValue arrayMap(AI ai, FunctionLeekValue function) throws LeekRunException {
+		var array = intervalToArray(ai);
+		return array == null ? null : array.arrayMap(ai, function);
+	}
+
+	public LegacyArrayLeekValue arrayMap_v1_3(AI ai, FunctionLeekValue function) throws LeekRunException {
+		var array = intervalToArray_v1_3(ai);
+		return array == null ? null : array.arrayMap_v1_3(ai, function);
+	}
+
+	public ArrayLeekValue arrayFilter(AI ai, FunctionLeekValue function) throws LeekRunException {
+		var array = intervalToArray(ai);
+		return array == null ? null : array.arrayFilter(ai, function);
+	}
+
+	public LegacyArrayLeekValue arrayFilter_v1_3(AI ai, FunctionLeekValue function) throws LeekRunException {
+		var array = intervalToArray_v1_3(ai);
+		return array == null ? null : array.arrayFilter_v1_3(ai, function);
+	}
+
+	public Object arrayFoldLeft(AI ai, FunctionLeekValue function, Object start) throws LeekRunException {
+		var array = intervalToArray(ai);
+		return array == null ? null : array.arrayFoldLeft(ai, function, start);
+	}
+
+	public double sum(AI ai) throws LeekRunException {
+		var array = intervalToArray(ai);
+		return array == null ? 0.0 : array.sum(ai);
+	}
+
+	public long count(AI ai) throws LeekRunException {
+		var array = intervalToArray(ai);
+		return array == null ? 0 : array.count(ai);
+	}
+
+	public boolean inArray(AI ai, Object value) throws LeekRunException {
+		var array = intervalToArray(ai);
+		return array == null ? false : array.inArray(ai, value);
+	}
 }
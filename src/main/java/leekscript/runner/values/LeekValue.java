@@ -11,4 +11,11 @@ public interface LeekValue {
 
 	public String string(AI ai, Set<Object> visited) throws LeekRunException;
 
+	/**
+	 * Ajoute la représentation de la valeur à sb, sans chaîne intermédiaire pour les conteneurs.
+	 * visited est null tant qu'aucune valeur imbriquée n'a été rencontrée (voir AI.appendElement).
+	 */
+	public default void appendString(AI ai, StringBuilder sb, Set<Object> visited, boolean export) throws LeekRunException {
+		sb.append(string(ai, visited));
+	}
 }
@@ -1,12 +1,13 @@
 package leekscript.runner.values;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
 import java.util.Set;
 import java.util.Map.Entry;
 
@@ -15,6 +16,7 @@ import leekscript.runner.LeekOperations;
 import leekscript.runner.LeekRunException;
 import leekscript.runner.LeekValueComparator;
 import leekscript.runner.LeekValueManager;
+import leekscript.runner.RamUsage;
 import leekscript.runner.AI.NativeObjectLeekValue;
 
 import com.alibaba.fastjson.JSON;
@@ -27,7 +29,8 @@ public class LegacyArrayLeekValue implements Iterable<Entry<Object, Object>>, Ge
 	public final static int ARRAY_CELL_CREATE_OPERATIONS = 2; // + sqrt(size) / 5
 
 	private final static int START_CAPACITY = 8;
-	private final static int MAX_CAPACITY = 32000;
+	// La capacité ne sert plus qu'au calcul des opérations, le stockage n'est pas limité
+	private final static int MAX_OPERATIONS_CAPACITY = 32000;
 
 	public final static int ASC = 0;
 	public final static int DESC = 1;
@@ -95,6 +98,34 @@ public class LegacyArrayLeekValue implements Iterable<Entry<Object, Object>>, Ge
 		}
 	}
 
+	public static class ArrayCursor implements ForeachCursor {
+
+		private Element mNext;
+		private Element mElement;
+
+		public ArrayCursor(Element head) {
+			mNext = head;
+		}
+
+		@Override
+		public boolean next() {
+			if (mNext == null) return false;
+			mElement = mNext;
+			mNext = mNext.next;
+			return true;
+		}
+
+		@Override
+		public Object key() {
+			return mElement.getKey();
+		}
+
+		@Override
+		public Object value() {
+			return mElement.getValue();
+		}
+	}
+
 	private static class ElementComparatorV1 implements Comparator<Element> {
 
 		private final int mOrder;
@@ -279,8 +310,6 @@ public class LegacyArrayLeekValue implements Iterable<Entry<Object, Object>>, Ge
 		private Element next = null;
 		private Element prev = null;
 
-		private Element hashNext = null;
-
 		public Element next() {
 			return next;
 		}
@@ -323,7 +352,17 @@ public class LegacyArrayLeekValue implements Iterable<Entry<Object, Object>>, Ge
 	private long mIndex = 0;
 	private int mSize = 0;
 	private int capacity = 0;
+
+	// Index clé -> élément : tableau dense tant que les clés sont exactement 0..n-1,
+	// sinon table à adressage ouvert. Reconstruit depuis la liste chaînée quand mIndexDirty.
+	private Element[] mDense = null;
 	private Element[] mTable = null;
+	private int mIndexed = 0;
+	private boolean mIndexDirty = false;
+
+	// RAM de l'index (une case par élément indexable), créée au premier agrandissement
+	private RamUsage ram = null;
+	private int mIndexRAM = 0;
 
 	public LegacyArrayLeekValue(AI ai) {
 		this.ai = ai;
@@ -547,6 +586,10 @@ public class LegacyArrayLeekValue implements Iterable<Entry<Object, Object>>, Ge
 		return new ArrayIterator(getHeadElement());
 	}
 
+	public ForeachCursor cursor() {
+		return new ArrayCursor(getHeadElement());
+	}
+
 	public Iterator<Object> getReversedIterator() {
 		return reversedIterator();
 	}
@@ -589,19 +632,20 @@ public class LegacyArrayLeekValue implements Iterable<Entry<Object, Object>>, Ge
 
 	@Override
 	public String toString() {
-		var r = "[";
+		var sb = new StringBuilder("[");
+		boolean associative = isAssociative();
 		boolean first = true;
 		var i = iterator();
 		while (i.hasNext()) {
 			if (first) first = false;
-			else r += ", ";
-			if (isAssociative()) {
-				r += i.key().toString() + ": ";
+			else sb.append(", ");
+			if (associative) {
+				sb.append(i.key().toString()).append(": ");
 			}
-			r += i.getValue();
+			sb.append(i.getValue());
 			i.next();
 		}
-		return r + "]";
+		return sb.append("]").toString();
 	}
 
 	private void initTable(AI ai, int capacity) throws LeekRunException {
@@ -609,22 +653,33 @@ public class LegacyArrayLeekValue implements Iterable<Entry<Object, Object>>, Ge
 		// System.out.println("ops initTable");
 		ai.opsNoCheck(realCapacity / 5);
 		this.capacity = realCapacity;
-		mTable = new Element[realCapacity];
 	}
 
 	private void growCapacity(AI ai) throws LeekRunException {
 
-		if (capacity == MAX_CAPACITY) return;
+		if (capacity == MAX_OPERATIONS_CAPACITY) return;
 
-		// Copy in a new array
-		this.capacity = Math.min(Math.max(START_CAPACITY, capacity * 2), MAX_CAPACITY);
-		mTable = new Element[this.capacity];
+		this.capacity = Math.min(Math.max(START_CAPACITY, capacity * 2), MAX_OPERATIONS_CAPACITY);
+		// Même coût que l'ancienne recopie de tous les éléments (accès + création, la nouvelle Box compte la sienne)
+		int operations = 0;
+		for (int i = 1; i <= mSize; ++i) {
+			operations += LegacyArrayLeekValue.ARRAY_CELL_ACCESS_OPERATIONS + LegacyArrayLeekValue.ARRAY_CELL_CREATE_OPERATIONS + (int) Math.sqrt(i) / 3;
+		}
+		ai.opsNoCheck(operations);
+
+		// Comme l'ancienne recopie, les éléments sont recréés : un foreach en cours continue sur
+		// l'ancienne chaîne et ne voit pas les éléments ajoutés après l'agrandissement
 		Element e = mHead;
 		mHead = null;
 		mEnd = null;
-		mSize = 0;
 		while (e != null) {
-			set(ai, e.key, e.value.get());
+			Element copy = new Element();
+			copy.key = e.key;
+			copy.hash = e.hash;
+			copy.numeric = e.numeric;
+			copy.value = new Box(ai, e.value.get());
+			pushElement(copy);
+			replaceInIndex(e, copy);
 			e = e.next;
 		}
 	}
@@ -840,7 +895,7 @@ public class LegacyArrayLeekValue implements Iterable<Entry<Object, Object>>, Ge
 		}
 		// Trie de la liste
 		if (comparator == RANDOM)
-			Collections.shuffle(liste, new Random(ai.getRandom().getInt(0, Integer.MAX_VALUE - 1)));
+			Collections.shuffle(liste, new SplittableRandom(ai.getRandom().getLong(Long.MIN_VALUE, Long.MAX_VALUE)));
 		else if (comparator == ASC_K || comparator == DESC_K) {
 			Collections.sort(liste, new KeyComparator((comparator == ASC_K) ? ElementComparator.SORT_ASC : ElementComparator.SORT_DESC));
 		} else {
@@ -937,7 +992,7 @@ public class LegacyArrayLeekValue implements Iterable<Entry<Object, Object>>, Ge
 					@Override
 					public int compare(Element o1, Element o2) {
 						try {
-							return ai.integer(function.run(ai, null, o1.getValue(), o2.getValue()));
+							return ai.integer(function.run2(ai, null, o1.getValue(), o2.getValue()));
 						} catch (Exception e) {
 							throw new RuntimeException(e);
 						}
@@ -950,7 +1005,7 @@ public class LegacyArrayLeekValue implements Iterable<Entry<Object, Object>>, Ge
 					@Override
 					public int compare(Element o1, Element o2) {
 						try {
-							return ai.integer(function.run(ai, null, o1.getKey(), o1.getValue(), o2.getKey(), o2.getValue()));
+							return ai.integer(function.run4(ai, null, o1.getKey(), o1.getValue(), o2.getKey(), o2.getValue()));
 						} catch (Exception e) {
 							throw new RuntimeException(e);
 						}
@@ -1265,9 +1320,9 @@ public class LegacyArrayLeekValue implements Iterable<Entry<Object, Object>>, Ge
 			while (iterator.hasNext()) {
 				var value = iterator.getValue();
 				if (nb == 1) {
-					function.run(ai, null, value);
+					function.run1(ai, null, value);
 				} else {
-					function.run(ai, null, iterator.getKey(ai), value);
+					function.run2(ai, null, iterator.getKey(ai), value);
 				}
 				iterator.next();
 			}
@@ -1283,9 +1338,9 @@ public class LegacyArrayLeekValue implements Iterable<Entry<Object, Object>>, Ge
 			while (iterator.hasNext()) {
 				var value = iterator.getValueBox();
 				if (nb == 1) {
-					function.run(ai, null, value);
+					function.run1(ai, null, value);
 				} else {
-					function.run(ai, null, iterator.getKey(ai), value);
+					function.run2(ai, null, iterator.getKey(ai), value);
 				}
 				iterator.next();
 			}
@@ -1310,9 +1365,9 @@ public class LegacyArrayLeekValue implements Iterable<Entry<Object, Object>>, Ge
 			while (iterator.hasNext()) {
 				var value = iterator.getValue();
 				if (nb == 1)
-					b = ai.bool(function.run(ai, null, value));
+					b = ai.bool(function.run1(ai, null, value));
 				else
-					b = ai.bool(function.run(ai, null, iterator.getKey(ai), value));
+					b = ai.bool(function.run2(ai, null, iterator.getKey(ai), value));
 				(b ? list1 : list2).getOrCreate(ai, iterator.getKey(ai)).set(iterator.getValue(ai));
 				iterator.next();
 			}
@@ -1328,9 +1383,9 @@ public class LegacyArrayLeekValue implements Iterable<Entry<Object, Object>>, Ge
 			while (iterator.hasNext()) {
 				var value = iterator.getValueBox();
 				if (nb == 1)
-					b = ai.bool(function.run(ai, null, value));
+					b = ai.bool(function.run1(ai, null, value));
 				else
-					b = ai.bool(function.run(ai, null, iterator.getKey(ai), value));
+					b = ai.bool(function.run2(ai, null, iterator.getKey(ai), value));
 				(b ? list1 : list2).getOrCreate(ai, iterator.getKey(ai)).set(iterator.getValue(ai));
 				iterator.next();
 			}
@@ -1342,7 +1397,7 @@ public class LegacyArrayLeekValue implements Iterable<Entry<Object, Object>>, Ge
 		ai.ops(1 + 2 * size());
 		Object result = LeekOperations.clone(ai, start_value);
 		for (var value : this) {
-			result = function.run(ai, null, result, value.getValue());
+			result = function.run2(ai, null, result, value.getValue());
 		}
 		return result;
 	}
@@ -1352,7 +1407,7 @@ public class LegacyArrayLeekValue implements Iterable<Entry<Object, Object>>, Ge
 		Object result = LeekOperations.clone(ai, start_value);
 		var it = getReversedIterator();
 		while (it.hasNext()) {
-			result = function.run(ai, null, it.next(), result);
+			result = function.run2(ai, null, it.next(), result);
 		}
 		return result;
 	}
@@ -1366,9 +1421,9 @@ public class LegacyArrayLeekValue implements Iterable<Entry<Object, Object>>, Ge
 			while (iterator.hasNext()) {
 				var value = iterator.getValue();
 				if (nb >= 2) {
-					retour.getOrCreate(ai, iterator.getKey(ai)).set(function.run(ai, null, iterator.getKey(ai), value));
+					retour.getOrCreate(ai, iterator.getKey(ai)).set(function.run2(ai, null, iterator.getKey(ai), value));
 				} else {
-					retour.getOrCreate(ai, iterator.getKey(ai)).set(function.run(ai, null, value));
+					retour.getOrCreate(ai, iterator.getKey(ai)).set(function.run1(ai, null, value));
 				}
 				iterator.next();
 			}
@@ -1380,9 +1435,9 @@ public class LegacyArrayLeekValue implements Iterable<Entry<Object, Object>>, Ge
 			while (iterator.hasNext()) {
 				var value = iterator.getValueBox();
 				if (nb >= 2)
-					retour.getOrCreate(ai, iterator.getKey(ai)).setRef(function.run(ai, null, iterator.getKey(ai), value));
+					retour.getOrCreate(ai, iterator.getKey(ai)).setRef(function.run2(ai, null, iterator.getKey(ai), value));
 				else
-					retour.getOrCreate(ai, iterator.getKey(ai)).setRef(function.run(ai, null, value));
+					retour.getOrCreate(ai, iterator.getKey(ai)).setRef(function.run1(ai, null, value));
 				iterator.next();
 			}
 			return retour;
@@ -1400,11 +1455,11 @@ public class LegacyArrayLeekValue implements Iterable<Entry<Object, Object>>, Ge
 			while (iterator.hasNext()) {
 				var value = iterator.getValue();
 				if (nb == 1) {
-					if (ai.bool(function.run(ai, null, value))) {
+					if (ai.bool(function.run1(ai, null, value))) {
 						retour.push(ai, iterator.getValue(ai));
 					}
 				} else {
-					if (ai.bool(function.run(ai, null, iterator.getKey(ai), value))) {
+					if (ai.bool(function.run2(ai, null, iterator.getKey(ai), value))) {
 						retour.push(ai, iterator.getValue(ai));
 					}
 				}
@@ -1420,12 +1475,12 @@ public class LegacyArrayLeekValue implements Iterable<Entry<Object, Object>>, Ge
 			while (iterator.hasNext()) {
 				var value = iterator.getValueBox();
 				if (nb == 1) {
-					if (ai.bool(function.run(ai, null, new Object[] { value }))) {
+					if (ai.bool(function.run1(ai, null, value))) {
 						// In LeekScript < 1.0, arrayFilter had a bug, the result array was not reindexed
 						retour.getOrCreate(ai, iterator.getKey(ai)).set(iterator.getValue(ai));
 					}
 				} else {
-					if (ai.bool(function.run(ai, null, new Object[] { iterator.getKey(ai), value }))) {
+					if (ai.bool(function.run2(ai, null, iterator.getKey(ai), value))) {
 						retour.getOrCreate(ai, iterator.getKey(ai)).set(iterator.getValue(ai));
 					}
 				}
@@ -1488,15 +1543,11 @@ public class LegacyArrayLeekValue implements Iterable<Entry<Object, Object>>, Ge
 		while (e != null) {
 			if (e.numeric) {
 				var new_key = new_index;
-				// Changement de clé
+				// Changement de clé : l'index sera reconstruit au prochain accès
 				if (!e.key.equals(new_key)) {
-					// On regarde si le hashCode change
-					if (new_key.hashCode() != e.hash) {
-						removeFromHashmap(ai, e);
-						e.hash = new_key.hashCode();
-						addToHashMap(ai, e);
-					}
+					e.hash = new_key.hashCode();
 					e.key = new_key;
+					mIndexDirty = true;
 				}
 				new_index++;
 			}
@@ -1553,44 +1604,178 @@ public class LegacyArrayLeekValue implements Iterable<Entry<Object, Object>>, Ge
 	}
 
 	private void addToHashMap(AI ai, Element e) throws LeekRunException {
-		if (mTable == null) {
+		if (capacity == 0) {
 			initTable(ai, START_CAPACITY);
 		}
-		// Ajouter dans la hashmap
-		int index = getIndex(e.hash);
-		Element f = mTable[index];
-		if (f == null)
-			mTable[index] = e;
-		else {
-			while (f.hashNext != null) {
-				f = f.hashNext;
+		if (mIndexDirty) {
+			return; // L'élément sera indexé à la reconstruction
+		}
+		if (mTable == null) {
+			if (e.key instanceof Long && (Long) e.key == mIndexed) {
+				if (mDense == null) {
+					mDense = new Element[START_CAPACITY];
+					updateIndexRAM(ai);
+				} else if (mIndexed == mDense.length) {
+					mDense = Arrays.copyOf(mDense, mDense.length * 2);
+					updateIndexRAM(ai);
+				}
+				mDense[mIndexed++] = e;
+				return;
 			}
-			f.hashNext = e;
+			// Clé non dense : passage en table
+			buildTable(mIndexed + 1);
+			for (int i = 0; i < mIndexed; ++i) {
+				tableInsert(mDense[i]);
+			}
+			mDense = null;
+			updateIndexRAM(ai);
+		} else if ((mIndexed + 1) * 4 > mTable.length * 3) {
+			var old = mTable;
+			buildTable(mIndexed + 1);
+			for (Element f : old) {
+				if (f != null) tableInsert(f);
+			}
+			updateIndexRAM(ai);
 		}
+		tableInsert(e);
+		mIndexed++;
 	}
 
-	private void removeFromHashmap(AI ai, Element e) throws LeekRunException {
+	private void replaceInIndex(Element e, Element copy) {
+		if (mIndexDirty) {
+			return; // Reconstruit depuis la nouvelle chaîne
+		}
 		if (mTable == null) {
-			return; // nothing to to, empty array
+			if (mDense != null && e.key instanceof Long) {
+				long k = (Long) e.key;
+				if (k < mIndexed && mDense[(int) k] == e) mDense[(int) k] = copy;
+			}
+			return;
 		}
-		// Remove from hash hashmap
-		int index = getIndex(e.hash);
-		Element f = mTable[index];
-		if (f == null)
+		int mask = mTable.length - 1;
+		int i = spread(e.hash) & mask;
+		while (mTable[i] != null) {
+			if (mTable[i] == e) {
+				mTable[i] = copy;
+				return;
+			}
+			i = (i + 1) & mask;
+		}
+	}
+
+	/**
+	 * Compte dans la RAM de l'IA les cases de l'index (tableau dense ou table) ajoutées ou libérées
+	 */
+	private void updateIndexRAM(AI ai) throws LeekRunException {
+		int slots = (mDense != null ? mDense.length : 0) + (mTable != null ? mTable.length : 0);
+		if (slots == mIndexRAM) return;
+		if (ram == null) {
+			ram = ai.allocateRAM(this, 0, false);
+		}
+		if (slots > mIndexRAM) {
+			ai.increaseRAM(ram, slots - mIndexRAM);
+		} else {
+			ai.decreaseRAM(ram, mIndexRAM - slots);
+		}
+		mIndexRAM = slots;
+	}
+
+	private void removeFromHashmap(AI ai, Element e) throws LeekRunException {
+		if (mIndexDirty || mIndexed == 0) {
 			return;
-		else if (f == e) {
-			mTable[index] = e.hashNext;
-			e.hashNext = null;
+		}
+		if (mTable == null) {
+			if (mDense != null && e.key instanceof Long) {
+				long k = (Long) e.key;
+				if (k == mIndexed - 1 && mDense[(int) k] == e) {
+					mDense[--mIndexed] = null;
+				} else {
+					// Trou dans les clés : reconstruction au prochain accès
+					mIndexDirty = true;
+				}
+			}
+			return;
+		}
+		int mask = mTable.length - 1;
+		int i = spread(e.hash) & mask;
+		while (mTable[i] != e) {
+			if (mTable[i] == null) return;
+			i = (i + 1) & mask;
+		}
+		// Suppression par décalage arrière (pas de marqueurs)
+		mTable[i] = null;
+		mIndexed--;
+		int j = i;
+		while (true) {
+			j = (j + 1) & mask;
+			Element f = mTable[j];
+			if (f == null) break;
+			int k = spread(f.hash) & mask;
+			if (((j - k) & mask) >= ((j - i) & mask)) {
+				mTable[i] = f;
+				mTable[j] = null;
+				i = j;
+			}
+		}
+	}
+
+	/**
+	 * Reconstruit l'index depuis la liste chaînée : dense si les clés sont exactement 0..n-1
+	 */
+	private void rebuildIndex(AI ai) throws LeekRunException {
+		mIndexDirty = false;
+		mTable = null;
+		int n = 0;
+		for (Element e = mHead; e != null; e = e.next) n++;
+		mIndexed = n;
+		if (mDense == null || mDense.length < n) {
+			mDense = new Element[Math.max(START_CAPACITY, Integer.highestOneBit(Math.max(1, n - 1)) << 1)];
 		} else {
-			while (f.hashNext != e && f.hashNext != null) {
-				f = f.hashNext;
+			Arrays.fill(mDense, null);
+		}
+		boolean dense = true;
+		for (Element e = mHead; e != null; e = e.next) {
+			if (!(e.key instanceof Long)) {
+				dense = false;
+				break;
 			}
-			if (f.hashNext == null) {
-				return;
+			long k = (Long) e.key;
+			if (k < 0 || k >= n || mDense[(int) k] != null) {
+				dense = false;
+				break;
+			}
+			mDense[(int) k] = e;
+		}
+		if (!dense) {
+			mDense = null;
+			buildTable(n);
+			for (Element e = mHead; e != null; e = e.next) {
+				tableInsert(e);
 			}
-			f.hashNext = f.hashNext.hashNext;
-			e.hashNext = null;
 		}
+		updateIndexRAM(ai);
+	}
+
+	private void buildTable(int count) {
+		int size = START_CAPACITY * 2;
+		while (size * 3 < count * 8) {
+			size <<= 1;
+		}
+		mTable = new Element[size];
+	}
+
+	private void tableInsert(Element e) {
+		int mask = mTable.length - 1;
+		int i = spread(e.hash) & mask;
+		while (mTable[i] != null) {
+			i = (i + 1) & mask;
+		}
+		mTable[i] = e;
+	}
+
+	private static int spread(int hash) {
+		hash *= 0x9E3779B9;
+		return hash ^ (hash >>> 16);
 	}
 
 	private void destroyElement(Element e) throws LeekRunException {
@@ -1603,31 +1788,36 @@ public class LegacyArrayLeekValue implements Iterable<Entry<Object, Object>>, Ge
 		int operations = LegacyArrayLeekValue.ARRAY_CELL_ACCESS_OPERATIONS;
 		ai.opsNoCheck(operations);
 
+		if (mIndexDirty) {
+			rebuildIndex(ai);
+		}
 		if (mTable == null) {
-			return null; // empty array
+			if (key instanceof Long) {
+				long k = (Long) key;
+				if (k >= 0 && k < mIndexed) {
+					return mDense[(int) k];
+				}
+			}
+			return null;
 		}
 
 		int hash = key == null ? 0 : key.hashCode();
-		int index = getIndex(hash);
-
-		Element f = mTable[index];
+		int mask = mTable.length - 1;
+		int index = spread(hash) & mask;
 
-		while (f != null) {
+		Element f;
+		while ((f = mTable[index]) != null) {
 			if (f.hash == hash && f.key.equals(key)) {
 				return f;
 			}
-			f = f.hashNext;
+			index = (index + 1) & mask;
 		}
 		return null;
 	}
 
-	private int getIndex(int hash) {
-		return hash & (capacity - 1);
-	}
-
 	public boolean some(AI ai, FunctionLeekValue function) throws LeekRunException {
 		for (var entry : this) {
-			if (ai.bool(function.run(ai, null, entry.getKey(), entry.getValue(), this))) {
+			if (ai.bool(function.run3(ai, null, entry.getKey(), entry.getValue(), this))) {
 				return true;
 			}
 		}
@@ -1636,7 +1826,7 @@ public class LegacyArrayLeekValue implements Iterable<Entry<Object, Object>>, Ge
 
 	public boolean every(AI ai, FunctionLeekValue function) throws LeekRunException {
 		for (var entry : this) {
-			if (ai.bool(function.run(ai, null, entry.getKey(), entry.getValue(), this))) {
+			if (ai.bool(function.run3(ai, null, entry.getKey(), entry.getValue(), this))) {
 				return true;
 			}
 		}
@@ -1644,53 +1834,36 @@ public class LegacyArrayLeekValue implements Iterable<Entry<Object, Object>>, Ge
 	}
 
 	public String toString(AI ai, Set<Object> visited, boolean export) throws LeekRunException {
+		var sb = new StringBuilder();
+		appendString(ai, sb, visited, export);
+		return sb.toString();
+	}
+
+	@Override
+	public void appendString(AI ai, StringBuilder sb, Set<Object> visited, boolean export) throws LeekRunException {
 
 		ai.ops(1 + mSize * 2);
 
-		StringBuilder sb = new StringBuilder();
 		// On va regarder si le tableau est dans l'ordre
-		Element e = mHead;
-
-		boolean isInOrder = true;
-		var value = 0l;
-		while (e != null) {
-			if (!(e.key instanceof Long) || (Long) e.key != value) {
-				isInOrder = false;
-				break;
-			}
-			value++;
-			e = e.next;
-		}
+		boolean isInOrder = !isAssociative();
 
 		sb.append("[");
-		e = mHead;
+		Element e = mHead;
 		while (e != null) {
 			if (e != mHead)
 				sb.append(", ");
 			if (!isInOrder) {
 				if (export) {
-					sb.append(ai.export(e.key, visited));
+					ai.appendExport(sb, e.key, visited);
 				} else {
-					sb.append(ai.string(e.key, visited));
+					ai.appendString(sb, e.key, visited);
 				}
 				sb.append(" : ");
 			}
-			if (visited.contains(e.value.get())) {
-				sb.append("<...>");
-			} else {
-				if (!ai.isPrimitive(e.value.get())) {
-					visited.add(e.value.get());
-				}
-				if (export) {
-					sb.append(ai.export(e.value.get(), visited));
-				} else {
-					sb.append(ai.string(e.value.get(), visited));
-				}
-			}
+			visited = ai.appendElement(sb, this, e.value.get(), visited, export);
 			e = e.next;
 		}
 		sb.append("]");
-		return sb.toString();
 	}
 
 	public boolean isAssociative() {
@@ -17,36 +17,60 @@ import leekscript.runner.RamUsage;
 
 public class MapLeekValue extends HashMap<Object, Object> implements Iterable<Entry<Object, Object>>, GenericMapLeekValue {
 
+	public static class MapCursor implements ForeachCursor {
+
+		private final Iterator<Entry<Object, Object>> it;
+		private Entry<Object, Object> entry;
+
+		public MapCursor(MapLeekValue map) {
+			this.it = map.entrySet().iterator();
+		}
+
+		@Override
+		public boolean next() {
+			if (!it.hasNext()) return false;
+			entry = it.next();
+			return true;
+		}
+
+		@Override
+		public Object key() {
+			return entry.getKey();
+		}
+
+		@Override
+		public Object value() {
+			return entry.getValue();
+		}
+	}
+
 	private static final int READ_OPERATIONS = 2;
 	private static final int WRITE_OPERATIONS = 3;
 	private final AI ai;
-	public final int id;
 	private RamUsage ram;
 
 	public MapLeekValue(AI ai) {
 		this.ai = ai;
-		this.id = ai.getNextObjectID();
 		try {
-			this.ram = ai.allocateRAM(this, 0, false);
+			this.ram = ai.allocateRAM(this, ai.getNextObjectID(), 0, false);
 		} catch (LeekRunException e) {}
 	}
 
 	public MapLeekValue(AI ai, int capacity) {
 		super(capacity);
 		this.ai = ai;
-		this.id = ai.getNextObjectID();
 		try {
-			this.ram = ai.allocateRAM(this, 0, false);
+			this.ram = ai.allocateRAM(this, ai.getNextObjectID(), 0, false);
 		} catch (LeekRunException e) {}
 	}
 
 	public MapLeekValue(AI ai, Object values[]) throws LeekRunException {
 		this.ai = ai;
-		this.id = ai.getNextObjectID();
+		int id = ai.getNextObjectID();
 		for (int i = 0; i < values.length; i += 2) {
 			put(values[i], values[i + 1]);
 		}
-		this.ram = ai.allocateRAM(this, 2 * values.length);
+		this.ram = ai.allocateRAM(this, id, 2 * values.length, true);
 	}
 
 	public MapLeekValue(AI ai, MapLeekValue map) throws LeekRunException {
@@ -55,7 +79,8 @@ public class MapLeekValue extends HashMap<Object, Object> implements Iterable<En
 
 	public MapLeekValue(AI ai, MapLeekValue map, int level) throws LeekRunException {
 		this.ai = ai;
-		this.id = ai.getNextObjectID();
+		// Identifiant pris avant les copies des valeurs, qui en prennent aussi
+		int id = ai.getNextObjectID();
 		for (var entry : map) {
 			if (level == 1) {
 				put(entry.getKey(), entry.getValue());
@@ -63,7 +88,7 @@ public class MapLeekValue extends HashMap<Object, Object> implements Iterable<En
 				put(entry.getKey(), LeekOperations.clone(ai, entry.getValue(), level - 1));
 			}
 		}
-		this.ram = ai.allocateRAM(this, 2 * size());
+		this.ram = ai.allocateRAM(this, id, 2 * size(), true);
 	}
 
 	@Override
@@ -251,7 +276,7 @@ public class MapLeekValue extends HashMap<Object, Object> implements Iterable<En
 		ai.ops(1 + 3 * size());
 		var result = new MapLeekValue(ai, size());
 		for (var entry : this.entrySet()) {
-			result.set(entry.getKey(), function.run(ai, null, entry.getValue(), entry.getKey(), this));
+			result.set(entry.getKey(), function.run3(ai, null, entry.getValue(), entry.getKey(), this));
 		}
 		ai.increaseRAM(ram, 2 * size());
 		return result;
@@ -260,7 +285,7 @@ public class MapLeekValue extends HashMap<Object, Object> implements Iterable<En
 	public Object mapIter(AI ai, FunctionLeekValue function) throws LeekRunException {
 		ai.ops(1 + 2 * size());
 		for (var entry : this.entrySet()) {
-			function.run(ai, null, entry.getValue(), entry.getKey(), this);
+			function.run3(ai, null, entry.getValue(), entry.getKey(), this);
 		}
 		return null;
 	}
@@ -375,7 +400,7 @@ public class MapLeekValue extends HashMap<Object, Object> implements Iterable<En
 		ai.opsNoCheck(1);
 		int i = 0;
 		for (var entry : entrySet()) {
-			if (!ai.bool(function.run(ai, null, entry.getValue(), entry.getKey()))) {
+			if (!ai.bool(function.run2(ai, null, entry.getValue(), entry.getKey()))) {
 				ai.ops(2 * i);
 				return false;
 			}
@@ -389,7 +414,7 @@ public class MapLeekValue extends HashMap<Object, Object> implements Iterable<En
 		ai.opsNoCheck(1);
 		int i = 0;
 		for (var entry : entrySet()) {
-			if (ai.bool(function.run(ai, null, entry.getValue(), entry.getKey(), this))) {
+			if (ai.bool(function.run3(ai, null, entry.getValue(), entry.getKey(), this))) {
 				ai.ops(2 * i);
 				return true;
 			}
@@ -403,7 +428,7 @@ public class MapLeekValue extends HashMap<Object, Object> implements Iterable<En
 		ai.ops(1 + 3 * size());
 		var result = v;
 		for (var entry : entrySet()) {
-			result = function.run(ai, null, result, entry.getValue(), entry.getKey(), this);
+			result = function.run4(ai, null, result, entry.getValue(), entry.getKey(), this);
 		}
 		return result;
 	}
@@ -412,7 +437,7 @@ public class MapLeekValue extends HashMap<Object, Object> implements Iterable<En
 		ai.ops(1 + 3 * size());
 		var result = new MapLeekValue(ai);
 		for (var entry : entrySet()) {
-			if (ai.bool(function.run(ai, null, entry.getValue(), entry.getKey(), this))) {
+			if (ai.bool(function.run3(ai, null, entry.getValue(), entry.getKey(), this))) {
 				result.set(entry.getKey(), entry.getValue());
 			}
 		}
@@ -450,14 +475,22 @@ public class MapLeekValue extends HashMap<Object, Object> implements Iterable<En
 	}
 
 	public String string(AI ai, Set<Object> visited) throws LeekRunException {
+		var sb = new StringBuilder();
+		appendString(ai, sb, visited, true);
+		return sb.toString();
+	}
+
+	@Override
+	public void appendString(AI ai, StringBuilder sb, Set<Object> visited, boolean export) throws LeekRunException {
 
 		ai.ops(1 + size() * 2);
 
 		if (size() == 0) {
-			return "[:]";
+			sb.append("[:]");
+			return;
 		}
 
-		StringBuilder sb = new StringBuilder("[");
+		sb.append("[");
 
 		boolean first = true;
 		for (var entry : this.entrySet()) {
@@ -466,30 +499,12 @@ public class MapLeekValue extends HashMap<Object, Object> implements Iterable<En
 			else
 				first = false;
 
-			var k = entry.getKey();
-			if (visited.contains(k)) {
-				sb.append("<...>");
-			} else {
-				if (!ai.isPrimitive(k)) {
-					visited.add(k);
-				}
-				sb.append(ai.export(k, visited));
-			}
-
+			// La map elle-même n'est pas marquée comme visitée
+			visited = ai.appendElement(sb, null, entry.getKey(), visited, true);
 			sb.append(" : ");
-
-			var v = entry.getValue();
-			if (visited.contains(v)) {
-				sb.append("<...>");
-			} else {
-				if (!ai.isPrimitive(v)) {
-					visited.add(v);
-				}
-				sb.append(ai.export(v, visited));
-			}
+			visited = ai.appendElement(sb, null, entry.getValue(), visited, true);
 		}
 		sb.append("]");
-		return sb.toString();
 	}
 
 	@Override
@@ -497,6 +512,10 @@ public class MapLeekValue extends HashMap<Object, Object> implements Iterable<En
 		return entrySet().iterator();
 	}
 
+	public ForeachCursor cursor() {
+		return new MapCursor(this);
+	}
+
 	public boolean eq(MapLeekValue map) throws LeekRunException {
 
 		ai.ops(1);
@@ -524,7 +543,7 @@ public class MapLeekValue extends HashMap<Object, Object> implements Iterable<En
 
 	@Override
 	public int hashCode() {
-		return this.id;
+		return ram.getId();
 	}
 
 	public JSONObject toJSON(AI ai, HashSet<Object> visited) throws LeekRunException {
@@ -18,14 +18,12 @@ import leekscript.common.Error;
 public class ObjectLeekValue implements LeekValue {
 
 	public final ClassLeekValue clazz;
-	public final int id;
 	public final LinkedHashMap<String, ObjectVariableValue> fields = new LinkedHashMap<>();
 	private final RamUsage ram;
 
 	public ObjectLeekValue(AI ai, ClassLeekValue clazz) throws LeekRunException {
 		this.clazz = clazz;
-		this.id = ai.getNextObjectID();
-		this.ram = ai.allocateRAM(this, 0, false);
+		this.ram = ai.allocateRAM(this, ai.getNextObjectID(), 0, false);
 	}
 
 	public ObjectLeekValue(AI ai, String[] keys, Object[] values) throws LeekRunException {
@@ -468,6 +466,13 @@ public class ObjectLeekValue implements LeekValue {
 
 	public String getStringBase(AI ai, Set<Object> visited, boolean export) throws LeekRunException {
 		visited.add(this);
+		var sb = new StringBuilder();
+		appendString(ai, sb, visited, export);
+		return sb.toString();
+	}
+
+	@Override
+	public void appendString(AI ai, StringBuilder sb, Set<Object> visited, boolean export) throws LeekRunException {
 
 		var string_method = clazz.getMethod(ai, "string_0", null);
 		if (string_method != null) {
@@ -475,13 +480,13 @@ public class ObjectLeekValue implements LeekValue {
 			if (!(result instanceof String)) {
 				ai.addSystemLog(AILog.ERROR, Error.STRING_METHOD_MUST_RETURN_STRING, new String[] { clazz.name });
 			} else {
-				return ai.string(result, visited);
+				sb.append((String) result);
+				return;
 			}
 		}
 
 		ai.ops(1 + fields.size() * 2);
 
-		var sb = new StringBuilder();
 		if (clazz != clazz.ai.objectClass) {
 			sb.append(clazz.name).append(" ");
 		}
@@ -492,21 +497,9 @@ public class ObjectLeekValue implements LeekValue {
 			else sb.append(", ");
 			sb.append(field.getKey());
 			sb.append(": ");
-			if (visited.contains(field.getValue().get())) {
-				sb.append("<...>");
-			} else {
-				if (!ai.isPrimitive(field.getValue().get())) {
-					visited.add(field.getValue().get());
-				}
-				if (export) {
-					sb.append(ai.export(field.getValue().get(), visited));
-				} else {
-					sb.append(ai.string(field.getValue().get(), visited));
-				}
-			}
+			visited = ai.appendElement(sb, this, field.getValue().get(), visited, export);
 		}
 		sb.append("}");
-		return sb.toString();
 	}
 
 	public boolean equals(AI ai, Object comp) throws LeekRunException {
@@ -574,6 +567,6 @@ public class ObjectLeekValue implements LeekValue {
 
 	@Override
 	public int hashCode() {
-		return this.id;
+		return ram.getId();
 	}
 }
@@ -37,6 +37,36 @@ public class RealIntervalLeekValue extends IntervalLeekValue {
 		}
 	}
 
+	public static class IntervalCursor implements ForeachCursor {
+
+		private final RealIntervalLeekValue interval;
+		private long i = -1;
+		private double x;
+
+		public IntervalCursor(RealIntervalLeekValue interval) {
+			this.interval = interval;
+			this.x = interval.minClosed ? interval.from : interval.from + 1;
+		}
+
+		@Override
+		public boolean next() {
+			// Premier élément exact : x n'est incrémenté qu'à partir du deuxième (from - 1 + 1 != from en double)
+			if (i >= 0) x++;
+			i++;
+			return interval.maxClosed ? x <= interval.to : x < interval.to;
+		}
+
+		@Override
+		public Object key() {
+			return i;
+		}
+
+		@Override
+		public Object value() {
+			return x;
+		}
+	}
+
 	private final double from;
 	private final double to;
 
@@ -62,29 +92,39 @@ public class RealIntervalLeekValue extends IntervalLeekValue {
 		return object == this;
 	}
 
-	@Override
-	public int hashCode() {
-		return this.id;
-	}
-
 	@Override
 	public String string(AI ai, Set<Object> visited) throws LeekRunException {
 		visited.add(this);
 		return toString(ai, visited);
 	}
 
+	@Override
+	public void appendString(AI ai, StringBuilder sb, Set<Object> visited, boolean export) throws LeekRunException {
+		if (visited != null) {
+			visited.add(this);
+		}
+		appendTo(ai, sb);
+	}
+
 	public String toString(AI ai, Set<Object> visited) throws LeekRunException {
-		ai.ops(1);
+		var sb = new StringBuilder();
+		appendTo(ai, sb);
+		return sb.toString();
+	}
 
-		if (intervalIsEmpty(ai)) return "[..]";
+	private void appendTo(AI ai, StringBuilder sb) throws LeekRunException {
+		ai.ops(1);
 
-		StringBuilder sb = new StringBuilder(minClosed ? "[" : "]");
+		if (intervalIsEmpty(ai)) {
+			sb.append("[..]");
+			return;
+		}
 
-		sb.append(ai.export(from, visited));
+		sb.append(minClosed ? "[" : "]");
+		ai.appendExport(sb, from, null);
 		sb.append("..");
-		sb.append(ai.export(to, visited));
-
-		return sb.append(maxClosed ? "]" : "[").toString();
+		ai.appendExport(sb, to, null);
+		sb.append(maxClosed ? "]" : "[");
 	}
 
 	public double intervalMin(AI ai) {
@@ -340,6 +380,11 @@ public class RealIntervalLeekValue extends IntervalLeekValue {
 		return new IntervalIterator(this);
 	}
 
+	@Override
+	public ForeachCursor cursor() {
+		return new IntervalCursor(this);
+	}
+
 	public double getFrom() {
 		return from;
 	}
@@ -1,9 +1,12 @@
 package leekscript.runner.values;
 
 import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map.Entry;
+import java.util.NoSuchElementException;
 import java.util.Set;
 
 import leekscript.runner.AI;
@@ -11,7 +14,7 @@ import leekscript.runner.LeekOperations;
 import leekscript.runner.LeekRunException;
 import leekscript.runner.RamUsage;
 
-public class SetLeekValue extends HashSet<Object> implements LeekValue {
+public class SetLeekValue extends AbstractSet<Object> implements LeekValue {
 
 	public static class SetIterator implements Iterator<Entry<Object, Object>> {
 
@@ -35,36 +38,367 @@ public class SetLeekValue extends HashSet<Object> implements LeekValue {
 		}
 	}
 
+	public static class SetCursor implements ForeachCursor {
+
+		private final Iterator<Object> it;
+		private long i = -1;
+		private Object value;
+
+		public SetCursor(SetLeekValue set) {
+			this.it = set.iterator();
+		}
+
+		@Override
+		public boolean next() {
+			if (!it.hasNext()) return false;
+			value = it.next();
+			i++;
+			return true;
+		}
+
+		@Override
+		public Object key() {
+			return i;
+		}
+
+		@Override
+		public Object value() {
+			return value;
+		}
+	}
+
+	/**
+	 * Parcours des éléments stockés dans les tableaux primitifs, bucket par bucket
+	 */
+	private class PrimitiveIterator implements Iterator<Object> {
+
+		private int bucket = 0;
+		private int node = -1;
+		private long current;
+		private boolean removable = false;
+
+		public PrimitiveIterator() {
+			if (buckets != null) advance();
+		}
+
+		private void advance() {
+			while (bucket < buckets.length) {
+				int n = buckets[bucket++];
+				if (n >= 0) {
+					node = n;
+					return;
+				}
+			}
+			node = -1;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return node >= 0;
+		}
+
+		@Override
+		public Object next() {
+			if (node < 0) throw new NoSuchElementException();
+			current = keys[node];
+			removable = true;
+			node = next[node];
+			if (node < 0) advance();
+			return box(current, mode);
+		}
+
+		@Override
+		public void remove() {
+			if (!removable) throw new IllegalStateException();
+			removable = false;
+			int last = size - 1;
+			int n = find(current);
+			removeNode(n);
+			// Le dernier élément a pris la place de l'élément supprimé
+			if (node == last) node = n;
+		}
+	}
+
+	private static final byte INTEGERS = 0;
+	private static final byte REALS = 1;
+	private static final byte GENERIC = 2;
+
+	private static final int INITIAL_CAPACITY = 16;
+	// Au-delà, la HashMap d'un HashSet transformerait le bucket en arbre
+	private static final int MAX_CHAIN = 8;
+
 	private final AI ai;
-	public final int id;
 	private RamUsage ram;
 
+	/**
+	 * Tant que le set ne contient que des entiers (ou que des réels), les valeurs sont stockées
+	 * sans boxing dans des tableaux primitifs (bits du double pour les réels), chaînées par bucket
+	 * comme dans une HashMap (même hash, mêmes redimensionnements) : l'ordre de parcours reste
+	 * celui d'un HashSet. Sinon, les valeurs sont dans un HashSet.
+	 */
+	private byte mode = INTEGERS;
+	private long[] keys;
+	private int[] next;
+	private int[] buckets;
+	private int size = 0;
+	private HashSet<Object> generic;
+
 	public SetLeekValue(AI ai) throws LeekRunException {
 		this(ai, new Object[0]);
 	}
 
 	public SetLeekValue(AI ai, Object[] values) throws LeekRunException {
 		this.ai = ai;
-		this.id = ai.getNextObjectID();
+		int id = ai.getNextObjectID();
 		for (Object value : values) {
 			this.add(value);
 		}
-		this.ram = ai.allocateRAM(this, values.length);
+		this.ram = ai.allocateRAM(this, id, values.length, true);
 	}
 
 	public SetLeekValue(AI ai, SetLeekValue set, int level) throws LeekRunException {
 		this.ai = ai;
-		this.id = ai.getNextObjectID();
-		this.ram = ai.allocateRAM(this, set.size());
-		for (var value : set) {
-			if (level == 1) {
-				this.add(value);
-			} else {
+		this.ram = ai.allocateRAM(this, ai.getNextObjectID(), set.size(), true);
+		if (level == 1) {
+			addAll(set, null);
+		} else {
+			for (var value : set) {
 				this.add(LeekOperations.clone(ai, value, level - 1));
 			}
 		}
 	}
 
+	private static int hash(long key) {
+		int h = (int) (key ^ (key >>> 32));
+		return h ^ (h >>> 16);
+	}
+
+	private static Object box(long key, byte kind) {
+		return kind == INTEGERS ? (Object) key : (Object) Double.longBitsToDouble(key);
+	}
+
+	private int find(long key) {
+		if (buckets == null) return -1;
+		for (int n = buckets[hash(key) & (buckets.length - 1)]; n >= 0; n = next[n]) {
+			if (keys[n] == key) return n;
+		}
+		return -1;
+	}
+
+	private boolean containsKey(long key, byte kind) {
+		if (mode == GENERIC) return generic.contains(box(key, kind));
+		return mode == kind && find(key) >= 0;
+	}
+
+	private boolean put(long key, byte kind) {
+		if (mode == GENERIC) return generic.add(box(key, kind));
+		if (mode != kind) {
+			if (size > 0) {
+				toGeneric();
+				return generic.add(box(key, kind));
+			}
+			mode = kind;
+		}
+		if (buckets == null) {
+			buckets = new int[INITIAL_CAPACITY];
+			Arrays.fill(buckets, -1);
+			keys = new long[INITIAL_CAPACITY];
+			next = new int[INITIAL_CAPACITY];
+		}
+		int b = hash(key) & (buckets.length - 1);
+		int last = -1, chain = 0;
+		for (int n = buckets[b]; n >= 0; n = next[n]) {
+			if (keys[n] == key) return false;
+			last = n;
+			chain++;
+		}
+		if (chain >= MAX_CHAIN) {
+			toGeneric();
+			return generic.add(box(key, kind));
+		}
+		if (size == keys.length) {
+			keys = Arrays.copyOf(keys, size * 2);
+			next = Arrays.copyOf(next, size * 2);
+		}
+		keys[size] = key;
+		next[size] = -1;
+		if (last < 0) buckets[b] = size;
+		else next[last] = size;
+		if (++size > buckets.length / 4 * 3) resize();
+		return true;
+	}
+
+	/**
+	 * Double la table en gardant l'ordre des chaînes, comme HashMap.resize()
+	 */
+	private void resize() {
+		int oldCapacity = buckets.length;
+		int[] table = new int[oldCapacity * 2];
+		Arrays.fill(table, -1);
+		for (int j = 0; j < oldCapacity; ++j) {
+			int lowTail = -1, highTail = -1;
+			for (int n = buckets[j]; n >= 0;) {
+				int following = next[n];
+				next[n] = -1;
+				if ((hash(keys[n]) & oldCapacity) == 0) {
+					if (lowTail < 0) table[j] = n;
+					else next[lowTail] = n;
+					lowTail = n;
+				} else {
+					if (highTail < 0) table[j + oldCapacity] = n;
+					else next[highTail] = n;
+					highTail = n;
+				}
+				n = following;
+			}
+		}
+		buckets = table;
+	}
+
+	private boolean removeKey(long key) {
+		int n = find(key);
+		if (n < 0) return false;
+		removeNode(n);
+		return true;
+	}
+
+	private void removeNode(int n) {
+		int b = hash(keys[n]) & (buckets.length - 1);
+		if (buckets[b] == n) {
+			buckets[b] = next[n];
+		} else {
+			int m = buckets[b];
+			while (next[m] != n) m = next[m];
+			next[m] = next[n];
+		}
+		int last = --size;
+		if (n != last) {
+			// Le dernier élément prend la place libérée
+			int lb = hash(keys[last]) & (buckets.length - 1);
+			if (buckets[lb] == last) {
+				buckets[lb] = n;
+			} else {
+				int m = buckets[lb];
+				while (next[m] != last) m = next[m];
+				next[m] = n;
+			}
+			keys[n] = keys[last];
+			next[n] = next[last];
+		}
+	}
+
+	/**
+	 * Passage définitif au HashSet, de même capacité pour garder l'ordre de parcours
+	 */
+	private void toGeneric() {
+		var set = new HashSet<Object>(buckets == null ? INITIAL_CAPACITY : buckets.length);
+		if (buckets != null) {
+			for (int j = 0; j < buckets.length; ++j) {
+				for (int n = buckets[j]; n >= 0; n = next[n]) {
+					set.add(box(keys[n], mode));
+				}
+			}
+		}
+		generic = set;
+		mode = GENERIC;
+		keys = null;
+		next = null;
+		buckets = null;
+		size = 0;
+	}
+
+	/**
+	 * Ajoute les éléments de set dans leur ordre de parcours, sauf ceux de except
+	 */
+	private void addAll(SetLeekValue set, SetLeekValue except) {
+		if (set.mode == GENERIC) {
+			for (var value : set.generic) {
+				if (except == null || !except.contains(value)) add(value);
+			}
+		} else if (set.buckets != null) {
+			for (int j = 0; j < set.buckets.length; ++j) {
+				for (int n = set.buckets[j]; n >= 0; n = set.next[n]) {
+					if (except == null || !except.containsKey(set.keys[n], set.mode)) put(set.keys[n], set.mode);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Garde (keep = true) ou retire (keep = false) les éléments présents dans set
+	 */
+	private void filter(SetLeekValue set, boolean keep) {
+		if (mode == GENERIC) {
+			// Même parcours que HashSet : l'ordre des buckets en arbre en dépend
+			if (keep) generic.retainAll(set);
+			else generic.removeAll(set);
+			return;
+		}
+		// Parcours à l'envers : l'élément déplacé dans un trou a déjà été vu
+		for (int n = size - 1; n >= 0; --n) {
+			if (set.containsKey(keys[n], mode) != keep) removeNode(n);
+		}
+	}
+
+	private boolean containsAllOf(SetLeekValue set) {
+		if (set.mode == GENERIC) return containsAll(set.generic);
+		for (int n = 0; n < set.size; ++n) {
+			if (!containsKey(set.keys[n], set.mode)) return false;
+		}
+		return true;
+	}
+
+	@Override
+	public int size() {
+		return mode == GENERIC ? generic.size() : size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	@Override
+	public boolean contains(Object value) {
+		if (mode == GENERIC) return generic.contains(value);
+		if (value instanceof Long l) return mode == INTEGERS && find(l) >= 0;
+		if (value instanceof Double d) return mode == REALS && find(Double.doubleToLongBits(d)) >= 0;
+		return false;
+	}
+
+	@Override
+	public boolean add(Object value) {
+		if (value instanceof Long l) return put(l, INTEGERS);
+		if (value instanceof Double d) return put(Double.doubleToLongBits(d), REALS);
+		if (mode != GENERIC) toGeneric();
+		return generic.add(value);
+	}
+
+	@Override
+	public boolean remove(Object value) {
+		if (mode == GENERIC) return generic.remove(value);
+		if (value instanceof Long l) return mode == INTEGERS && removeKey(l);
+		if (value instanceof Double d) return mode == REALS && removeKey(Double.doubleToLongBits(d));
+		return false;
+	}
+
+	@Override
+	public void clear() {
+		if (mode == GENERIC) {
+			generic.clear();
+		} else {
+			// La table garde sa taille, comme HashMap.clear()
+			if (buckets != null) Arrays.fill(buckets, -1);
+			size = 0;
+		}
+	}
+
+	@Override
+	public Iterator<Object> iterator() {
+		if (mode == GENERIC) return generic.iterator();
+		return new PrimitiveIterator();
+	}
+
 	public boolean eq(SetLeekValue set) throws LeekRunException {
 
 		ai.ops(1);
@@ -78,10 +412,7 @@ public class SetLeekValue extends HashSet<Object> implements LeekValue {
 		ai.ops(2 * size());
 
 		// On va comparer chaque élément 1 à 1
-		for (var value : this) {
-			if (!set.contains(value)) return false;
-		}
-		return true;
+		return set.containsAllOf(this);
 	}
 
 	@Override
@@ -91,7 +422,7 @@ public class SetLeekValue extends HashSet<Object> implements LeekValue {
 
 	@Override
 	public int hashCode() {
-		return this.id;
+		return ram.getId();
 	}
 
 	public String string(AI ai, Set<Object> visited) throws LeekRunException {
@@ -100,9 +431,16 @@ public class SetLeekValue extends HashSet<Object> implements LeekValue {
 	}
 
 	public String toString(AI ai, Set<Object> visited) throws LeekRunException {
+		var sb = new StringBuilder();
+		appendString(ai, sb, visited, true);
+		return sb.toString();
+	}
+
+	@Override
+	public void appendString(AI ai, StringBuilder sb, Set<Object> visited, boolean export) throws LeekRunException {
 		ai.ops(1);
 
-		StringBuilder sb = new StringBuilder("<");
+		sb.append("<");
 
 		boolean first = true;
 
@@ -112,18 +450,10 @@ public class SetLeekValue extends HashSet<Object> implements LeekValue {
 			} else {
 				sb.append(", ");
 			}
-
-			if (visited.contains(value)) {
-				sb.append("<...>");
-			} else {
-				if (!ai.isPrimitive(value)) {
-					visited.add(value);
-				}
-				sb.append(ai.export(value, visited));
-			}
+			visited = ai.appendElement(sb, this, value, visited, true);
 		}
 
-		return sb.append(">").toString();
+		sb.append(">");
 	}
 
 	public boolean setPut(AI ai, Object value) throws LeekRunException {
@@ -132,6 +462,18 @@ public class SetLeekValue extends HashSet<Object> implements LeekValue {
 		return added;
 	}
 
+	public boolean setPut(AI ai, long value) throws LeekRunException {
+		boolean added = put(value, INTEGERS);
+		if (added) ai.increaseRAM(ram, 1);
+		return added;
+	}
+
+	public boolean setPut(AI ai, double value) throws LeekRunException {
+		boolean added = put(Double.doubleToLongBits(value), REALS);
+		if (added) ai.increaseRAM(ram, 1);
+		return added;
+	}
+
 	public boolean setRemove(AI ai, Object value) throws LeekRunException {
 		boolean removed = remove(value);
 		if (removed) ai.decreaseRAM(ram, 1);
@@ -148,6 +490,14 @@ public class SetLeekValue extends HashSet<Object> implements LeekValue {
 		return operatorIn(value);
 	}
 
+	public boolean setContains(AI ai, long value) throws LeekRunException {
+		return containsKey(value, INTEGERS);
+	}
+
+	public boolean setContains(AI ai, double value) throws LeekRunException {
+		return containsKey(Double.doubleToLongBits(value), REALS);
+	}
+
 	public boolean operatorIn(Object value) throws LeekRunException {
 		return contains(value);
 	}
@@ -162,18 +512,22 @@ public class SetLeekValue extends HashSet<Object> implements LeekValue {
 
 	public boolean setIsSubsetOf(AI ai, SetLeekValue set) throws LeekRunException {
 		ai.ops(this.size() * 2);
-		return set.containsAll(this);
+		return set.containsAllOf(this);
 	}
 
 	public Iterator<Entry<Object, Object>> genericIterator() {
 		return new SetIterator(this);
 	}
 
+	public ForeachCursor cursor() {
+		return new SetCursor(this);
+	}
+
 	public SetLeekValue setUnion(AI ai, SetLeekValue set) throws LeekRunException {
 		ai.ops((this.size() + set.size()) * 2);
 		var r = new SetLeekValue(ai);
-		r.addAll(this);
-		r.addAll(set);
+		r.addAll(this, null);
+		r.addAll(set, null);
 		ai.increaseRAM(ram, r.size());
 		return r;
 	}
@@ -181,8 +535,8 @@ public class SetLeekValue extends HashSet<Object> implements LeekValue {
 	public SetLeekValue setIntersection(AI ai, SetLeekValue set) throws LeekRunException {
 		ai.ops((this.size() + set.size()) * 2);
 		var r = new SetLeekValue(ai);
-		r.addAll(this);
-		r.retainAll(set);
+		r.addAll(this, null);
+		r.filter(set, true);
 		ai.increaseRAM(ram, r.size());
 		return r;
 	}
@@ -190,8 +544,8 @@ public class SetLeekValue extends HashSet<Object> implements LeekValue {
 	public SetLeekValue setDifference(AI ai, SetLeekValue set) throws LeekRunException {
 		ai.ops((this.size() + set.size()) * 2);
 		var r = new SetLeekValue(ai);
-		r.addAll(this);
-		r.removeAll(set);
+		r.addAll(this, null);
+		r.filter(set, false);
 		ai.increaseRAM(ram, r.size());
 		return r;
 	}
@@ -199,12 +553,8 @@ public class SetLeekValue extends HashSet<Object> implements LeekValue {
 	public SetLeekValue setDisjunction(AI ai, SetLeekValue set) throws LeekRunException {
 		ai.ops((this.size() + set.size()) * 4);
 		var r = new SetLeekValue(ai);
-		for (var e : this) {
-			if (!set.contains(e)) r.add(e);
-		}
-		for (var e : set) {
-			if (!this.contains(e)) r.add(e);
-		}
+		r.addAll(this, set);
+		r.addAll(set, this);
 		ai.increaseRAM(ram, r.size());
 		return r;
 	}
@@ -98,12 +98,18 @@ public class TestArray extends TestCommon {
 		code_v2_("var a = [] push(a, a) return a").equals("[<...>]");
 		code_v1("var a = [] push(a, [a]) return a").equals("[[[]]]");
 		code_v2_("var a = [] push(a, [a]) return a").equals("[[<...>]]");
+		code_v2_("var a = [1] return string([a, a, [a]])").equals("\"[[1], <...>, [<...>]]\"");
+		code_v4_("var i = [1..2] return string([i, i])").equals("\"[[1..2], <...>]\"");
+		code_v4_("var m = [1: 2] m[3] = m return string(m)").equals("\"[1 : 2, 3 : [1 : 2, 3 : <...>]]\"");
+		code_v4_("var a = [1, 'x', 2.5, null, true] return a + 'z'").equals("\"[1, \"x\", 2.5, null, true]z\"");
+		code_v1("var a = [1.5, 0.25] return string(a) + a[0]").equals("\"[1,5, 0,25]1,5\"");
 
 		section("Array.operator []");
 		code("return [1, 2, 3][1]").equals("2");
 		code("var a = [1, 2, 3] return a[0]").equals("1");
 		code_v1("var a = [1.6, 2.5, 3.4] return a[0]").equals("1,6");
 		code_v2_("var a = [1.6, 2.5, 3.4] return a[0]").equals("1.6");
+		code_v4_("var a = [1, 2, 3] return a[0]").ops(9);
 		code("var a = [1, 2, 3] a[0] = 5 return a[0]").equals("5");
 		// code("var a = [23, 23, true, '', [], 123]; return |a|").equals("6");
 		code("var a = [] return !a").equals("true");
@@ -170,6 +176,10 @@ public class TestArray extends TestCommon {
 		code_v1_3("var a = [1, 2, 3] a[100] = true return a").equals("[0 : 1, 1 : 2, 2 : 3, 100 : true]");
 		code_v4_("var a = [1, 2, 3] a[100] = true return a").equals("[1, 2, 3]");
 		code_strict_v4_("any a = [1, 2, 3] a[100] = true return a").error(Error.ARRAY_OUT_OF_BOUND);
+		code_v4_("var a = [1, 2, 3] a[100] += 5 return a").equals("[1, 2, 3]");
+		code_v4_("var a = [1, 2, 3] a[-100] *= 5 return a").equals("[1, 2, 3]");
+		code_v4_("var a = [1, 2, 3] a[3]++ return a").equals("[1, 2, 3]");
+		code_v4_("var a = [1, 2, 3] return a[3] -= 1").equals("null");
 		// code("var a = [[12], ''][0]; a[100]++; return a").equals("null");
 		// code("var a = [5] var e = a[1] !? 5 return e").equals("5");
 
@@ -603,14 +613,28 @@ public class TestArray extends TestCommon {
 		code_v1("var a = [0, 1, 1, 1, 2, 2, 2, 2, 2, null, 3, 3, 3, 3, 3, 3, 3, 3, 3, null, 4, 4, 4, null, 4, 4, 4, 4, 4, 4, 4, 4, 4, 5, 5, 5, null, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, null, 6, 6, 6, 6, 6, 6, 6, 6, 6, 6, 6, 6, 6, 6, 6, 6, 6, 6, 6, 6] sort(a) return a").equals("[0, 1, 1, 1, 2, 2, 2, 2, 2, 3, 3, 3, 3, 3, 3, 3, 3, 3, 4, 4, 4, 4, 4, 4, 4, 4, 4, 4, 4, 4, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 6, 6, 6, 6, 6, 6, 6, 6, 6, 6, 6, 6, 6, 6, 6, 6, 6, 6, 6, 6, null, null, null, null, null]");
 		code_v2_("var a = [0, 1, 1, 1, 2, 2, 2, 2, 2, null, 3, 3, 3, 3, 3, 3, 3, 3, 3, null, 4, 4, 4, null, 4, 4, 4, 4, 4, 4, 4, 4, 4, 5, 5, 5, null, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, null, 6, 6, 6, 6, 6, 6, 6, 6, 6, 6, 6, 6, 6, 6, 6, 6, 6, 6, 6, 6] sort(a) return a").equals("[null, null, null, null, null, 0, 1, 1, 1, 2, 2, 2, 2, 2, 3, 3, 3, 3, 3, 3, 3, 3, 3, 4, 4, 4, 4, 4, 4, 4, 4, 4, 4, 4, 4, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 6, 6, 6, 6, 6, 6, 6, 6, 6, 6, 6, 6, 6, 6, 6, 6, 6, 6, 6, 6]");
 
+		code_v4_("var a = [2.5, -1.5, 0.5, 2.5]; sort(a, SORT_DESC); return a").equals("[2.5, 2.5, 0.5, -1.5]");
+		code_v4_("var a = ['b', 'c', 'a']; sort(a); return a").equals("[\"a\", \"b\", \"c\"]");
+		code_v4_("var a = [3, 1.5, 1, 2]; sort(a); return a").equals("[1, 1.5, 2, 3]");
+		code_v4_("var a = [] for (var i = 0; i < 40; ++i) push(a, (i * 7) % 40) function cmp(x, y) { return y - x } var b = arraySort(a, cmp) return [b[0], b[20], b[39]]").equals("[39, 19, 0]");
+		code_v4_("function cmp(x, y) { while (true) {} return 0 } return arraySort([2, 1, 3], cmp)").max_ops(1000).error(Error.TOO_MUCH_OPERATIONS);
+
 		section("Array.search()");
 		code("var a = ['a','b','c','d'] return search(a, 'c')").equals("2");
 		code_v1_3("var a = ['a','b','c','d'] return search(a, 'c', 4)").equals("null");
 		code_v4_("var a = ['a','b','c','d'] return search(a, 'c', 4)").equals("-1");
 		code("var a = ['a','b','c','d'] return search(a, 'c', -4)").equals("2");
+		code_v4_("return search([1, 2.5, 3], 3.0)").equals("2");
+		code_v4_("return search([1, 2, 3], 2.0)").equals("1");
+		code_v4_("return search([1, 2, 3], '2')").equals("-1");
+		code_v4_("return search([1, 2, 3], 4)").equals("-1");
 
 		section("Array.inArray()");
 		code("var a = ['a','b','c','d']; return inArray(a,'c')").equals("true");
+		code_v4_("return inArray([1, 'a', 2.5], 2.5)").equals("true");
+		code_v4_("return inArray([1, 2, 3], 4)").equals("false");
+		code_v4_("return inArray([1, 2, 3], '3')").equals("false");
+		code_v4_("return inArray([1, null, 3], null)").equals("true");
 
 		section("Array.reverse()");
 		code("var a = ['a','b','c','d']; reverse(a); return a").equals("[\"d\", \"c\", \"b\", \"a\"]");
@@ -624,6 +648,8 @@ public class TestArray extends TestCommon {
 		code("return arrayMin([1, 2, 3, null, 4, 5])").equals("null");
 		code("return arrayMin([1, null, 5, 3, null, 2])").equals("null");
 		code("return arrayMin([null, 3, 4, 5, null, 1])").equals("null");
+		code_v4_("return arrayMin([3, 1.5, 2])").equals("1.5");
+		code_v4_("return arrayMin([3, 'a', 2])").equals("2");
 
 		section("Array.arrayMax()");
 		code("return arrayMax([])").equals("null");
@@ -633,12 +659,15 @@ public class TestArray extends TestCommon {
 		code("return arrayMax([1, null, 5, 3, null, 2])").equals("5");
 		code("return arrayMax([null, 3, 4, 5, null, 1])").equals("5");
 		code("var a = arrayMax([1, 2, 3, 4, 5, null]) return a").equals("5");
+		code_v4_("return arrayMax([3, 4.5, 2])").equals("4.5");
+		code_v4_("return arrayMax([3, 'a', 2])").equals("\"a\"");
 
 		section("Array.sum()");
 		code_v1("return sum([1,5,7])").equals("13");
 		code_v2_("return sum([1,5,7])").equals("13.0");
 		code_v1("return sum([])").equals("0");
 		code_v2_("return sum([])").equals("0.0");
+		code_v4_("return sum([1, 2.5, true])").equals("4.5");
 
 		section("Array.average()");
 		code_v1("return average([2, 4, 6])").equals("4");
@@ -754,6 +783,20 @@ public class TestArray extends TestCommon {
 		code_v3_("class A extends Array {} return new A()").equals("[]");
 		code_v3_("class A extends Array {} var a = new A() push(a, 12) return a").equals("[12]");
 
+		section("Legacy array index");
+		code_v1_3("var a = [0, 1, 2, 3, 4] remove(a, 2) return [a, a[2], a[3]]").equals("[[0, 1, 3, 4], 3, 4]");
+		code_v1_3("var a = [0, 1, 2] a['x'] = 5 removeKey(a, 'x') push(a, 3) return [a, a[3]]").equals("[[0, 1, 2, 3], 3]");
+		code_v1_3("var a = [] for (var i = 0; i < 40000; ++i) { a['k' + i] = i } return [count(a), a['k0'], a['k39999']]").max_ops(100000000).equals("[40000, 0, 39999]");
+		code_v1_3("var a = [] for (var i = 0; i < 100; ++i) { push(a, i) } return count(a)").ops(1698);
+		code_v1_3("var a = [] for (var i = 0; i < 1000; ++i) { a['k' + i] = i } return count(a)").ops(32018);
+		// Un foreach ne voit que les éléments présents au dernier agrandissement du tableau
+		code_v1_3("var a = [1, 2, 3]; for (var v in a) { push(a, v); } return a;").equals("[1, 2, 3, 1, 2, 3, 1, 2, 3, 1, 2]");
+		code_v1_3("var a = [1, 2, 3]; for (var v in a) { push(a, v); } return count(a);").equals("11");
+		code_v1_3("var a = []; for (var i = 0; i < 20; ++i) { a['k' + i] = i } var n = 0 for (var k : var v in a) { a['x' + k] = v n++ } return [n, count(a)];").equals("[32, 52]");
+		// L'index compte dans la RAM
+		code_v1_3("var a = [] for (var i = 0; i < 100000; ++i) { push(a, i) } return count(a)").max_ops(100000000).max_ram(50000).error(Error.OUT_OF_MEMORY);
+		code_v1_3("var a = [] for (var i = 0; i < 100000; ++i) { a['k' + i] = i } return count(a)").max_ops(100000000).max_ram(50000).error(Error.OUT_OF_MEMORY);
+
 		section("Array.arrayToSet()");
 		code_v4_("arrayToSet([])").equals("<>");
 		code_v4_("arrayToSet([1, 2, 3, 4])").equals("<1, 2, 3, 4>");
@@ -411,6 +411,13 @@ public class TestBigInt extends TestCommon {
 		 code_v4_("var a = 5L a = 12L a").equals("12");
 		 code_v4_("var f = -> 12L string(f())").equals("\"12\"");
 
+		section("64 bits limit");
+		code_v4_("var a = 9223372036854775807L return [a + 1L, a - -1L, -a - 2L]").equals("[9223372036854775808, 9223372036854775808, -9223372036854775809]");
+		code_v4_("var a = 4294967296L return [a * a, a * a - 1L, a * a \\ a]").equals("[18446744073709551616, 18446744073709551615, 4294967296]");
+		code_v4_("var a = -9223372036854775807L - 1L return [a \\ -1L, -a, abs(a), a % 10L]").equals("[9223372036854775808, 9223372036854775808, 9223372036854775808, 2]");
+		code_v4_("var a = 1L return [a << 62, a << 63, a << 64, -a << 63]").equals("[4611686018427387904, 9223372036854775808, 18446744073709551616, -9223372036854775808]");
+		code_v4_("var a = -1L << 70 return [a >> 80, a >> 7, (a >> 10) + 1L]").equals("[-1, -9223372036854775808, -1152921504606846975]");
+
 //		section("Integer division by zero");
 //		 code_v4_("1L \\ 0").exception(ls::vm::Exception::DIVISION_BY_ZERO);
 //		 code_v4_("1L % 0").exception(ls::vm::Exception::DIVISION_BY_ZERO);
@@ -1,6 +1,9 @@
 package test;
 
 import leekscript.common.Error;
+import leekscript.compiler.LeekScript;
+import leekscript.compiler.Options;
+import leekscript.runner.values.ClassLeekValue;
 
 public class TestClass extends TestCommon {
 
@@ -22,5 +25,24 @@ public class TestClass extends TestCommon {
 		code_v2_("class A { public m() { return class.name }} return new A().m()").equals("\"A\"");
 		code_v2_("class A { public static m() { return name }} return A.m()").error(Error.UNKNOWN_VARIABLE_OR_FUNCTION);
 		code_v2_("class A { public static m() { return class.name }} return A.m()").equals("\"A\"");
+
+		section("Class types");
+		java("user class types are not shared between AIs", () -> {
+			var a = (ClassLeekValue) runClass("class A {} return A");
+			var b = (ClassLeekValue) runClass("class A {} return A");
+			return (a.type != b.type) + " " + a.type.name + " " + b.type.name;
+		}).equals("true A A");
+		java("standard class types are shared", () -> {
+			var a = (ClassLeekValue) runClass("return Integer");
+			var b = (ClassLeekValue) runClass("return Integer");
+			return (a != b) + " " + (a.type == b.type);
+		}).equals("true true");
+	}
+
+	private static Object runClass(String code) throws Exception {
+		var ai = LeekScript.compileSnippet(code, "AI", new Options());
+		ai.init();
+		ai.staticInit();
+		return ai.runIA();
 	}
 }
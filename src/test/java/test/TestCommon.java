@@ -52,6 +52,9 @@ public class TestCommon {
 		long maxRAM = AI.MAX_RAM;
 		boolean debug = false;
 		boolean strict = false;
+		boolean reset = false;
+		boolean profileTypes = false;
+		boolean profileOperations = false;
 
 		public Case(String code, boolean enabled) {
 			this.code = code;
@@ -172,6 +175,23 @@ public class TestCommon {
 			});
 		}
 
+		/**
+		 * Compile avec Options.profileTypes et vérifie les types observés (AI.getTypeProfile), clés sans le nom du fichier
+		 */
+		public String types(String expected) {
+			this.profileTypes = true;
+			return run(new Checker() {
+				public boolean check(Result result) {
+					return getResult(result).equals(expected);
+				}
+				public String getExpected() { return expected; }
+				public String getResult(Result result) {
+					if (result.ai == null || result.ai.getTypeProfile() == null) return "no profile";
+					return result.ai.getTypeProfile().toJSON().toJSONString().replace("\"" + result.ai.getFile().getPath() + ":", "\"");
+				}
+			});
+		}
+
 		public String run(Checker checker) {
 			if (!enabled) {
 				disabled++;
@@ -193,7 +213,7 @@ public class TestCommon {
 			long compile_time = 0;
 			long ops = 0;
 			AI ai = null;
-			var options = new Options(version, strict, this.debug, true, null, true);
+			var options = new Options(version, strict, this.debug, true, null, true, this.profileTypes, this.profileOperations);
 			long t = System.nanoTime();
 			try {
 				boolean is_file = code.contains(".leek");
@@ -211,6 +231,11 @@ public class TestCommon {
 				ai.maxOperations = this.maxOperations;
 				ai.maxRAM = this.maxRAM;
 
+				if (reset) {
+					ai.runIA();
+					ai.reset(0, this.maxOperations, this.maxRAM, ai.getLogs());
+				}
+
 				t = System.nanoTime();
 				var v = ai.runIA();
 				long exec_time = (System.nanoTime() - t) / 1000;
@@ -267,6 +292,22 @@ public class TestCommon {
 			this.debug = true;
 			return this;
 		}
+
+		/**
+		 * Compile avec Options.profileOperations
+		 */
+		public Case profileOperations() {
+			this.profileOperations = true;
+			return this;
+		}
+
+		/**
+		 * Exécute l'IA une première fois, puis la réinitialise avec AI.reset() et vérifie la seconde exécution
+		 */
+		public Case reset() {
+			this.reset = true;
+			return this;
+		}
 	}
 
 	public static class Result {
@@ -295,6 +336,46 @@ public class TestCommon {
 		public String getExpected();
 	}
 
+	public static interface JavaCode {
+		public Object run() throws Exception;
+	}
+
+	/**
+	 * Test d'une classe Java du runtime, sans code LeekScript : le résultat (String.valueOf) est comparé à la valeur attendue
+	 */
+	public static class JavaCase {
+		String name;
+		JavaCode code;
+
+		public JavaCase(String name, JavaCode code) {
+			this.name = name;
+			this.code = code;
+		}
+
+		public String equals(String expected) {
+			tests++;
+			String result;
+			try {
+				result = String.valueOf(code.run());
+			} catch (Throwable e) {
+				result = e.toString();
+			}
+			if (result.equals(expected)) {
+				System.out.println(GREEN_BOLD + " [OK]  " + END_COLOR + "[java] " + name + " === " + result);
+				success++;
+			} else {
+				var err = C_RED + "[FAIL] " + END_COLOR + "[java] " + name + " =/= " + expected + " got " + result;
+				System.out.println(err);
+				failedTests.add(err);
+			}
+			return result;
+		}
+	}
+
+	public JavaCase java(String name, JavaCode code) {
+		return new JavaCase(name, code);
+	}
+
 	public Case code(String code) {
 		return new Case(code, true);
 	}
@@ -121,6 +121,8 @@ public class TestFunction extends TestCommon {
 
 		section("Capture loop variable");
 		code("var sum = 0 for (var i = 0; i < 10; ++i) { sum += (function() { return i })() } return sum").equals("45");
+		code_v2_("var s = 0 var g = function() { s += 1 return s } g() g() return s").equals("2");
+		code_v2_("var fs = [] for (var x in [1, 2, 3]) { push(fs, function() { return x * 2 }) } return fs[0]()").equals("6");
 
 		section("Function with references");
 		code_v1("function f(@x) { push(x, 12) } var a = [] f(a) return a").equals("[12]");
@@ -282,6 +284,9 @@ public class TestFunction extends TestCommon {
 		code_v2("cos()").equals("1.0");
 		code_v3_("cos()").error(Error.INVALID_PARAMETER_COUNT);
 		code_v1("return [cos][0]()").equals("null");
+		code_v4_("function k(a, b, c, d, e) { return [a, e] } var f = k return [f(1, 2, 3, 4, 5), f(1)]").equals("[[1, 5], [1, null]]");
+		code_v4_("function g(x) { return x * 2 } var f = g return [f(4), f(4, 5, 6, 7, 8)]").equals("[8, 8]");
+		code("function g(x) { return x * 2 } function s(a, b) { return a + b } return [arrayMap([1, 2], g), arrayFoldLeft([1, 2, 3], s, 0)]").equals("[[2, 4], 6]");
 
 		section("Types");
 		code_v1("function f(integer | real x) { return sqrt(x) } return f(12)").equals("3,464");
@@ -317,5 +322,15 @@ public class TestFunction extends TestCommon {
 		code("return? 'test'").equals("\"test\"");
 		code("return? null 5").equals("5");
 		code("return? null return? null 5").equals("5");
+
+		section("Function operations");
+		code_v4_("return getFunctionOperations()").equals("[:]");
+		code_v4_("function f() { return 1 } f() return getFunctionOperations()").equals("[:]");
+		code_v4_("function f(x) { return x + 1 } f(1) f(2) var o = getFunctionOperations() return [mapSize(o), o['f'][2], o['f'][0] == o['f'][1]]").profileOperations().equals("[1, 2, true]");
+		code_v4_("function f(x) { var s = 0 for (var i = 0; i < x; i++) { s += i } return s } function g() { return f(10) + f(20) } g() var o = getFunctionOperations() return [o['g'][2], o['f'][2], o['g'][0] == o['g'][1] + o['f'][0], o['f'][0] > 0]").profileOperations().equals("[1, 2, true, true]");
+		code_v4_("function fib(n) { return n < 2 ? n : fib(n - 1) + fib(n - 2) } fib(10) var o = getFunctionOperations()['fib'] return [o[2], o[0] == o[1]]").profileOperations().equals("[177, true]");
+		code_v4_("class A { m(x) { return x * 2 } static s() { return new A().m(2) } } A.s() var o = getFunctionOperations() return [o['A.m'][2], o['A.s'][2], o['A.s'][0] > o['A.m'][0]]").profileOperations().equals("[1, 1, true]");
+		code_v4_("function f(x) { return x + 1 } function g() { return f(1) + f(2) } return g()").ops(6);
+		code_v4_("function f(x) { return x + 1 } function g() { return f(1) + f(2) } return g()").profileOperations().ops(6);
 	}
 }
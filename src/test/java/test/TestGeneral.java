@@ -1,8 +1,12 @@
 package test;
 
+import java.util.TreeMap;
+
 import leekscript.runner.LeekConstants;
+import leekscript.runner.SamplingProfiler;
 import leekscript.common.Error;
 import leekscript.compiler.LexicalParser;
+import leekscript.compiler.LineMapping;
 
 public class TestGeneral extends TestCommon {
 
@@ -214,5 +218,53 @@ public class TestGeneral extends TestCommon {
 		code_v2_("real a = 1.9 integer b = a return b").equals("1");
 		DISABLED_code_v1("integer|real a = 1.999; integer b = a; return b").equals("1");
 		code_v2_("integer|real a = 1.999; integer b = a; return b").equals("1");
+
+		section("Type profile");
+		code_v4_("var a = [1, 2.5, 'a'] var s = 0 for (var x in a) { s = s + x } return s").types("{\"1\":[{\"operation\":\"foreach\",\"types\":{\"array\":1}},{\"operation\":\"add\",\"types\":{\"int, int\":1,\"int, real\":1,\"real, string\":1}}]}");
+		code_v4_("var a = 1 var b = 'x'\nif (a < 2) {\n  return a == b\n}").types("{\"2\":[{\"operation\":\"less\",\"types\":{\"int, int\":1}}],\"3\":[{\"operation\":\"equals_equals\",\"types\":{\"int, string\":1}}]}");
+		code_v4_("var a = [1, 2.5] var b = 'x' return a[0] + (b + a[1])").types("{\"1\":[{\"operation\":\"add\",\"types\":{\"int, string\":1}},{\"operation\":\"add\",\"types\":{\"string, real\":1}}]}");
+		code_v2_("var o = {a: 1} return o.a").types("{\"1\":[{\"operation\":\"getField\",\"types\":{\"object\":1}}]}");
+		code("return 1").types("no profile");
+
+		section("SamplingProfiler");
+		java("frames, self and total", () -> {
+			var profiler = new SamplingProfiler(new MappedAI(), Thread.currentThread(), 1000);
+			var fib = new StackTraceElement("AI_1", "f_fib", null, 20);
+			var main = new StackTraceElement("AI_1", "runIA", null, 10);
+			// Pile la plus profonde en premier, comme Thread.getStackTrace()
+			profiler.sample(new StackTraceElement[] { fib, fib, main, new StackTraceElement("java.lang.Thread", "run", null, 5) });
+			profiler.sample(new StackTraceElement[] { new StackTraceElement("AI_1$u_A", "u_m", null, 30), new StackTraceElement("AI_1", "run_3", null, 40), main });
+			profiler.sample(new StackTraceElement[] { fib, main });
+			// Ni frame AI_* ni ligne LeekScript : ignorés
+			profiler.sample(new StackTraceElement[] { new StackTraceElement("AI_1", "runIA", null, 0), new StackTraceElement("java.lang.Thread", "run", null, 5) });
+			return profiler.getSamples() + " " + new TreeMap<>(profiler.getSelfSamples()) + " " + new TreeMap<>(profiler.getTotalSamples());
+		}).equals("3 {A.m (main.leek:3)=1, fib (main.leek:2)=2} {<anonymous> (main.leek:4)=1, A.m (main.leek:3)=1, fib (main.leek:2)=2, main (main.leek:1)=3}");
+		java("collapsed stacks", () -> {
+			var profiler = new SamplingProfiler(new MappedAI(), Thread.currentThread(), 1000);
+			var fib = new StackTraceElement("AI_1", "f_fib", null, 20);
+			var main = new StackTraceElement("AI_1", "runIA", null, 10);
+			profiler.sample(new StackTraceElement[] { fib, fib, main });
+			profiler.sample(new StackTraceElement[] { new StackTraceElement("AI_1$u_A", "u_m", null, 30), new StackTraceElement("AI_1", "run_3", null, 40), main });
+			profiler.sample(new StackTraceElement[] { fib, fib, main });
+			return profiler.toCollapsed();
+		}).equals("main (main.leek:1);<anonymous> (main.leek:4);A.m (main.leek:3) 1\nmain (main.leek:1);fib (main.leek:2);fib (main.leek:2) 2\n");
+	}
+
+	/**
+	 * Ligne Java n -> ligne LeekScript n / 10 du fichier main.leek, sans IA compilée
+	 */
+	private static class MappedAI extends TestAI {
+
+		public MappedAI() throws Exception {}
+
+		@Override
+		protected LineMapping getLineMapping(int javaLine) {
+			return javaLine > 0 ? new LineMapping(javaLine / 10, 0) : null;
+		}
+
+		@Override
+		protected String[] getErrorFiles() {
+			return new String[] { "main.leek" };
+		}
 	}
 }
@@ -1,6 +1,13 @@
 package test;
 
+import java.util.ArrayList;
+
 import leekscript.common.Error;
+import leekscript.compiler.LeekScript;
+import leekscript.compiler.Options;
+import leekscript.runner.AI;
+import leekscript.runner.AIPool;
+import leekscript.runner.BasicAILog;
 
 public class TestGlobals extends TestCommon {
 
@@ -73,5 +80,81 @@ public class TestGlobals extends TestCommon {
 		code("global Array<string> w = split('hello', ''); return w").equals("[\"h\", \"e\", \"l\", \"l\", \"o\"]");
 		code_v4_("function f() { return [:] } global Map c = f(); return c").equals("[:]");
 		code_strict("global a = [0] a[0] = 12 return a").equals("[12]");
+
+		section("Reset");
+		code("global c = 0 c++ return c").reset().equals("1");
+		code("global a = [] push(a, 1) return a").reset().equals("[1]");
+		code_v2_("class A { static x = 0 } A.x++ return A.x").reset().equals("1");
+
+		section("AIPool");
+		java("acquire / release", () -> {
+			var pool = new AIPool(LeekScript.compileSnippet("global c = 0 c++ return c", "AI", new Options()));
+			var ai = pool.acquire(0, 1000000, 1000000, new BasicAILog());
+			var first = ai.runIA();
+			int empty = pool.size();
+			pool.release(ai);
+			int released = pool.size();
+			var again = pool.acquire(0, 1000000, 1000000, new BasicAILog());
+			return first + " " + again.runIA() + " " + empty + " " + released + " " + pool.size() + " " + (again.operations() > 0);
+		}).equals("1 1 0 1 0 true");
+		java("LIFO reuse", () -> {
+			var pool = new AIPool(LeekScript.compileSnippet("return 1", "AI", new Options()));
+			var a = pool.acquire(0, 1000000, 1000000, new BasicAILog());
+			var b = pool.acquire(0, 1000000, 1000000, new BasicAILog());
+			pool.release(a);
+			pool.release(b);
+			var c = pool.acquire(0, 1000000, 1000000, new BasicAILog());
+			var d = pool.acquire(0, 1000000, 1000000, new BasicAILog());
+			var e = pool.acquire(0, 1000000, 1000000, new BasicAILog());
+			return (a != b) + " " + (c == b) + " " + (d == a) + " " + (e != a && e != b);
+		}).equals("true true true true");
+		java("maxSize cap", () -> {
+			var pool = new AIPool(LeekScript.compileSnippet("return 1", "AI", new Options()), 2);
+			var ais = new ArrayList<AI>();
+			for (int i = 0; i < 4; ++i) {
+				ais.add(pool.acquire(0, 1000000, 1000000, new BasicAILog()));
+			}
+			for (var ai : ais) {
+				pool.release(ai);
+			}
+			int full = pool.size();
+			var reused = pool.acquire(0, 1000000, 1000000, new BasicAILog());
+			return full + " " + (reused == ais.get(1)) + " " + pool.size();
+		}).equals("2 true 1");
+		java("type profile cleared on reset", () -> {
+			var options = new Options(LeekScript.LATEST_VERSION, false, false, true, null, true, true);
+			var pool = new AIPool(LeekScript.compileSnippet("var a = [1, 2.5, 'a'] var s = 0 for (var x in a) { s = s + x } return s", "AI", options));
+			var ai = pool.acquire(0, 1000000, 1000000, new BasicAILog());
+			ai.runIA();
+			var first = ai.getTypeProfile().toJSON().toJSONString();
+			pool.release(ai);
+			var again = pool.acquire(0, 1000000, 1000000, new BasicAILog());
+			var cleared = again.getTypeProfile() == null;
+			again.runIA();
+			return (again == ai) + " " + cleared + " " + again.getTypeProfile().toJSON().toJSONString().equals(first);
+		}).equals("true true true");
+		java("function operations cleared on reset", () -> {
+			var options = new Options(LeekScript.LATEST_VERSION, false, false, true, null, true, false, true);
+			var pool = new AIPool(LeekScript.compileSnippet("function f(x) { return x + 1 } f(1) f(2) return 0", "AI", options));
+			var ai = pool.acquire(0, 1000000, 1000000, new BasicAILog());
+			ai.runIA();
+			var first = ai.getFunctionOperations().toJSON().toJSONString();
+			long calls = ai.getFunctionOperations().getOperations().get("f")[2];
+			pool.release(ai);
+			var again = pool.acquire(0, 1000000, 1000000, new BasicAILog());
+			var cleared = again.getFunctionOperations() == null;
+			again.runIA();
+			return (again == ai) + " " + cleared + " " + calls + " " + again.getFunctionOperations().toJSON().toJSONString().equals(first);
+		}).equals("true true 2 true");
+		java("foreign AI rejected", () -> {
+			var pool = new AIPool(LeekScript.compileSnippet("return 1", "AI", new Options()));
+			var other = LeekScript.compileSnippet("return 2", "AI", new Options());
+			try {
+				pool.release(other);
+				return "released";
+			} catch (IllegalArgumentException e) {
+				return "rejected " + pool.size();
+			}
+		}).equals("rejected 0");
 	}
 }
\ No newline at end of file
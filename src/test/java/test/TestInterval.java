@@ -278,5 +278,19 @@ public class TestInterval extends TestCommon {
 		code_v2_("var i = [1.0..5.0[ var x = 0.0 for (var y in i) x += y return x").equals("10.0");
 		code_v2_("var i = ]1.0..5.0] var x = 0.0 for (var y in i) x += y return x").equals("14.0");
 		code_v2_("var i = ]1.0..5.0[ var x = 0.0 for (var y in i) x += y return x").equals("9.0");
+		code_v2_("var r = [] for (var v in [0.1..2.1]) push(r, v) return r").equals("[0.1, 1.1, 2.1]");
+		code_v2_("var r = [] for (var k : var v in ]0.1..3.1[) push(r, k + ':' + v) return r").equals("[\"0:1.1\", \"1:2.1\"]");
+		code_v2_("var r = [] for (var v in [-0.7..1.3]) push(r, v) return r").equals("[-0.7, 0.30000000000000004, 1.3]");
+
+		section("Interval array functions");
+		code_v4_("function f(x) { return x * 2 } return arrayMap([1..4], f)").equals("[2, 4, 6, 8]");
+		code_v4_("function f(x, i) { return i } return arrayMap(]1..4], f)").equals("[0, 1, 2]");
+		code_v4_("function f(x, i, a) { return count(a) } return arrayMap([1..3], f)").equals("[3, 3, 3]");
+		code_v4_("function f(x) { return x % 3 == 0 } return arrayFilter([1..10], f)").equals("[3, 6, 9]");
+		code_v4_("function f(acc, x) { return acc * x } return arrayFoldLeft([1..4], f, 1)").equals("24");
+		code_v4_("return sum([1..100])").equals("5050.0");
+		code_v4_("return count([1..100[)").equals("99");
+		code_v4_("return count(]5..5[)").equals("0");
+		code_v4_("return [inArray([1..10], 10), inArray([1..10[, 10), inArray([1..10], 'a')]").equals("[true, false, false]");
 	}
 }
@@ -0,0 +1,174 @@
+package test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import leekscript.AILog;
+import leekscript.runner.BasicAILog;
+import leekscript.runner.BufferedAILog;
+
+public class TestLogs extends TestCommon {
+
+	public void run() throws Exception {
+
+		header("Logs");
+
+		section("BufferedAILog");
+		java("same output as BasicAILog", () -> {
+			var basic = new BasicAILog();
+			var buffered = new BufferedAILog(4);
+			var expected = record(basic);
+			var written = record(buffered);
+			for (var log : new AILog[] { basic, buffered }) {
+				log.addLog(AILog.STANDARD, "hello");
+				log.addLog(AILog.WARNING, "tab\there");
+				log.addLog(AILog.WARNING, "red", 0xff0000);
+				log.addSystemLog(AILog.ERROR, "trace", 12, new String[] { "a", "b" });
+				log.addSystemLog(AILog.SWARNING, "trace", 5, null);
+			}
+			buffered.flush();
+			return written.equals(expected) ? written : written + " / " + expected;
+		}).equals("[[0,1,\"hello\"], [0,2,\"tab    here\"], [0,2,\"red\",16711680], [0,3,\"trace\",12,[\"a\",\"b\"]], [0,7,\"trace\",5]]");
+
+		java("order kept with a small buffer", () -> {
+			var log = new BufferedAILog(3);
+			var written = record(log);
+			var expected = new ArrayList<String>();
+			for (int i = 0; i < 200; ++i) {
+				log.addLog(AILog.STANDARD, "m" + i);
+				expected.add("[0,1,\"m" + i + "\"]");
+			}
+			log.flush();
+			return written.equals(expected);
+		}).equals("true");
+
+		java("flush waits for the writer", () -> {
+			var log = new BufferedAILog();
+			var written = Collections.synchronizedList(new ArrayList<String>());
+			log.setStream(a -> {
+				sleep(20);
+				written.add(a.toString());
+			});
+			for (int i = 0; i < 5; ++i) {
+				log.addLog(AILog.STANDARD, "m" + i);
+			}
+			log.flush();
+			return written.size();
+		}).equals("5");
+
+		java("full buffer blocks the producer", () -> {
+			var log = new BufferedAILog(1);
+			var release = new CountDownLatch(1);
+			var written = Collections.synchronizedList(new ArrayList<String>());
+			log.setStream(a -> {
+				await(release);
+				written.add(a.toString());
+			});
+			var producer = new Thread(() -> {
+				for (int i = 0; i < 3; ++i) {
+					log.addLog(AILog.STANDARD, "m" + i);
+				}
+			});
+			producer.start();
+			var state = waitForState(producer, Thread.State.WAITING);
+			int before = written.size();
+			release.countDown();
+			producer.join();
+			log.flush();
+			return state + " " + before + " " + written;
+		}).equals("WAITING 0 [[0,1,\"m0\"], [0,1,\"m1\"], [0,1,\"m2\"]]");
+
+		java("interrupted producer keeps its log", () -> {
+			var log = new BufferedAILog(1);
+			var release = new CountDownLatch(1);
+			var written = Collections.synchronizedList(new ArrayList<String>());
+			var interrupted = new boolean[1];
+			log.setStream(a -> {
+				await(release);
+				written.add(a.toString());
+			});
+			var producer = new Thread(() -> {
+				for (int i = 0; i < 3; ++i) {
+					log.addLog(AILog.STANDARD, "m" + i);
+				}
+				interrupted[0] = Thread.currentThread().isInterrupted();
+			});
+			producer.start();
+			waitForState(producer, Thread.State.WAITING);
+			producer.interrupt();
+			release.countDown();
+			producer.join();
+			log.flush();
+			return written.size() + " " + interrupted[0];
+		}).equals("3 true");
+
+		java("MAX_LENGTH accounting", () -> {
+			var log = new BufferedAILog(8);
+			var written = record(log);
+			var message = "x".repeat(124980); // 20 + 124980 = 125000, 4 messages = 500000
+			for (int i = 0; i < 4; ++i) {
+				log.addLog(AILog.STANDARD, message);
+			}
+			boolean full = log.isFull();
+			log.addLog(AILog.STANDARD, "dropped");
+			log.addSystemLog(AILog.ERROR, "dropped", 1, null);
+			log.flush();
+			return full + " " + written.size();
+		}).equals("true 4");
+
+		java("message over the limit is dropped", () -> {
+			var log = new BufferedAILog(8);
+			var written = record(log);
+			log.addLog(AILog.STANDARD, "x".repeat(500000));
+			log.addLog(AILog.STANDARD, "after");
+			log.flush();
+			return log.isFull() + " " + written;
+		}).equals("true []");
+
+		java("failing Stream does not stop the writer", () -> {
+			var log = new BufferedAILog(2);
+			var written = Collections.synchronizedList(new ArrayList<String>());
+			log.setStream(a -> {
+				if (a.toString().contains("fail")) throw new IllegalStateException("Stream failure (expected by the test)");
+				written.add(a.toString());
+			});
+			log.addLog(AILog.STANDARD, "a");
+			log.addLog(AILog.STANDARD, "fail");
+			log.addLog(AILog.STANDARD, "b");
+			log.flush();
+			return written;
+		}).equals("[[0,1,\"a\"], [0,1,\"b\"]]");
+	}
+
+	private static List<String> record(AILog log) {
+		var written = Collections.synchronizedList(new ArrayList<String>());
+		log.setStream(a -> written.add(a.toString()));
+		return written;
+	}
+
+	private static Thread.State waitForState(Thread thread, Thread.State state) throws InterruptedException {
+		long end = System.currentTimeMillis() + 5000;
+		while (thread.getState() != state && System.currentTimeMillis() < end) {
+			Thread.sleep(1);
+		}
+		return thread.getState();
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
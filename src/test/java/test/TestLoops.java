@@ -182,6 +182,11 @@ public class TestLoops extends TestCommon {
 		code("var tab = [0,1,2,3]; for(var i in tab){ return i; } return 5;").equals("0");
 		code("var tab = [1:0,2:1,3:2,4:3]; for(var i : var j in tab){ return i; } ").equals("1");
 		code("var tab = [1:0,2:1,3:2,4:3]; for(var i : var j in tab){ return i; } return 0;").equals("1");
+		code_v4_("var s = '' for (var k : var v in [5, 6, 7]) { s += k + ':' + v + ' ' } return s").equals("\"0:5 1:6 2:7 \"");
+		code_v4_("var a = [1, 2] var s = 0 for (var v in a) { if (v < 4) push(a, v + 2) s += v } return s").equals("15");
+		code_v4_("Array<integer> a = [1, 2, 3] var s = 0 for (integer k : integer v in a) { s += k * v } return s").equals("8");
+		code_v4_("var s = '' for (var k : var v in ]1..4]) { s += k + ':' + v + ' ' } return s").equals("\"0:2 1:3 2:4 \"");
+		code_v4_("var s = '' for (var k : var v in <8>) { s += k + ':' + v } return s").equals("\"0:8\"");
 
 		section("Foreach - no braces");
 		code("var s = 0 for (var v in [1, 2, 3, 4]) s += v return s;").equals("10");
@@ -46,6 +46,7 @@ public class TestMain {
 		new TestLoops().run();
 		new TestFunction().run();
 		new TestSystem().run();
+		new TestLogs().run();
 		new TestJSON().run();
 		new TestOperations().run();
 		new TestFiles().run();
@@ -12,6 +12,8 @@ public class TestMap extends TestCommon {
 		code("return [1: 1, 2: 2]").equals("[1 : 1, 2 : 2]");
 		code("return [1: 1, 2: 'a']").equals("[1 : 1, 2 : \"a\"]");
 		code_v4_("var m = new Map() m[1] = 2 return m").equals("[1 : 2]");
+		code_v4_("var a = [1]; var b = [2]; var m = [b: 'b', a: 'a'] return m").equals("[[1] : \"a\", [2] : \"b\"]");
+		code_v4_("var o = {}; var p = {}; var a = [] var m = [p: 2, o: 1, a: 3] return mapValues(m)").equals("[1, 2, 3]");
 
 		section("Map::to_bool()");
 		// code("![:]").equals("true");
@@ -1,6 +1,12 @@
 package test;
 
+import java.util.HashSet;
+
 import leekscript.common.Error;
+import leekscript.compiler.LeekScript;
+import leekscript.compiler.Options;
+import leekscript.compiler.RandomGenerator;
+import leekscript.compiler.SplittableRandomGenerator;
 
 public class TestNumber extends TestCommon {
 
@@ -1153,9 +1159,53 @@ public class TestNumber extends TestCommon {
 		code("var a = rand() return a >= 0 and a <= 1").equals("true");
 		code("var a = rand() return a > 1").equals("false");
 		code("var a = randInt(2067, 2070) return a >= 2067 and a < 2070").equals("true");
+		code("return randInt(5, 5)").equals("0");
+		code("var a = randInt(70, 67) return a >= 67 and a < 70").equals("true");
+		code("var a = randInt(-5000000000, 5000000000) return a >= -5000000000 and a < 5000000000").equals("true");
+		code("var big = false for (var i = 0; i < 20; i++) { if (randInt(0, 100000000000) > 2147483647) big = true } return big").equals("true");
 		code_v1_3("var a = randFloat(500, 510) return a >= 500 and a < 510").equals("true");
 		code_v4_("var a = randReal(500, 510) return a >= 500 and a < 510").equals("true");
 
+		section("SplittableRandomGenerator");
+		java("same seed, same draws", () -> draws(new SplittableRandomGenerator(42)).equals(draws(new SplittableRandomGenerator(42)))).equals("true");
+		java("seed() restarts the sequence", () -> {
+			var r = new SplittableRandomGenerator(7);
+			var first = draws(r);
+			r.seed(7);
+			return first.equals(draws(r));
+		}).equals("true");
+		java("stream(id) is deterministic", () -> draws(new SplittableRandomGenerator(42).stream(3)).equals(draws(new SplittableRandomGenerator(42).stream(3)))).equals("true");
+		java("stream(id) ignores previous draws", () -> {
+			var master = new SplittableRandomGenerator(42);
+			draws(master);
+			return draws(master.stream(3)).equals(draws(new SplittableRandomGenerator(42).stream(3)));
+		}).equals("true");
+		java("nested streams are deterministic", () -> draws(new SplittableRandomGenerator(42).stream(1).stream(2)).equals(draws(new SplittableRandomGenerator(42).stream(1).stream(2)))).equals("true");
+		java("streams differ by id", () -> draws(new SplittableRandomGenerator(42).stream(3)).equals(draws(new SplittableRandomGenerator(42).stream(4)))).equals("false");
+		java("streams differ by master seed", () -> draws(new SplittableRandomGenerator(42).stream(3)).equals(draws(new SplittableRandomGenerator(43).stream(3)))).equals("false");
+		java("getLong bounds", () -> {
+			var r = new SplittableRandomGenerator(1);
+			return r.getLong(Long.MAX_VALUE, Long.MAX_VALUE) + " " + r.getLong(Long.MIN_VALUE, Long.MIN_VALUE) + " " + r.getLong(5, 4) + " " + r.getInt(5, 4);
+		}).equals("9223372036854775807 -9223372036854775808 0 0");
+		java("AI replays its stream", () -> {
+			var results = new HashSet<String>();
+			for (int i = 0; i < 2; ++i) {
+				var ai = LeekScript.compileSnippet("return [randInt(0, 1000000), randInt(0, 1000000), rand()]", "AI", new Options(4, false, false, true, null, true));
+				ai.init();
+				ai.staticInit();
+				ai.setRandom(new SplittableRandomGenerator(42).stream(1));
+				results.add(ai.export(ai.runIA(), new HashSet<>()));
+			}
+			return results.size();
+		}).equals("1");
+		java("LeekScript.getRandom() per thread", () -> {
+			var other = new RandomGenerator[1];
+			var thread = new Thread(() -> other[0] = LeekScript.getRandom());
+			thread.start();
+			thread.join();
+			return LeekScript.getRandom() == LeekScript.getRandom() && other[0] != LeekScript.getRandom();
+		}).equals("true");
+
 		section("Number.bitCount()");
 		code_v4_("return bitCount(0)").equals("0");
 		code_v4_("return bitCount(0b11001110011)").equals("7");
@@ -1259,4 +1309,12 @@ public class TestNumber extends TestCommon {
 		code_v4_("return isPermutation(11112222, 22221111)").equals("true");
 		code_v4_("return isPermutation(123456, 12345678)").equals("false");
 	}
+
+	private static String draws(RandomGenerator random) {
+		var sb = new StringBuilder();
+		for (int i = 0; i < 8; ++i) {
+			sb.append(random.getLong(Long.MIN_VALUE, Long.MAX_VALUE)).append(' ').append(random.getInt(0, 1000)).append(' ').append(random.getDouble()).append(' ');
+		}
+		return sb.toString();
+	}
 }
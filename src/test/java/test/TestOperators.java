@@ -108,6 +108,9 @@ public class TestOperators extends TestCommon {
 		code_v1_3("return '10' == 10").equals("true");
 		code_v4_("return '10' == 10").equals("false");
 		code("return '15' == 10").equals("false");
+		code_v1_3("return [10 == '1e1', 10.0 == '1e1', 1.5 == ' 1.5 ', '2.5' == 2.5, 3 == '+3', 7 == 'abc', 'x' == 1.0]").equals("[false, true, true, true, true, false, false]");
+		code_v4_("return [10 == '1e1', 10.0 == '1e1', 1.5 == ' 1.5 ', '2.5' == 2.5, 3 == '+3', 7 == 'abc', 'x' == 1.0]").equals("[false, false, false, false, false, false, false]");
+		code("return ['abc' < 'abcd', '12' < '9', '12' > 9, 'a1' >= 2, 5 <= 5.0, 2.5 > 2]").equals("[true, false, true, true, true, true]");
 
 		code("return [] == []").equals("true");
 		code("return [0] == [0]").equals("true");
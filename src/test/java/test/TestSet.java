@@ -13,6 +13,12 @@ public class TestSet extends TestCommon {
 		code("<1, 2, 3, 4>").ops(8);
 		code_v3_("Set<integer> a = new Set() return a").equals("<>");
 
+		section("Set of containers");
+		// Ordre des identifiants = ordre de création des valeurs
+		code_v4_("var a = [1]; var b = [2]; return <b, a>").equals("<[1], [2]>");
+		code_v4_("var a = [1]; var b = [2]; var c = [3]; return <c, a, b>").equals("<[1], [2], [3]>");
+		code_v4_("class A { x constructor(x) { this.x = x } } var a = new A(1); var b = new A(2); var s = <b, a> var r = [] for (var o in s) push(r, o.x) return r").equals("[1, 2]");
+
 		section("Set typing");
 		code_strict_v4_("Set i = <1, 2>; return i instanceof Set").equals("true");
 		code_strict_v4_("Set<integer> i = <1, 2>; return i instanceof Set").equals("true");
@@ -110,6 +116,15 @@ public class TestSet extends TestCommon {
 		section("Set.toArray()");
 		code("var s = <1, 2, 3> return setToArray(s)").equals("[1, 2, 3]");
 
+		section("Set storage");
+		code("Set<integer> s = <> for (var i = 0; i < 20; i++) setPut(s, i * 3) var c = 0 for (var i = 0; i < 60; i++) if (setContains(s, i)) c++ return c").equals("20");
+		code_v2_("Set<real> s = <> setPut(s, 1.5) setPut(s, 2.5) setPut(s, 1.5) return [s, setContains(s, 2.5), setContains(s, 2)]").equals("[<2.5, 1.5>, true, false]");
+		code_v2_("var s = <1, 2> setPut(s, 2.0) setPut(s, 'a') return [s, 2.0 in s, 2 in s, 'a' in s]").equals("[<2.0, 1, \"a\", 2>, true, true, true]");
+		code("var s = <> setPut(s, 1.5) setRemove(s, 1.5) setPut(s, 12) return [s, 12 in s, 1.5 in s]").equals("[<12>, true, false]");
+		code("var s = <> for (var i = 0; i < 12; i++) setPut(s, i * 1024) setRemove(s, 0) return s").equals("<7168, 3072, 1024, 2048, 4096, 5120, 6144, 8192, 9216, 10240, 11264>");
+		code("var s = <> for (var i = 0; i < 100; i++) setPut(s, i) for (var i = 0; i < 100; i += 2) setRemove(s, i) var x = 0 for (var y in s) x += y return [count(setToArray(s)), x]").equals("[50, 2500]");
+		code_v2_("var s1 = <1, 2, 3, 4> var s2 = <2.0, 3, 'a'> return [setUnion(s1, s2), setIntersection(s1, s2), setDifference(s1, s2), setDisjunction(s1, s2)]").equals("[<2.0, 1, \"a\", 2, 3, 4>, <3>, <1, 2, 4>, <2.0, 1, \"a\", 2, 4>]");
+
 		section("Set clone");
 		code("var s = <1, 2, 3> var s2 = clone(s) setClear(s) return s2").equals("<1, 2, 3>");
 		code("var s = <1, 2, 3> var s2 = clone(s) setPut(s, 4) return s2").equals("<1, 2, 3>");
@@ -10,6 +10,24 @@ public class TestString extends TestCommon {
 		code("return 1 + ', ' + 2").equals("\"1, 2\"");
 		code("return 1 + \", \" + 2").equals("\"1, 2\"");
 
+		section("Operator +=");
+		code("var s = '' for (var i = 0; i < 5; i++) { s += i } return s").equals("\"01234\"");
+		code("var s = '' var l = [] for (var i = 0; i < 3; i++) { s += i push(l, length(s)) } return [s, l]").equals("[\"012\", [1, 2, 3]]");
+		code("var s = 'a' s += 1 s = 12 s += 3 return s").equals("15");
+		code("var s = 'a' var f = function() { s += 'b' } f() f() return s").equals("\"abb\"");
+		code("string s = 'x' for (var i = 0; i < 3; i++) s += i return s").equals("\"x012\"");
+		code("var s = '' for (var i = 0; i < 100; i++) { s += 'ab' } return length(s)").equals("200");
+		code("var s = '' for (var i = 0; i < 5; i++) { s += i } return s").ops(53);
+		code("var s = '' for (var i = 0; i < 100; i++) { s += 'ab' } return length(s)").ops(10519);
+		code("var s = 'a' var t = s s += 'b' return [s, t]").equals("[\"ab\", \"a\"]");
+		code_v2_("var s = [] s += 'a' return s").equals("[\"a\"]");
+		code_v2_("var s = 'a' s += 'b' s++ return s").equals("\"ab1\"");
+		code_v2_("var s = 'a' s += 'b' s++ return s").ops(14);
+		code_v2_("var s = 'a' s += 'b' s-- return s").equals("1");
+		code_v2_("string s = 'ab' s += 'c' s++ return s").equals("\"abc1\"");
+		code_v2_("string s = 'ab' s += 'c' var x = ++s s += 'd' return [s, x]").equals("[\"abc1d\", \"abc1\"]");
+		code_v2_("string s = 'ab' s += 'c' var x = s++ s += 'd' return [s, x]").equals("[\"abc1d\", 3]");
+
 		section("String.charAt()");
 		code("return charAt('bonjour', 1)").equals("\"o\"");
 
@@ -23,6 +41,8 @@ public class TestString extends TestCommon {
 		code("return replace('bonjour','onj','pro')").equals("\"bproour\"");
 		code("return replace('testtest', 'test', '{id}')").equals("\"{id}{id}\"");
 		code("return replace('testtest', 'test', '$id')").equals("\"$id$id\"");
+		code_v2_("return replace('a.b.c', '.', '\\\\')").equals("\"a\\b\\c\"");
+		code("return replace('abc', '', '-')").equals("\"-a-b-c-\"");
 
 		section("String.indexOf()");
 		code("return indexOf('bonjour','o')").equals("1");
@@ -32,6 +52,11 @@ public class TestString extends TestCommon {
 		code("return split('1:2:3:4:5',':')").equals("[\"1\", \"2\", \"3\", \"4\", \"5\"]");
 		code("return split('1:2:3:4:5',':',2)").equals("[\"1\", \"2:3:4:5\"]");
 		code("var a = split('a b c d e f', ' ') return count(a)").equals("6");
+		code("return split('a||b||', '||')").equals("[\"a\", \"b\"]");
+		code("return split('||', '||')").equals("[]");
+		code("return split('', ',')").equals("[\"\"]");
+		code("return split('a.b.c', '.', 2)").equals("[\"a\", \"b.c\"]");
+		code("return split('abc', '')").equals("[\"a\", \"b\", \"c\"]");
 
 		section("String.toLower()");
 		code("return toLower('AbCDefgh')").equals("\"abcdefgh\"");